@@ -12,6 +12,9 @@
  *   node scripts/cbor-shape-perf.mjs --variant=cbor-de
  *   node scripts/cbor-shape-perf.mjs --variant=cbor2-de
  *   node scripts/cbor-shape-perf.mjs --variant=json-de
+ *
+ * Scenarios with a readSchema serialize with the schema and deserialize with the readSchema,
+ * as an older client would read a response of a newer service version.
  */
 
 import { execFileSync } from "node:child_process";
@@ -129,6 +132,31 @@ const blobStructSchema = [1, "ns", "L", 0, [3, "ns", "BlobStruct", 0, ["id", "da
 
 const timestampStructSchema = [1, "ns", "L", 0, [3, "ns", "TsStruct", 0, ["id", "createdAt", "value"], [0, 4, 1]]];
 
+/**
+ * The wire shape of a newer API version, and the subset of it modeled by an older client.
+ */
+const versionedStructSchema = [
+  1,
+  "ns",
+  "L",
+  0,
+  [
+    3,
+    "ns",
+    "Item",
+    0,
+    ["id", "name", "size", "createdAt", "labels", "attributes", "checksum", "history"],
+    [0, 0, 1, 4, [1, "ns", "Labels", 0, 0], [2, "ns", "Attrs", 0, 0, 0], 21, [1, "ns", "H", 0, 1]],
+  ],
+];
+const pinnedStructSchema = [
+  1,
+  "ns",
+  "L",
+  0,
+  [3, "ns", "Item", 0, ["id", "name", "size", "createdAt"], [0, 0, 1, 4]],
+];
+
 // ─── Data generators ─────────────────────────────────────────────────────────
 
 function createListString() {
@@ -237,6 +265,25 @@ function createTimestampStructs() {
   return c;
 }
 
+function createVersionedStructs() {
+  const c = [];
+  for (let i = 0; i < 500 * DATA_SCALAR; ++i) {
+    const checksum = new Uint8Array(32);
+    for (let j = 0; j < 32; ++j) checksum[j] = (Math.random() * 256) | 0;
+    c[i] = {
+      id: "item-" + i,
+      name: "name-" + i,
+      size: i * 1024,
+      createdAt: new Date(1700000000000 + i * 1000),
+      labels: ["alpha", "beta", "gamma", "delta"],
+      attributes: { owner: "team-" + (i % 10), tier: "standard", region: "us-west-2" },
+      checksum,
+      history: [1, 2, 3, 4, 5, 6, 7, 8].map((n) => n * i),
+    };
+  }
+  return c;
+}
+
 // ─── Scenarios ───────────────────────────────────────────────────────────────
 
 function getScenarios() {
@@ -256,6 +303,12 @@ function getScenarios() {
     { name: "list<struct> non-ASCII keys", schema: nonAsciiSchema, data: createNonAsciiStructs() },
     { name: "list<struct> with blobs", schema: blobStructSchema, data: createBlobStructs() },
     { name: "list<struct> with timestamps", schema: timestampStructSchema, data: createTimestampStructs() },
+    {
+      name: "list<struct> half unknown members",
+      schema: versionedStructSchema,
+      readSchema: pinnedStructSchema,
+      data: createVersionedStructs(),
+    },
   ];
 }
 
@@ -268,7 +321,7 @@ function runVariant(variant) {
   const scenarios = getScenarios();
   const results = [];
 
-  for (const { name, schema, data } of scenarios) {
+  for (const { name, schema, readSchema = schema, data } of scenarios) {
     switch (variant) {
       case "cbor-ser": {
         const serializer = new CborShapeSerializer();
@@ -328,12 +381,12 @@ function runVariant(variant) {
 
         const deserializer = new CborShapeDeserializer();
         for (let i = 0; i < WARMUP; ++i) {
-          deserializer.read(schema, cborBytes);
+          deserializer.read(readSchema, cborBytes);
         }
 
         const start = performance.now();
         for (let i = 0; i < SCALE; ++i) {
-          deserializer.read(schema, cborBytes);
+          deserializer.read(readSchema, cborBytes);
         }
         results.push({ name, ms: performance.now() - start, bytes });
         break;
@@ -346,12 +399,12 @@ function runVariant(variant) {
 
         const deserializer = new CborShapeDeserializer2();
         for (let i = 0; i < WARMUP; ++i) {
-          deserializer.read(schema, cborBytes);
+          deserializer.read(readSchema, cborBytes);
         }
 
         const start = performance.now();
         for (let i = 0; i < SCALE; ++i) {
-          deserializer.read(schema, cborBytes);
+          deserializer.read(readSchema, cborBytes);
         }
         results.push({ name, ms: performance.now() - start, bytes });
         break;
@@ -365,12 +418,12 @@ function runVariant(variant) {
 
         const deserializer = jsonCodec.createDeserializer();
         for (let i = 0; i < WARMUP; ++i) {
-          deserializer.read(schema, jsonStr);
+          deserializer.read(readSchema, jsonStr);
         }
 
         const start = performance.now();
         for (let i = 0; i < SCALE; ++i) {
-          deserializer.read(schema, jsonStr);
+          deserializer.read(readSchema, jsonStr);
         }
         results.push({ name, ms: performance.now() - start, bytes });
         break;
@@ -0,0 +1,168 @@
+import { execFileSync } from "node:child_process";
+import { mkdtempSync, rmSync, writeFileSync } from "node:fs";
+import { tmpdir } from "node:os";
+import { dirname, join, resolve } from "node:path";
+import { fileURLToPath } from "node:url";
+
+/**
+ * Measures the cold start cost of generated endpoint BDD modules with the node table
+ * as an Int32Array literal (default) and as a packed string (packEndpointBdd=true).
+ *
+ * Each sample runs in a new Node.js process, so that the module is parsed and compiled
+ * from scratch, as in a Lambda init.
+ */
+
+const __dirname = dirname(fileURLToPath(import.meta.url));
+const coreDir = resolve(__dirname, "..");
+const outputPath = resolve(coreDir, "planning", "endpoint-bdd.md");
+const endpointsPath = resolve(coreDir, "dist-cjs/submodules/endpoints/index.js");
+
+const NODE_COUNTS = [1000, 10_000, 50_000];
+const SAMPLES = 15;
+const RESULT = 100_000_000;
+
+/**
+ * A node table shaped like those of large services: many conditions, refs to later nodes,
+ * complemented refs, and results.
+ */
+function generateNodes(count) {
+  let seed = 1;
+  const random = (n) => {
+    seed = (seed * 1103515245 + 12345) & 0x7fffffff;
+    return seed % n;
+  };
+  const nodes = [-1, 1, -1];
+  for (let i = 1; i < count; ++i) {
+    const ref = () => {
+      const kind = random(4);
+      if (kind === 0 || i === count - 1) {
+        return RESULT + random(Math.floor(count / 4));
+      }
+      const target = i + 2 + random(Math.max(1, count - i - 1));
+      return kind === 1 ? -target : target;
+    };
+    nodes.push(random(Math.max(1, Math.floor(count / 20))), ref(), ref());
+  }
+  return nodes;
+}
+
+/**
+ * Same as EndpointsV2Generator#shortestJsLiteral.
+ */
+function shortestJsLiteral(value) {
+  const candidates = [
+    String(value),
+    "0x" + value.toString(16).toUpperCase(),
+    "0o" + value.toString(8),
+    "0b" + value.toString(2),
+  ];
+  const shortest = candidates.reduce((a, b) => (b.length < a.length ? b : a));
+  if (shortest === candidates[0] && value >= RESULT) {
+    return "r + " + (value - RESULT);
+  }
+  return shortest;
+}
+
+function literalModule(nodes) {
+  const lines = [];
+  for (let i = 0; i < nodes.length; i += 3) {
+    const [condition, high, low] = nodes.slice(i, i + 3).map(shortestJsLiteral);
+    lines.push(`  ${condition}, ${high}, ${low},`);
+  }
+  return `const { BinaryDecisionDiagram } = require(${JSON.stringify(endpointsPath)});
+const root = 2;
+const r = 100_000_000;
+const nodes = new Int32Array([
+${lines.join("\n")}
+]);
+exports.bdd = BinaryDecisionDiagram.from(nodes, root, [], []);
+`;
+}
+
+function packedModule(nodes) {
+  return `const { BinaryDecisionDiagram } = require(${JSON.stringify(endpointsPath)});
+const root = 2;
+const nodes = "${JSON.stringify(nodes)}";
+exports.bdd = BinaryDecisionDiagram.fromPacked(nodes, root, [], []);
+`;
+}
+
+/**
+ * Loads the module in a new process, after loading @smithy/core/endpoints, and reports the time
+ * to load the module and the time of the first access to the node table.
+ */
+function sample(modulePath) {
+  const script = `
+const { performance } = require("node:perf_hooks");
+require(${JSON.stringify(endpointsPath)});
+const start = performance.now();
+const { bdd } = require(${JSON.stringify(modulePath)});
+const loaded = performance.now();
+if (bdd.nodes.length === 0) throw new Error("empty");
+const used = performance.now();
+console.log(JSON.stringify({ load: loaded - start, firstUse: used - loaded }));
+`;
+  return JSON.parse(execFileSync(process.execPath, ["-e", script], { encoding: "utf8" }));
+}
+
+function median(values) {
+  const sorted = [...values].sort((a, b) => a - b);
+  return sorted[Math.floor(sorted.length / 2)];
+}
+
+function alignedTable(headers, rows) {
+  const widths = headers.map((h, i) => Math.max(h.length, ...rows.map((r) => r[i].length)));
+  const pad = (s, i) => s.padEnd(widths[i]);
+  const sep = widths.map((w) => "-".repeat(w));
+  const out = [];
+  out.push("| " + headers.map(pad).join(" | ") + " |");
+  out.push("| " + sep.join(" | ") + " |");
+  for (const row of rows) {
+    out.push("| " + row.map(pad).join(" | ") + " |");
+  }
+  return out;
+}
+
+const dir = mkdtempSync(join(tmpdir(), "endpoint-bdd-perf-"));
+const rows = [];
+try {
+  for (const count of NODE_COUNTS) {
+    const nodes = generateNodes(count);
+    for (const [mode, source] of [
+      ["literal", literalModule(nodes)],
+      ["packed", packedModule(nodes)],
+    ]) {
+      const modulePath = join(dir, `bdd-${count}-${mode}.js`);
+      writeFileSync(modulePath, source);
+      const samples = [];
+      for (let i = 0; i < SAMPLES; ++i) {
+        samples.push(sample(modulePath));
+      }
+      const load = median(samples.map((s) => s.load));
+      const firstUse = median(samples.map((s) => s.firstUse));
+      console.log(`${count} nodes, ${mode}: load ${load.toFixed(2)} ms, first use ${firstUse.toFixed(2)} ms`);
+      rows.push([
+        String(count),
+        mode,
+        `${(Buffer.byteLength(source) / 1024).toFixed(1)} KB`,
+        `${load.toFixed(2)} ms`,
+        `${firstUse.toFixed(2)} ms`,
+        `${(load + firstUse).toFixed(2)} ms`,
+      ]);
+    }
+  }
+} finally {
+  rmSync(dir, { recursive: true, force: true });
+}
+
+const lines = [
+  "# Endpoint BDD Cold Start Benchmarks\n",
+  `Platform: Node.js ${process.version} (${process.platform} ${process.arch})\n`,
+  `Date: ${new Date().toISOString()}\n`,
+  `Median of ${SAMPLES} new processes per row. Load is the time to require the module,`,
+  `first use is the time of the first access to the node table.\n`,
+  ...alignedTable(["Nodes", "Node table", "Module size", "Load", "First use", "Total"], rows),
+];
+
+writeFileSync(outputPath, lines.join("\n") + "\n");
+console.log(`\nResults written to ${outputPath}`);
@@ -0,0 +1,234 @@
+import { writeFileSync } from "node:fs";
+import { createRequire } from "node:module";
+import { dirname, resolve } from "node:path";
+import { performance } from "node:perf_hooks";
+import { fileURLToPath } from "node:url";
+
+/**
+ * Compares structure deserializers as generated by default, interpreting an instruction object
+ * with `take`, and with singlePassDeserializers=true, assigning each member directly.
+ *
+ * The deserializers below are written as the CBOR codegen emits them for a list-heavy response,
+ * similar to the my-local-model GetNumbersResponse and Alpha shapes.
+ */
+
+const __dirname = dirname(fileURLToPath(import.meta.url));
+const coreDir = resolve(__dirname, "..");
+const outputPath = resolve(coreDir, "planning", "structure-deser.md");
+const require = createRequire(import.meta.url);
+const { take } = require(resolve(coreDir, "dist-cjs/submodules/client/index.js"));
+
+const ENTRY_COUNTS = [10, 1000, 10_000];
+const WARMUP_MS = 500;
+const MEASURE_MS = 2000;
+
+const __expectString = (value) => {
+  if (value == null) {
+    return undefined;
+  }
+  if (typeof value === "string") {
+    return value;
+  }
+  throw new TypeError(`Expected string, got ${typeof value}: ${value}`);
+};
+const __expectInt32 = (value) => {
+  if (value == null) {
+    return undefined;
+  }
+  if (Number.isInteger(value)) {
+    return value;
+  }
+  throw new TypeError(`Expected integer, got ${typeof value}: ${value}`);
+};
+const __expectNonNull = (value) => {
+  if (value == null) {
+    throw new TypeError("Expected a non-null value");
+  }
+  return value;
+};
+const __parseEpochTimestamp = (value) => new Date(Math.round(value * 1000));
+const _json = (value) => value;
+
+const takeDeserializers = {
+  de_Owner: (output, context) => {
+    return take(output, {
+      DisplayName: __expectString,
+      ID: __expectString,
+    });
+  },
+  de_Entry: (output, context) => {
+    return take(output, {
+      ETag: __expectString,
+      Key: __expectString,
+      LastModified: (_) => __expectNonNull(__parseEpochTimestamp(_)),
+      Owner: (_) => takeDeserializers.de_Owner(_, context),
+      Size: __expectInt32,
+      StorageClass: __expectString,
+      Tags: _json,
+    });
+  },
+  de_EntryList: (output, context) => {
+    const collection = (output || [])
+      .filter((e) => e != null)
+      .map((entry) => {
+        return takeDeserializers.de_Entry(entry, context);
+      });
+    return collection;
+  },
+  de_ListResponse: (output, context) => {
+    return take(output, {
+      Contents: (_) => takeDeserializers.de_EntryList(_, context),
+      IsTruncated: [],
+      NextToken: __expectString,
+    });
+  },
+};
+
+const assignmentDeserializers = {
+  de_Owner: (output, context) => {
+    const contents = {};
+    if (output.DisplayName != null) {
+      contents.DisplayName = __expectString(output.DisplayName);
+    }
+    if (output.ID != null) {
+      contents.ID = __expectString(output.ID);
+    }
+    return contents;
+  },
+  de_Entry: (output, context) => {
+    const contents = {};
+    if (output.ETag != null) {
+      contents.ETag = __expectString(output.ETag);
+    }
+    if (output.Key != null) {
+      contents.Key = __expectString(output.Key);
+    }
+    if (output.LastModified != null) {
+      contents.LastModified = __expectNonNull(__parseEpochTimestamp(output.LastModified));
+    }
+    if (output.Owner != null) {
+      contents.Owner = assignmentDeserializers.de_Owner(output.Owner, context);
+    }
+    if (output.Size != null) {
+      contents.Size = __expectInt32(output.Size);
+    }
+    if (output.StorageClass != null) {
+      contents.StorageClass = __expectString(output.StorageClass);
+    }
+    if (output.Tags != null) {
+      contents.Tags = _json(output.Tags);
+    }
+    return contents;
+  },
+  de_EntryList: (output, context) => {
+    const input = output || [];
+    const collection = new Array(input.length);
+    let n = 0;
+    for (let i = 0; i < input.length; ++i) {
+      const entry = input[i];
+      if (entry == null) {
+        continue;
+      }
+      collection[n++] = assignmentDeserializers.de_Entry(entry, context);
+    }
+    collection.length = n;
+    return collection;
+  },
+  de_ListResponse: (output, context) => {
+    const contents = {};
+    if (output.Contents != null) {
+      contents.Contents = assignmentDeserializers.de_EntryList(output.Contents, context);
+    }
+    if (output.IsTruncated != null) {
+      contents.IsTruncated = output.IsTruncated;
+    }
+    if (output.NextToken != null) {
+      contents.NextToken = __expectString(output.NextToken);
+    }
+    return contents;
+  },
+};
+
+/**
+ * A decoded response body. Some optional members are absent, as in real responses.
+ */
+function generateResponse(count) {
+  const Contents = [];
+  for (let i = 0; i < count; ++i) {
+    const entry = {
+      ETag: `"${(i * 2654435761).toString(16)}"`,
+      Key: `photos/2024/${i}.jpg`,
+      LastModified: 1_700_000_000 + i,
+      Size: i * 37,
+      StorageClass: "STANDARD",
+    };
+    if (i % 3 === 0) {
+      entry.Owner = { DisplayName: "owner", ID: `id-${i % 10}` };
+    }
+    if (i % 5 === 0) {
+      entry.Tags = { project: "alpha" };
+    }
+    Contents.push(entry);
+  }
+  return { Contents, IsTruncated: true, NextToken: "token" };
+}
+
+function measure(fn) {
+  const warmupEnd = performance.now() + WARMUP_MS;
+  while (performance.now() < warmupEnd) {
+    fn();
+  }
+  let iterations = 0;
+  const start = performance.now();
+  let elapsed = 0;
+  while (elapsed < MEASURE_MS) {
+    fn();
+    ++iterations;
+    elapsed = performance.now() - start;
+  }
+  return (elapsed * 1000) / iterations;
+}
+
+function alignedTable(headers, rows) {
+  const widths = headers.map((h, i) => Math.max(h.length, ...rows.map((r) => r[i].length)));
+  const pad = (s, i) => s.padEnd(widths[i]);
+  const sep = widths.map((w) => "-".repeat(w));
+  const out = [];
+  out.push("| " + headers.map(pad).join(" | ") + " |");
+  out.push("| " + sep.join(" | ") + " |");
+  for (const row of rows) {
+    out.push("| " + row.map(pad).join(" | ") + " |");
+  }
+  return out;
+}
+
+const context = {};
+const rows = [];
+for (const count of ENTRY_COUNTS) {
+  const response = generateResponse(count);
+  const expected = JSON.stringify(takeDeserializers.de_ListResponse(response, context));
+  if (JSON.stringify(assignmentDeserializers.de_ListResponse(response, context)) !== expected) {
+    throw new Error("Deserializers disagree for " + count + " entries.");
+  }
+  const takeUs = measure(() => takeDeserializers.de_ListResponse(response, context));
+  const assignmentUs = measure(() => assignmentDeserializers.de_ListResponse(response, context));
+  console.log(`${count} entries: take ${takeUs.toFixed(2)} us, assignment ${assignmentUs.toFixed(2)} us`);
+  rows.push([
+    String(count),
+    `${takeUs.toFixed(2)} us`,
+    `${assignmentUs.toFixed(2)} us`,
+    `${(takeUs / assignmentUs).toFixed(2)}x`,
+  ]);
+}
+
+const lines = [
+  "# Structure Deserializer Benchmarks\n",
+  `Platform: Node.js ${process.version} (${process.platform} ${process.arch})\n`,
+  `Date: ${new Date().toISOString()}\n`,
+  "Time per deserialization of a list response with the given number of entries, after warmup.",
+  "`take` is the default codegen, assignment is singlePassDeserializers=true.\n",
+  ...alignedTable(["Entries", "take", "Assignment", "Speedup"], rows),
+];
+
+writeFileSync(outputPath, lines.join("\n") + "\n");
+console.log(`\nResults written to ${outputPath}`);
@@ -29,7 +29,9 @@ export {
   NoAuthSigner,
   createIsIdentityExpiredFunction,
   doesIdentityRequireRefresh,
+  freezeHttpAuthOptions,
   isIdentityExpired,
+  memoizeHttpAuthSchemeParametersProvider,
   memoizeIdentityProvider,
 } from "./legacy-root-exports/util-identity-and-auth";
 export type { MemoizedIdentityProvider } from "./legacy-root-exports/util-identity-and-auth";
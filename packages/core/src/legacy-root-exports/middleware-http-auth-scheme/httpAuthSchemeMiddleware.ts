@@ -108,11 +108,21 @@ export const httpAuthSchemeMiddleware =
         continue;
       }
       const { identityProperties = {}, signingProperties = {} } = option.propertiesExtractor?.(config, context) || {};
-      option.identityProperties = Object.assign(option.identityProperties || {}, identityProperties);
-      option.signingProperties = Object.assign(option.signingProperties || {}, signingProperties);
+      let httpAuthOption = option;
+      if (Object.isFrozen(option)) {
+        // memoized auth scheme providers return shared, frozen options, so the selected option is a copy.
+        httpAuthOption = {
+          ...option,
+          identityProperties: { ...option.identityProperties, ...identityProperties },
+          signingProperties: { ...option.signingProperties, ...signingProperties },
+        };
+      } else {
+        option.identityProperties = Object.assign(option.identityProperties || {}, identityProperties);
+        option.signingProperties = Object.assign(option.signingProperties || {}, signingProperties);
+      }
       smithyContext.selectedHttpAuthScheme = {
-        httpAuthOption: option,
-        identity: await identityProvider(option.identityProperties),
+        httpAuthOption,
+        identity: await identityProvider(httpAuthOption.identityProperties),
         signer: scheme.signer,
       };
       break;
@@ -0,0 +1,45 @@
+import { SMITHY_CONTEXT_KEY } from "@smithy/types";
+import { describe, expect, test as it, vi } from "vitest";
+
+import { freezeHttpAuthOptions, memoizeHttpAuthSchemeParametersProvider } from "./httpAuthSchemeMemoization";
+
+describe(freezeHttpAuthOptions.name, () => {
+  it("freezes the options and their properties", () => {
+    const options = freezeHttpAuthOptions([
+      { schemeId: "smithy.api#httpApiKeyAuth", signingProperties: { name: "Authorization" } },
+    ]);
+
+    expect(Object.isFrozen(options)).toBe(true);
+    expect(Object.isFrozen(options[0])).toBe(true);
+    expect(Object.isFrozen(options[0].signingProperties)).toBe(true);
+  });
+});
+
+describe(memoizeHttpAuthSchemeParametersProvider.name, () => {
+  const context = (operation: string) => ({ [SMITHY_CONTEXT_KEY]: { operation } });
+
+  it("resolves parameters once per config and operation", async () => {
+    const provider = vi.fn(async (config: object, ctx: any) => ({ operation: ctx[SMITHY_CONTEXT_KEY].operation }));
+    const memoized = memoizeHttpAuthSchemeParametersProvider(provider);
+    const config = {};
+
+    const first = await memoized(config, context("GetCity"), {});
+    const second = await memoized(config, context("GetCity"), {});
+    await memoized(config, context("ListCities"), {});
+    await memoized({}, context("GetCity"), {});
+
+    expect(first).toBe(second);
+    expect(first).toEqual({ operation: "GetCity" });
+    expect(Object.isFrozen(first)).toBe(true);
+    expect(provider).toHaveBeenCalledTimes(3);
+  });
+
+  it("does not cache failures", async () => {
+    const provider = vi.fn().mockRejectedValueOnce(new Error("failed")).mockResolvedValue({ operation: "GetCity" });
+    const memoized = memoizeHttpAuthSchemeParametersProvider(provider);
+    const config = {};
+
+    await expect(memoized(config, context("GetCity"), {})).rejects.toThrow("failed");
+    await expect(memoized(config, context("GetCity"), {})).resolves.toEqual({ operation: "GetCity" });
+  });
+});
@@ -0,0 +1,63 @@
+import { getSmithyContext } from "@smithy/core/transport";
+import type {
+  HandlerExecutionContext,
+  HttpAuthOption,
+  HttpAuthSchemeParameters,
+  HttpAuthSchemeParametersProvider,
+} from "@smithy/types";
+
+/**
+ * Freezes a list of auth options that does not depend on auth parameters, so that it can be
+ * computed once and returned by an auth scheme provider for every request.
+ *
+ * @internal
+ */
+export const freezeHttpAuthOptions = (options: HttpAuthOption[]): HttpAuthOption[] => {
+  for (const option of options) {
+    if (option.identityProperties) {
+      Object.freeze(option.identityProperties);
+    }
+    if (option.signingProperties) {
+      Object.freeze(option.signingProperties);
+    }
+    Object.freeze(option);
+  }
+  return Object.freeze(options) as HttpAuthOption[];
+};
+
+/**
+ * Memoizes an auth scheme parameters provider whose parameters depend only on the resolved
+ * client config and the operation, resolving parameters once per config object and operation.
+ *
+ * @internal
+ */
+export const memoizeHttpAuthSchemeParametersProvider = <
+  TConfig extends object,
+  TContext extends HandlerExecutionContext,
+  TParameters extends HttpAuthSchemeParameters,
+  TInput extends object,
+>(
+  provider: HttpAuthSchemeParametersProvider<TConfig, TContext, TParameters, TInput>
+): HttpAuthSchemeParametersProvider<TConfig, TContext, TParameters, TInput> => {
+  const cache = new WeakMap<TConfig, Map<unknown, Promise<TParameters>>>();
+  return (config, context, input) => {
+    let byOperation = cache.get(config);
+    if (!byOperation) {
+      byOperation = new Map();
+      cache.set(config, byOperation);
+    }
+    const operation = getSmithyContext(context).operation;
+    let parameters = byOperation.get(operation);
+    if (!parameters) {
+      const pending = provider(config, context, input).then(Object.freeze);
+      // failures are not cached.
+      pending.catch(() => {
+        if (byOperation!.get(operation) === pending) {
+          byOperation!.delete(operation);
+        }
+      });
+      byOperation.set(operation, (parameters = pending));
+    }
+    return parameters;
+  };
+};
@@ -1,4 +1,5 @@
 export { DefaultIdentityProviderConfig } from "./DefaultIdentityProviderConfig";
+export { freezeHttpAuthOptions, memoizeHttpAuthSchemeParametersProvider } from "./httpAuthSchemeMemoization";
 export { HttpApiKeyAuthSigner, HttpBearerAuthSigner, NoAuthSigner } from "./httpAuthSchemes";
 export {
   EXPIRATION_MS,
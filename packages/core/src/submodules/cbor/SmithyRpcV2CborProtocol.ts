@@ -162,4 +162,8 @@ export class SmithyRpcV2CborProtocol extends RpcProtocol {
   protected getDefaultContentType(): string {
     return "application/cbor";
   }
+
+  protected readsEventPayloadsSynchronously(): boolean {
+    return true;
+  }
 }
@@ -33,6 +33,25 @@ const encodeStringCache = new Map<string, { epoch: number; bytes: Uint8Array }>(
 let encodeCacheEpoch: number = 0;
 let encodeCacheSaturated: boolean = false;
 
+/**
+ * Encoded map keys (header + UTF-8), interned on first use.
+ * Map keys are mostly member names of a model, a small and stable set. Longer keys are more
+ * likely to be data, e.g. of a map shape, and are encoded as strings so that they are not
+ * retained. Once the table is full, further keys are encoded as strings through the string
+ * cache, so that keys of high-cardinality maps cannot grow it beyond the limit, nor cost an
+ * allocation per key on every request by repeatedly clearing it.
+ */
+const encodedKeys = new Map<string, EncodedKey>();
+const encodedKeysLimit = 4096;
+const encodedKeyMaxLength = 64;
+
+/**
+ * Distinguishes an interned key from a string or byte string value on the encode stack.
+ */
+class EncodedKey {
+  public constructor(public readonly bytes: Uint8Array) {}
+}
+
 const initialSize = 2048;
 let data: Uint8Array = alloc(initialSize);
 let dataView: DataView = new DataView(data.buffer, data.byteOffset, data.byteLength);
@@ -178,6 +197,13 @@ export function encode(_input: any): void {
       cursor += input.byteLength;
       continue;
     } else if (typeof input === "object") {
+      if (input instanceof EncodedKey) {
+        const bytes = input.bytes;
+        ensureSpace(bytes.length);
+        data.set(bytes, cursor);
+        cursor += bytes.length;
+        continue;
+      }
       if (input instanceof NumericValue) {
         let str = input.string;
         let expOffset = BigInt(0);
@@ -218,7 +244,7 @@ export function encode(_input: any): void {
       // Strategy: encode all keys now (forward), collect values, push values in reverse.
       for (let i = len - 1; i >= 0; --i) {
         encodeStack.push(input[keys[i]]);
-        encodeStack.push(keys[i]);
+        encodeStack.push(internKey(keys[i]));
       }
       continue;
     }
@@ -235,6 +261,14 @@ export function advanceEncodingEpoch() {
   encodeCacheSaturated = false;
 }
 
+/**
+ * @internal
+ * @returns the number of interned map keys, for testing.
+ */
+export function getEncodedKeyCount(): number {
+  return encodedKeys.size;
+}
+
 /**
  * @internal
  */
@@ -304,6 +338,37 @@ function encodeStringCached(input: string): void {
   }
 }
 
+/**
+ * @returns the interned encoding of the map key, or the key itself if it is too long to intern
+ * or the table is full.
+ */
+function internKey(key: string): EncodedKey | string {
+  let encoded = encodedKeys.get(key);
+  if (encoded === undefined) {
+    if (key.length > encodedKeyMaxLength) {
+      return key;
+    }
+    if (encodedKeys.size >= encodedKeysLimit) {
+      return key;
+    }
+    const utf8 = USE_BUFFER ? Buffer.from(key, "utf-8") : new TextEncoder().encode(key);
+    const byteLen = utf8.length;
+    // at most 3 bytes per UTF-16 code unit, so the length fits in one byte.
+    const headerSize = byteLen < 24 ? 1 : 2;
+    const bytes = new Uint8Array(headerSize + byteLen);
+    if (headerSize === 1) {
+      bytes[0] = (majorUtf8String << 5) | byteLen;
+    } else {
+      bytes[0] = (majorUtf8String << 5) | 24;
+      bytes[1] = byteLen;
+    }
+    bytes.set(utf8, headerSize);
+    encoded = new EncodedKey(bytes);
+    encodedKeys.set(key, encoded);
+  }
+  return encoded;
+}
+
 function ensureSpace(bytes: number) {
   const remaining = data.byteLength - cursor;
   if (remaining < bytes) {
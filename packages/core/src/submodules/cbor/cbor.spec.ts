@@ -8,6 +8,7 @@ import { describe, expect, test as it } from "vitest";
 import { printBytes } from "./byte-printer";
 import { cbor } from "./cbor";
 import { bytesToFloat16 } from "./cbor-decode";
+import { getEncodedKeyCount } from "./cbor-encode";
 import { tagSymbol } from "./cbor-types";
 import { dateToTag } from "./parseCborBody";
 
@@ -445,6 +446,45 @@ describe("cbor", () => {
       expect(deserialized).toEqual(sequence);
     });
 
+    it("should encode map keys of any length identically on repeated serialization", () => {
+      const longKey = "a-member-name-longer-than-23-bytes";
+      const nonAsciiKey = "メトリック名";
+      const data = {
+        [longKey]: { [nonAsciiKey]: "value", [longKey.repeat(10)]: [1, 2, 3] },
+        short: longKey,
+      };
+
+      const first = cbor.serialize(data);
+      const second = cbor.serialize(data);
+
+      expect(second).toEqual(first);
+      expect(cbor.deserialize(second)).toEqual(data);
+      // the 340-byte key is encoded with a 2-byte length argument.
+      expect(Buffer.from(first).indexOf(Buffer.from([0x79, 0x01, 0x54, 0x61, 0x2d]))).toBeGreaterThan(0);
+    });
+
+    it("should not retain long or high-cardinality map keys", () => {
+      const before = getEncodedKeyCount();
+      cbor.serialize({ ["x".repeat(70_000)]: 1, ["y".repeat(65)]: 2 });
+      expect(getEncodedKeyCount()).toEqual(before);
+
+      for (let i = 0; i < 5; ++i) {
+        const data = {} as Record<string, number>;
+        for (let j = 0; j < 4096; ++j) {
+          data[`key-${i}-${j}`] = j;
+        }
+        expect(cbor.deserialize(cbor.serialize(data))).toEqual(data);
+        expect(getEncodedKeyCount()).toBeLessThanOrEqual(4096);
+      }
+
+      // once the table is full, further keys are encoded as strings instead of clearing it.
+      expect(getEncodedKeyCount()).toEqual(4096);
+      const overflow = { "not-interned": 1, "ノンインターン": 2 };
+      expect(cbor.serialize(overflow)).toEqual(cbor.serialize(overflow));
+      expect(cbor.deserialize(cbor.serialize(overflow))).toEqual(overflow);
+      expect(getEncodedKeyCount()).toEqual(4096);
+    });
+
     it("should throw an error if serializing a tag with missing properties", () => {
       expect(() =>
         cbor.serialize({
@@ -160,6 +160,11 @@ function readStruct(ns: NormalizedSchema, count: number, startPos: number): any
       }
     } else {
       const key = readUtf8String();
+      if (!isUnion && key !== "__type") {
+        // Members the client does not model are skipped without being decoded.
+        skipValue();
+        continue;
+      }
       const val = readValue(NormalizedSchema.of(15 satisfies DocumentSchema));
       if (key === "__type" && typeof val === "string") {
         hasType = true;
@@ -389,6 +394,10 @@ function readMapIndefinite(ns: NormalizedSchema): any {
         }
       } else {
         const key = readUtf8String();
+        if (!isUnion) {
+          skipValue();
+          continue;
+        }
         const val = readValue(NormalizedSchema.of(15 satisfies DocumentSchema));
         if (key !== "__type") {
           unknownKey = key;
@@ -414,6 +423,104 @@ function readMapIndefinite(ns: NormalizedSchema): any {
   throw new Error("expected break marker.");
 }
 
+// ─── Skipping ─────────────────────────────────────────────────────────────────
+
+/**
+ * Advances past one data item, including any nested items, without decoding or allocating it.
+ */
+function skipValue(): void {
+  if (pos >= end) {
+    throw new Error("unexpected end of CBOR payload.");
+  }
+
+  const major = (payload[pos] & 0b1110_0000) >> 5;
+  const minor = payload[pos] & 0b0001_1111;
+
+  if (minor === minorIndefinite && major >= 2 && major <= 5) {
+    pos += 1;
+    while (pos < end) {
+      if (payload[pos] === 0xff) {
+        pos += 1;
+        return;
+      }
+      // chunks of strings, list items, and map keys and values are all single items.
+      skipValue();
+    }
+    throw new Error("expected break marker.");
+  }
+
+  switch (major) {
+    case majorUint64:
+    case majorNegativeInt64:
+      skipArgument();
+      return;
+    case majorUnstructuredByteString:
+    case majorUtf8String: {
+      const length = decodeCount();
+      if (end - pos < length) {
+        overflow(length);
+      }
+      pos += length;
+      return;
+    }
+    case majorList: {
+      const count = decodeCount();
+      for (let i = 0; i < count; ++i) {
+        skipValue();
+      }
+      return;
+    }
+    case majorMap: {
+      const count = decodeCount();
+      for (let i = 0; i < count; ++i) {
+        skipValue();
+        skipValue();
+      }
+      return;
+    }
+    case majorTag:
+      skipArgument();
+      skipValue();
+      return;
+    default:
+      skipSpecial(minor);
+  }
+}
+
+function skipArgument(): void {
+  const minor = payload[pos] & 0b0001_1111;
+  let length: number;
+  if (minor < 24) {
+    length = 1;
+  } else if (minor <= extendedFloat64) {
+    length = 1 + (1 << (minor - extendedOneByte));
+  } else {
+    throw new Error(`unexpected minor value ${minor}.`);
+  }
+  if (end - pos < length) {
+    overflow(length - 1);
+  }
+  pos += length;
+}
+
+function skipSpecial(minor: number): void {
+  switch (minor) {
+    case specialTrue:
+    case specialFalse:
+    case specialNull:
+    case specialUndefined:
+      pos += 1;
+      return;
+    case extendedFloat16:
+    case extendedFloat32:
+    case extendedFloat64:
+      skipArgument();
+      return;
+    default:
+      throw new Error(`unexpected minor value ${minor} for major 7.`);
+  }
+}
+
 // ─── Struct key byte-matching ─────────────────────────────────────────────────
 
 function matchStructKey(encodedKeys: Uint8Array[], z: number, hint: number): number {
@@ -17,6 +17,7 @@ import { CborCodec } from "../CborCodec";
 import { CborShapeSerializer2 } from "./CborShapeSerializer2";
 import { CborShapeDeserializer2 } from "./CborShapeDeserializer2";
 import { cbor } from "../cbor";
+import { tag } from "../cbor-types";
 
 describe("CborShapeSerializer2", () => {
   const singlePass = new CborShapeSerializer2();
@@ -621,6 +622,44 @@ describe("CborShapeDeserializer2", () => {
       expect(result).toEqual([BigInt("9007199254740993"), BigInt("-9007199254740993")]);
     });
 
+    it("skips unknown struct members without decoding them", () => {
+      const schema = [3, "ns", "S", 0, ["a", "b"], [0, 1 satisfies NumericSchema]] satisfies StaticStructureSchema;
+      const wireData = cbor.serialize({
+        a: "x",
+        newer: {
+          list: [1, -2, 2 ** 40, -(2 ** 40), BigInt(2) ** BigInt(70), "s".repeat(30), null, true, 1.5],
+          blob: new Uint8Array(300),
+          when: tag({ tag: 1, value: 1700000000 }),
+          map: { k: { k: {} } },
+        },
+        b: 2,
+        newest: "y",
+      });
+
+      expect(singlePassDe.read(schema, wireData)).toEqual({ a: "x", b: 2 });
+    });
+
+    it("skips unknown members of indefinite length", () => {
+      const schema = [3, "ns", "S", 0, ["a", "b"], [0, 1 satisfies NumericSchema]] satisfies StaticStructureSchema;
+      // prettier-ignore
+      const unknownMember = [
+        0x61, 0x7a, // "z"
+        0x9f, 0x01, 0x7f, 0x61, 0x71, 0xff, 0xbf, 0x61, 0x6b, 0x5f, 0x41, 0x00, 0xff, 0xff, 0xff, // [_ 1, (_ "q"), {_ "k": (_ h'00')}]
+      ];
+      const definite = new Uint8Array([0xa3, 0x61, 0x61, 0x61, 0x78, ...unknownMember, 0x61, 0x62, 0x02]);
+      const indefinite = new Uint8Array([0xbf, 0x61, 0x61, 0x61, 0x78, ...unknownMember, 0x61, 0x62, 0x02, 0xff]);
+
+      expect(singlePassDe.read(schema, definite)).toEqual({ a: "x", b: 2 });
+      expect(singlePassDe.read(schema, indefinite)).toEqual({ a: "x", b: 2 });
+    });
+
+    it("throws on a truncated unknown member", () => {
+      const schema = [3, "ns", "S", 0, ["a"], [0]] satisfies StaticStructureSchema;
+      const wireData = new Uint8Array([0xa1, 0x61, 0x7a, 0x65, 0x61, 0x62]);
+
+      expect(() => singlePassDe.read(schema, wireData)).toThrow();
+    });
+
     it("roundtrips through serialize then deserialize", () => {
       const schema = [
         3,
@@ -7,6 +7,7 @@ export {
   loadSmithyRpcV2CborErrorCode,
   parseCborBody,
   parseCborErrorBody,
+  parseCborPayload,
 } from "./parseCborBody";
 export { SmithyRpcV2CborProtocol } from "./SmithyRpcV2CborProtocol";
 export { CborCodec } from "./CborCodec";
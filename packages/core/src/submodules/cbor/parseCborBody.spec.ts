@@ -1,6 +1,7 @@
 import { describe, expect, test as it } from "vitest";
 
-import { buildHttpRpcRequest, loadSmithyRpcV2CborErrorCode } from "./parseCborBody";
+import { cbor } from "./cbor";
+import { buildHttpRpcRequest, loadSmithyRpcV2CborErrorCode, parseCborPayload } from "./parseCborBody";
 
 describe("buildHttpRpcRequest", () => {
   it("should copy the input headers", async () => {
@@ -42,3 +43,12 @@ describe(loadSmithyRpcV2CborErrorCode.name, () => {
     expect(code).toEqual("OhNoException");
   });
 });
+
+describe(parseCborPayload.name, () => {
+  const context = { utf8Encoder: (bytes: Uint8Array) => Buffer.from(bytes).toString("utf-8") } as any;
+
+  it("should parse collected bytes synchronously", () => {
+    expect(parseCborPayload(cbor.serialize({ message: "hello" }), context)).toEqual({ message: "hello" });
+    expect(parseCborPayload(new Uint8Array(0), context)).toEqual({});
+  });
+});
@@ -15,19 +15,26 @@ import { tag, type tagSymbol } from "./cbor-types";
  * @internal
  */
 export const parseCborBody = (streamBody: any, context: SerdeContext): any => {
-  return collectBody(streamBody, context).then(async (bytes) => {
-    if (bytes.length) {
-      try {
-        return cbor.deserialize(bytes);
-      } catch (e: any) {
-        Object.defineProperty(e, "$responseBodyText", {
-          value: context.utf8Encoder(bytes),
-        });
-        throw e;
-      }
+  return collectBody(streamBody, context).then(async (bytes) => parseCborPayload(bytes, context));
+};
+
+/**
+ * Synchronously parses bytes that have already been collected, e.g. an event stream payload.
+ *
+ * @internal
+ */
+export const parseCborPayload = (bytes: Uint8Array, context: SerdeContext): any => {
+  if (bytes.length) {
+    try {
+      return cbor.deserialize(bytes);
+    } catch (e: any) {
+      Object.defineProperty(e, "$responseBodyText", {
+        value: context.utf8Encoder(bytes),
+      });
+      throw e;
     }
-    return {};
-  });
+  }
+  return {};
 };
 
 /**
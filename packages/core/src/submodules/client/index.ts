@@ -11,6 +11,13 @@ export { invalidProvider } from "./invalid-dependency/invalidProvider";
 
 // @smithy/util-waiter
 export { createWaiter } from "./util-waiter/createWaiter";
+export {
+  createAdaptiveWaiter,
+  waiterLatencyStore,
+  WaiterLatencyStore,
+  type AdaptiveWaiterConfiguration,
+  type WaiterMetadata,
+} from "./util-waiter/adaptive";
 export {
   waiterServiceDefaults,
   WaiterState,
@@ -20,6 +27,35 @@ export {
   type WaiterResult,
 } from "./util-waiter/waiter";
 
+// request coalescing
+export {
+  getRequestCoalescingPlugin,
+  requestCoalescingMiddleware,
+  requestCoalescingMiddlewareOptions,
+  withoutRequestCoalescing,
+} from "./middleware-request-coalescing/requestCoalescingMiddleware";
+
+// response cache
+export {
+  getResponseCachePlugin,
+  resolveResponseCacheConfig,
+  responseCacheMiddleware,
+  responseCacheMiddlewareOptions,
+  ResponseCache,
+  type ResponseCacheInputConfig,
+  type ResponseCacheMetrics,
+  type ResponseCacheOptions,
+  type ResponseCacheResolvedConfig,
+} from "./middleware-response-cache/responseCache";
+
+// pagination
+export {
+  createSegmentedPaginator,
+  type SegmentedPaginationConfiguration,
+  type SegmentedPaginationOptions,
+  type SegmentMembers,
+} from "./pagination/createSegmentedPaginator";
+
 // @smithy/smithy-client
 export { Client, type SmithyConfiguration, type SmithyResolvedConfiguration } from "./smithy-client/client";
 export { Command, type CommandImpl } from "./smithy-client/command";
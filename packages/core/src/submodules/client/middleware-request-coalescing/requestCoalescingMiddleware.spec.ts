@@ -0,0 +1,81 @@
+import { Readable } from "node:stream";
+import { HttpRequest } from "@smithy/core/transport";
+import { SMITHY_CONTEXT_KEY } from "@smithy/types";
+import { describe, expect, test as it, vi } from "vitest";
+
+import { requestCoalescingMiddleware, withoutRequestCoalescing } from "./requestCoalescingMiddleware";
+
+describe(requestCoalescingMiddleware.name, () => {
+  const createRequest = (body: any = "{}") =>
+    new HttpRequest({
+      method: "POST",
+      protocol: "https:",
+      hostname: "example.com",
+      path: "/",
+      headers: { "content-type": "application/json" },
+      body,
+    });
+
+  const setup = () => {
+    const config = {};
+    const next = vi.fn().mockImplementation(async () => {
+      await new Promise((r) => setTimeout(r, 1));
+      return { output: { $metadata: {}, Value: "v" }, response: {} };
+    });
+    const send = (request: HttpRequest, commandInstance: object = {}) =>
+      requestCoalescingMiddleware(config)(next, { [SMITHY_CONTEXT_KEY]: { commandInstance } })({
+        input: {},
+        request,
+      });
+    return { next, send };
+  };
+
+  it("sends one request for concurrent identical requests", async () => {
+    const { next, send } = setup();
+
+    const [a, b] = await Promise.all([send(createRequest()), send(createRequest())]);
+
+    expect(next).toHaveBeenCalledTimes(1);
+    expect(a.output).toEqual(b.output);
+    expect(a.output).not.toBe(b.output);
+  });
+
+  it("does not share requests after they settle", async () => {
+    const { next, send } = setup();
+
+    await send(createRequest());
+    await send(createRequest());
+
+    expect(next).toHaveBeenCalledTimes(2);
+  });
+
+  it("sends separate requests when requests differ", async () => {
+    const { next, send } = setup();
+
+    await Promise.all([send(createRequest("{}")), send(createRequest('{"a":1}'))]);
+
+    expect(next).toHaveBeenCalledTimes(2);
+  });
+
+  it("does not coalesce streaming bodies or commands that opted out", async () => {
+    const { next, send } = setup();
+
+    await Promise.all([send(createRequest(Readable.from(["a"]))), send(createRequest(Readable.from(["a"])))]);
+    expect(next).toHaveBeenCalledTimes(2);
+
+    next.mockClear();
+    await Promise.all([send(createRequest()), send(createRequest(), withoutRequestCoalescing({}))]);
+    expect(next).toHaveBeenCalledTimes(2);
+  });
+
+  it("sends its own request when the shared request was aborted by another caller", async () => {
+    const { next, send } = setup();
+    next.mockRejectedValueOnce(Object.assign(new Error("aborted"), { name: "AbortError" }));
+
+    const [first, second] = await Promise.allSettled([send(createRequest()), send(createRequest())]);
+
+    expect(first.status).toEqual("rejected");
+    expect(second.status).toEqual("fulfilled");
+    expect(next).toHaveBeenCalledTimes(2);
+  });
+});
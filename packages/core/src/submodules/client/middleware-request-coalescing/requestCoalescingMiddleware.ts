@@ -0,0 +1,108 @@
+import { getSmithyContext } from "@smithy/core/transport";
+import type {
+  BuildHandler,
+  BuildHandlerArguments,
+  BuildHandlerOptions,
+  BuildHandlerOutput,
+  BuildMiddleware,
+  HandlerExecutionContext,
+  MetadataBearer,
+  Pluggable,
+} from "@smithy/types";
+
+import { getRequestKey } from "../util-request-key/getRequestKey";
+
+/**
+ * In-flight requests, by client configuration and request key.
+ */
+const inFlight = new WeakMap<object, Map<string, Promise<BuildHandlerOutput<any>>>>();
+
+/**
+ * Commands that have opted out of request coalescing.
+ */
+const skipped = new WeakSet<object>();
+
+/**
+ * Opts a command instance out of request coalescing. The command always sends its own request,
+ * and its request is not shared with concurrent identical commands.
+ *
+ * @example
+ * ```ts
+ * await client.send(withoutRequestCoalescing(new GetResourceCommand(input)));
+ * ```
+ *
+ * @public
+ */
+export const withoutRequestCoalescing = <CommandType extends object>(command: CommandType): CommandType => {
+  skipped.add(command);
+  return command;
+};
+
+/**
+ * Shares a single in-flight request between concurrent commands on the same client whose serialized
+ * requests are identical. The request is keyed on its method, endpoint, path, query, headers, and body,
+ * and is only shared until it settles.
+ *
+ * Callers other than the one that sent the request receive a shallow copy of the same output.
+ * Requests with streaming bodies are never coalesced.
+ *
+ * @internal
+ */
+export function requestCoalescingMiddleware(config: object): BuildMiddleware<any, any> {
+  return <Output extends MetadataBearer>(next: BuildHandler<any, Output>, context: HandlerExecutionContext) =>
+    async (args: BuildHandlerArguments<any>): Promise<BuildHandlerOutput<Output>> => {
+      const { commandInstance } = getSmithyContext(context);
+      const key = getRequestKey(args.request);
+      if (key === undefined || (typeof commandInstance === "object" && skipped.has(commandInstance!))) {
+        return next(args);
+      }
+
+      const requests = inFlight.get(config) ?? new Map<string, Promise<BuildHandlerOutput<any>>>();
+      inFlight.set(config, requests);
+
+      const pending = requests.get(key) as Promise<BuildHandlerOutput<Output>> | undefined;
+      if (pending) {
+        try {
+          const { output, response } = await pending;
+          return { output: { ...output, $metadata: { ...output.$metadata } }, response };
+        } catch (e) {
+          // abort signals are per caller, so an aborted shared request is retried by each other caller.
+          if ((e as Error)?.name === "AbortError") {
+            return next(args);
+          }
+          throw e;
+        }
+      }
+
+      const request = next(args);
+      requests.set(key, request);
+      const release = () => {
+        if (requests.get(key) === request) {
+          requests.delete(key);
+        }
+      };
+      request.then(release, release);
+      return request;
+    };
+}
+
+/**
+ * @internal
+ */
+export const requestCoalescingMiddlewareOptions: BuildHandlerOptions = {
+  step: "build",
+  tags: ["REQUEST_COALESCING"],
+  name: "requestCoalescingMiddleware",
+  // runs before other build middleware, which may add per-invocation headers.
+  priority: "high",
+  override: true,
+};
+
+/**
+ * @internal
+ */
+export const getRequestCoalescingPlugin = (config: object): Pluggable<any, any> => ({
+  applyToStack: (commandStack) => {
+    commandStack.add(requestCoalescingMiddleware(config), requestCoalescingMiddlewareOptions);
+  },
+});
@@ -0,0 +1,113 @@
+import { HttpRequest } from "@smithy/core/transport";
+import { afterEach, describe, expect, test as it, vi } from "vitest";
+
+import { resolveResponseCacheConfig, ResponseCache, responseCacheMiddleware } from "./responseCache";
+
+describe(ResponseCache.name, () => {
+  const output = (value: string) => ({ output: { $metadata: {}, Value: value }, response: {} });
+
+  afterEach(() => {
+    vi.useRealTimers();
+  });
+
+  it("expires entries after their TTL", () => {
+    vi.useFakeTimers();
+    const cache = new ResponseCache();
+    cache.set("a", output("a"), 1000);
+    expect(cache.get("a")).toBeDefined();
+
+    vi.advanceTimersByTime(1000);
+
+    expect(cache.get("a")).toBeUndefined();
+    expect(cache.getMetrics()).toMatchObject({ hits: 1, misses: 1, size: 0, bytes: 0 });
+  });
+
+  it("evicts the least recently used entries when over the byte limit", () => {
+    const cache = new ResponseCache({ maxBytes: 100 });
+    cache.set("a", output("a".repeat(10)), 1000);
+    cache.set("b", output("b".repeat(10)), 1000);
+    cache.get("a");
+    cache.set("c", output("c".repeat(10)), 1000);
+
+    expect(cache.get("a")).toBeDefined();
+    expect(cache.get("b")).toBeUndefined();
+    expect(cache.get("c")).toBeDefined();
+    expect(cache.getMetrics().evictions).toEqual(1);
+    expect(cache.getMetrics().bytes).toBeLessThanOrEqual(100);
+  });
+
+  it("resolves TTLs by command name", () => {
+    const cache = new ResponseCache({ defaultTtl: 10, operationTtls: { GetConfigCommand: 60_000, GetItemCommand: 0 } });
+
+    expect(cache.getTtl("GetConfigCommand", true)).toEqual(60_000);
+    expect(cache.getTtl("GetItemCommand", true)).toEqual(0);
+    expect(cache.getTtl("DescribeThingCommand", true)).toEqual(10);
+    expect(cache.getTtl("PutThingCommand", false)).toEqual(0);
+  });
+});
+
+describe(responseCacheMiddleware.name, () => {
+  const request = () =>
+    new HttpRequest({ method: "POST", protocol: "https:", hostname: "example.com", path: "/", body: "{}" });
+
+  const setup = (responseCache?: boolean, readonly = true) => {
+    const config = resolveResponseCacheConfig({ responseCache });
+    const next = vi.fn().mockImplementation(async () => ({ output: { $metadata: {}, Value: "v" }, response: {} }));
+    const send = (commandName = "GetConfigCommand") =>
+      responseCacheMiddleware(config, readonly)(next, { commandName })({ input: {}, request: request() });
+    return { config, next, send };
+  };
+
+  it("serves repeated requests from the cache", async () => {
+    const { config, next, send } = setup(true);
+
+    const first = await send();
+    const second = await send();
+
+    expect(next).toHaveBeenCalledTimes(1);
+    expect(second.output).toEqual(first.output);
+    expect(second.output).not.toBe(first.output);
+    expect(config.responseCache!.getMetrics()).toMatchObject({ hits: 1, misses: 1 });
+  });
+
+  it("does not share nested members of cached outputs between callers", async () => {
+    const { next, send } = setup(true);
+    next.mockImplementation(async () => ({
+      output: { $metadata: {}, Config: { Tags: ["a"], Updated: new Date(0), Data: new Uint8Array([1]) } },
+      response: {},
+    }));
+
+    const first = (await send()).output as any;
+    first.Config.Tags.push("mutated by the first caller");
+    first.Config.Data[0] = 2;
+    const second = (await send()).output as any;
+    second.Config.Updated.setTime(1);
+    second.$metadata.attempts = 2;
+    const third = (await send()).output;
+
+    expect(next).toHaveBeenCalledTimes(1);
+    expect(second.Config.Tags).toEqual(["a"]);
+    expect(third).toEqual({
+      $metadata: {},
+      Config: { Tags: ["a"], Updated: new Date(0), Data: new Uint8Array([1]) },
+    });
+  });
+
+  it("does not cache when the cache is not configured", async () => {
+    const { next, send } = setup(undefined);
+
+    await send();
+    await send();
+
+    expect(next).toHaveBeenCalledTimes(2);
+  });
+
+  it("does not cache idempotent operations without a configured TTL", async () => {
+    const { next, send } = setup(true, false);
+
+    await send("PutConfigCommand");
+    await send("PutConfigCommand");
+
+    expect(next).toHaveBeenCalledTimes(2);
+  });
+});
@@ -0,0 +1,311 @@
+import type {
+  BuildHandler,
+  BuildHandlerArguments,
+  BuildHandlerOptions,
+  BuildHandlerOutput,
+  BuildMiddleware,
+  HandlerExecutionContext,
+  MetadataBearer,
+  Pluggable,
+} from "@smithy/types";
+
+import { getRequestKey } from "../util-request-key/getRequestKey";
+
+/**
+ * Options for the client response cache.
+ *
+ * @public
+ */
+export interface ResponseCacheOptions {
+  /**
+   * Upper bound on the estimated size in bytes of all cached responses.
+   * Least recently used responses are evicted beyond this size. Defaults to 5 MiB.
+   */
+  maxBytes?: number;
+  /**
+   * Time in milliseconds for which responses of readonly operations are cached,
+   * unless overridden in `operationTtls`. Defaults to 5000.
+   */
+  defaultTtl?: number;
+  /**
+   * Time in milliseconds for which responses are cached, by command name, e.g. `{ GetConfigCommand: 60_000 }`.
+   * Set a value of 0 to disable caching for a command.
+   *
+   * Responses of idempotent operations that are not readonly are only cached when they are listed here.
+   */
+  operationTtls?: Record<string, number>;
+}
+
+/**
+ * Counters describing the effectiveness of a response cache.
+ *
+ * @public
+ */
+export interface ResponseCacheMetrics {
+  hits: number;
+  misses: number;
+  evictions: number;
+  /**
+   * Number of cached responses.
+   */
+  size: number;
+  /**
+   * Estimated size in bytes of the cached responses.
+   */
+  bytes: number;
+}
+
+/**
+ * @public
+ */
+export interface ResponseCacheInputConfig {
+  /**
+   * Caches responses of readonly operations, and of idempotent operations configured with a TTL.
+   * Responses are keyed on the serialized request. Disabled by default.
+   */
+  responseCache?: boolean | ResponseCacheOptions | ResponseCache;
+}
+
+/**
+ * @internal
+ */
+export interface ResponseCacheResolvedConfig {
+  responseCache?: ResponseCache;
+}
+
+/**
+ * @internal
+ */
+export const resolveResponseCacheConfig = <T>(input: T & ResponseCacheInputConfig): T & ResponseCacheResolvedConfig => {
+  const { responseCache } = input;
+  return Object.assign(input, {
+    responseCache:
+      responseCache instanceof ResponseCache
+        ? responseCache
+        : responseCache
+          ? new ResponseCache(responseCache === true ? {} : responseCache)
+          : undefined,
+  });
+};
+
+interface CacheEntry {
+  value: BuildHandlerOutput<any>;
+  bytes: number;
+  expires: number;
+}
+
+/**
+ * In-memory response cache, bounded by the estimated size of its entries and evicting
+ * the least recently used entries first.
+ *
+ * @public
+ */
+export class ResponseCache {
+  private readonly entries = new Map<string, CacheEntry>();
+  private readonly maxBytes: number;
+  private readonly defaultTtl: number;
+  private readonly operationTtls: Record<string, number>;
+  private bytes = 0;
+  private hits = 0;
+  private misses = 0;
+  private evictions = 0;
+
+  public constructor({ maxBytes = 5 * 1024 * 1024, defaultTtl = 5000, operationTtls = {} }: ResponseCacheOptions = {}) {
+    this.maxBytes = maxBytes;
+    this.defaultTtl = defaultTtl;
+    this.operationTtls = operationTtls;
+  }
+
+  /**
+   * @returns the TTL in milliseconds for the given command, or 0 if its responses are not cached.
+   *
+   * @internal
+   */
+  public getTtl(commandName: string | undefined, readonly: boolean): number {
+    const ttl = commandName === undefined ? undefined : this.operationTtls[commandName];
+    return ttl ?? (readonly ? this.defaultTtl : 0);
+  }
+
+  /**
+   * @internal
+   */
+  public get(key: string): BuildHandlerOutput<any> | undefined {
+    const entry = this.entries.get(key);
+    if (entry) {
+      this.entries.delete(key);
+      if (entry.expires > Date.now()) {
+        this.entries.set(key, entry);
+        this.hits += 1;
+        return entry.value;
+      }
+      this.bytes -= entry.bytes;
+    }
+    this.misses += 1;
+    return undefined;
+  }
+
+  /**
+   * @internal
+   */
+  public set(key: string, value: BuildHandlerOutput<any>, ttl: number): void {
+    const bytes = key.length * 2 + estimateSize(value.output);
+    if (bytes > this.maxBytes) {
+      return;
+    }
+    this.delete(key);
+    this.entries.set(key, { value, bytes, expires: Date.now() + ttl });
+    this.bytes += bytes;
+    for (const [oldest, entry] of this.entries) {
+      if (this.bytes <= this.maxBytes) {
+        break;
+      }
+      this.entries.delete(oldest);
+      this.bytes -= entry.bytes;
+      this.evictions += 1;
+    }
+  }
+
+  public getMetrics(): ResponseCacheMetrics {
+    return {
+      hits: this.hits,
+      misses: this.misses,
+      evictions: this.evictions,
+      size: this.entries.size,
+      bytes: this.bytes,
+    };
+  }
+
+  public clear(): void {
+    this.entries.clear();
+    this.bytes = 0;
+  }
+
+  private delete(key: string): void {
+    const entry = this.entries.get(key);
+    if (entry) {
+      this.entries.delete(key);
+      this.bytes -= entry.bytes;
+    }
+  }
+}
+
+/**
+ * Serves responses of a readonly or idempotent operation from the client's response cache while they
+ * are fresh. Successful responses are cached, errors are not. The cache holds a deep copy of the output,
+ * and each cache hit receives another, so that callers mutating their output cannot affect each other.
+ *
+ * @internal
+ */
+export function responseCacheMiddleware(
+  config: ResponseCacheResolvedConfig,
+  readonly: boolean
+): BuildMiddleware<any, any> {
+  return <Output extends MetadataBearer>(next: BuildHandler<any, Output>, context: HandlerExecutionContext) =>
+    async (args: BuildHandlerArguments<any>): Promise<BuildHandlerOutput<Output>> => {
+      const { responseCache } = config;
+      const ttl = responseCache?.getTtl(context.commandName, readonly) ?? 0;
+      const key = ttl > 0 ? getRequestKey(args.request) : undefined;
+      if (key === undefined) {
+        return next(args);
+      }
+
+      const cached = responseCache!.get(key) as BuildHandlerOutput<Output> | undefined;
+      if (cached) {
+        return { output: cloneOutput(cached.output), response: cached.response };
+      }
+
+      const result = await next(args);
+      responseCache!.set(key, { output: cloneOutput(result.output), response: result.response }, ttl);
+      return result;
+    };
+}
+
+/**
+ * @internal
+ */
+export const responseCacheMiddlewareOptions: BuildHandlerOptions = {
+  step: "build",
+  tags: ["RESPONSE_CACHE"],
+  name: "responseCacheMiddleware",
+  // runs before other build middleware, which may add per-invocation headers.
+  priority: "high",
+  override: true,
+};
+
+/**
+ * @internal
+ */
+export const getResponseCachePlugin = (
+  config: ResponseCacheResolvedConfig,
+  { readonly }: { readonly: boolean }
+): Pluggable<any, any> => ({
+  applyToStack: (commandStack) => {
+    commandStack.add(responseCacheMiddleware(config, readonly), responseCacheMiddlewareOptions);
+  },
+});
+
+/**
+ * Deep copies a deserialized output. Instances of classes other than Date and Uint8Array,
+ * such as NumericValue, are immutable and shared.
+ *
+ * @internal
+ */
+const cloneOutput = <T>(value: T): T => {
+  if (typeof value !== "object" || value === null) {
+    return value;
+  }
+  if (Array.isArray(value)) {
+    return value.map(cloneOutput) as T;
+  }
+  if (value instanceof Date) {
+    return new Date(value.getTime()) as T;
+  }
+  if (value instanceof Uint8Array) {
+    return Uint8Array.prototype.slice.call(value) as T;
+  }
+  const prototype = Object.getPrototypeOf(value);
+  if (prototype !== Object.prototype && prototype !== null) {
+    return value;
+  }
+  const copy = {} as Record<string, unknown>;
+  for (const key in value) {
+    copy[key] = cloneOutput(value[key]);
+  }
+  return copy as T;
+};
+
+/**
+ * Estimates the in-memory size of a deserialized output in bytes.
+ *
+ * @internal
+ */
+const estimateSize = (value: unknown, seen = new Set<object>()): number => {
+  switch (typeof value) {
+    case "string":
+      return value.length * 2;
+    case "number":
+    case "bigint":
+      return 8;
+    case "boolean":
+      return 4;
+    case "object": {
+      if (value === null || seen.has(value)) {
+        return 0;
+      }
+      seen.add(value);
+      if (ArrayBuffer.isView(value)) {
+        return value.byteLength;
+      }
+      if (value instanceof Date) {
+        return 8;
+      }
+      let size = 0;
+      for (const [k, v] of Object.entries(value)) {
+        size += k.length * 2 + estimateSize(v, seen);
+      }
+      return size;
+    }
+    default:
+      return 0;
+  }
+};
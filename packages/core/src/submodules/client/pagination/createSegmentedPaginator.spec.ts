@@ -0,0 +1,164 @@
+import type { PaginationConfiguration, Paginator } from "@smithy/types";
+import { describe, expect, test as it } from "vitest";
+
+import { createSegmentedPaginator } from "./createSegmentedPaginator";
+
+describe(createSegmentedPaginator.name, () => {
+  type Input = { Segment?: number; TotalSegments?: number; Shard?: string; Token?: string };
+  type Output = { segment: string; page: number };
+
+  const createTestPaginator = (pagesPerSegment: number, delays: Record<string, number> = {}) => {
+    const state = { active: 0, maxActive: 0, inputs: [] as Input[] };
+    const paginate = async function* (config: PaginationConfiguration, input: Input): Paginator<Output> {
+      state.inputs.push(input);
+      const segment = String(input.Shard ?? input.Segment);
+      state.active += 1;
+      state.maxActive = Math.max(state.maxActive, state.active);
+      try {
+        for (let page = 0; page < pagesPerSegment; ++page) {
+          await new Promise((r) => setTimeout(r, delays[segment] ?? 0));
+          input.Token = `${segment}-${page}`;
+          yield { segment, page };
+        }
+      } finally {
+        state.active -= 1;
+      }
+      return undefined;
+    };
+    return { paginate, state };
+  };
+
+  const collect = async (paginator: Paginator<Output>) => {
+    const pages = [] as string[];
+    for await (const page of paginator) {
+      pages.push(`${page.segment}:${page.page}`);
+    }
+    return pages;
+  };
+
+  const config = { client: {} as any };
+
+  it("derives segment inputs from the total segment count", async () => {
+    const { paginate, state } = createTestPaginator(2);
+    const paginateSegments = createSegmentedPaginator(paginate, { segment: "Segment", totalSegments: "TotalSegments" });
+
+    const pages = await collect(paginateSegments(config, { TotalSegments: 3 }));
+
+    expect(pages.sort()).toEqual(["0:0", "0:1", "1:0", "1:1", "2:0", "2:1"]);
+    expect(state.inputs.map((input) => input.Segment).sort()).toEqual([0, 1, 2]);
+  });
+
+  it("does not share input objects between segments", async () => {
+    const { paginate, state } = createTestPaginator(2);
+    const input = { TotalSegments: 2 } as Input;
+
+    await collect(createSegmentedPaginator(paginate)(config, input, [{ Segment: 0 }, { Segment: 1 }]));
+
+    expect(input).toEqual({ TotalSegments: 2 });
+    expect(state.inputs[0]).not.toBe(state.inputs[1]);
+  });
+
+  it("delivers pages in segment order when ordered", async () => {
+    const { paginate } = createTestPaginator(3, { a: 5, b: 0, c: 1 });
+
+    const pages = await collect(
+      createSegmentedPaginator(paginate)({ ...config, ordered: true }, {}, [
+        { Shard: "a" },
+        { Shard: "b" },
+        { Shard: "c" },
+      ])
+    );
+
+    expect(pages).toEqual(["a:0", "a:1", "a:2", "b:0", "b:1", "b:2", "c:0", "c:1", "c:2"]);
+  });
+
+  it("delivers pages as they arrive when unordered", async () => {
+    const { paginate } = createTestPaginator(2, { a: 20, b: 0 });
+
+    const pages = await collect(createSegmentedPaginator(paginate)(config, {}, [{ Shard: "a" }, { Shard: "b" }]));
+
+    expect(pages).toEqual(["b:0", "b:1", "a:0", "a:1"]);
+  });
+
+  it("finishes when pages of several segments resolve immediately", async () => {
+    const paginate = async function* (config: PaginationConfiguration, input: Input): Paginator<Output> {
+      yield { segment: input.Shard!, page: 0 };
+      return undefined;
+    };
+
+    const pages = await collect(
+      createSegmentedPaginator(paginate)({ ...config, maxBufferedPages: 1 }, {}, [
+        { Shard: "a" },
+        { Shard: "b" },
+        { Shard: "c" },
+      ])
+    );
+
+    expect(pages.sort()).toEqual(["a:0", "b:0", "c:0"]);
+  });
+
+  it("finishes when segments are empty", async () => {
+    const paginate = async function* (): Paginator<Output> {
+      return undefined;
+    };
+
+    for (const ordered of [false, true]) {
+      const pages = await collect(
+        createSegmentedPaginator(paginate)({ ...config, ordered }, {}, [{ Shard: "a" }, { Shard: "b" }])
+      );
+      expect(pages).toEqual([]);
+    }
+  });
+
+  it("limits the number of concurrently running segments", async () => {
+    const { paginate, state } = createTestPaginator(2);
+
+    const pages = await collect(
+      createSegmentedPaginator(paginate)({ ...config, maxConcurrency: 2 }, {}, [
+        { Shard: "a" },
+        { Shard: "b" },
+        { Shard: "c" },
+        { Shard: "d" },
+        { Shard: "e" },
+      ])
+    );
+
+    expect(pages.length).toEqual(10);
+    expect(state.maxActive).toEqual(2);
+  });
+
+  it("stops all segments when the consumer stops iterating", async () => {
+    const { paginate, state } = createTestPaginator(100);
+
+    for await (const page of createSegmentedPaginator(paginate)(config, {}, [{ Shard: "a" }, { Shard: "b" }])) {
+      if (page.page === 3) {
+        break;
+      }
+    }
+    await new Promise((r) => setTimeout(r, 10));
+
+    expect(state.active).toEqual(0);
+  });
+
+  it("rethrows errors from any segment", async () => {
+    const paginate = async function* (config: PaginationConfiguration, input: Input): Paginator<Output> {
+      if (input.Shard === "b") {
+        throw new Error("segment b failed");
+      }
+      yield { segment: input.Shard!, page: 0 };
+      return undefined;
+    };
+
+    await expect(
+      collect(createSegmentedPaginator(paginate)({ ...config, ordered: true }, {}, [{ Shard: "a" }, { Shard: "b" }]))
+    ).rejects.toThrow("segment b failed");
+  });
+
+  it("throws when no segments can be resolved", async () => {
+    const { paginate } = createTestPaginator(1);
+
+    await expect(collect(createSegmentedPaginator(paginate)(config, {}))).rejects.toThrow(
+      "Segmented pagination requires a list of segments or a positive total segment count."
+    );
+  });
+});
@@ -0,0 +1,236 @@
+import type { PaginationConfiguration, Paginator } from "@smithy/types";
+
+/**
+ * Options controlling how a segmented paginator fans out over its segments.
+ *
+ * @public
+ */
+export interface SegmentedPaginationOptions {
+  /**
+   * Maximum number of segment paginators that may be requesting pages at the same time.
+   * Defaults to 4.
+   */
+  maxConcurrency?: number;
+  /**
+   * When true, pages are delivered grouped by segment in segment order, while later segments
+   * are prefetched in the background. When false (default), pages are delivered in the order
+   * in which they are received.
+   */
+  ordered?: boolean;
+  /**
+   * Maximum number of pages buffered per running segment before that segment stops requesting
+   * further pages until the consumer catches up. Defaults to 2.
+   */
+  maxBufferedPages?: number;
+}
+
+/**
+ * @internal
+ */
+export type SegmentedPaginationConfiguration<PaginationConfigType extends PaginationConfiguration> =
+  PaginationConfigType & SegmentedPaginationOptions;
+
+/**
+ * Member names used to derive the segment inputs from a single input
+ * when the operation models a total segment count, e.g. a parallel scan.
+ *
+ * @internal
+ */
+export interface SegmentMembers {
+  segment: string;
+  totalSegments: string;
+}
+
+/**
+ * Creates a paginator that fans out over multiple segments of the same operation,
+ * such as parallel scan segments, shards, or partitions. Each segment is paginated by
+ * the given single-segment paginator, and pages are merged into a single async iterator.
+ *
+ * @param paginate - the generated paginator for the operation.
+ * @param segmentMembers - when present, allows the segment inputs to be derived from the total segment count.
+ *
+ * @internal
+ */
+export function createSegmentedPaginator<
+  PaginationConfigType extends PaginationConfiguration,
+  InputType extends object,
+  OutputType extends object,
+>(
+  paginate: (config: PaginationConfigType, input: InputType, ...additionalArguments: any[]) => Paginator<OutputType>,
+  segmentMembers?: SegmentMembers
+): (
+  config: SegmentedPaginationConfiguration<PaginationConfigType>,
+  input: InputType,
+  segments?: Partial<InputType>[],
+  ...additionalArguments: any[]
+) => Paginator<OutputType> {
+  return async function* paginateSegments(
+    config: SegmentedPaginationConfiguration<PaginationConfigType>,
+    input: InputType,
+    segments?: Partial<InputType>[],
+    ...additionalArguments: any[]
+  ): Paginator<OutputType> {
+    const segmentInputs = resolveSegmentInputs(input, segments, segmentMembers);
+    if (segmentInputs.length === 0) {
+      return undefined;
+    }
+    const { maxConcurrency = 4, ordered = false, maxBufferedPages = 2, ...paginationConfig } = config;
+    if (!(maxConcurrency >= 1) || !(maxBufferedPages >= 1)) {
+      throw new Error("maxConcurrency and maxBufferedPages must be at least 1.");
+    }
+    // a starting token belongs to a single segment and cannot be shared.
+    delete (paginationConfig as PaginationConfiguration).startingToken;
+
+    const buffers = segmentInputs.map(() => new PageBuffer<OutputType>(maxBufferedPages));
+    const merged = ordered ? undefined : new PageBuffer<OutputType>(maxBufferedPages * maxConcurrency);
+    let cancelled = false;
+    let nextSegment = 0;
+    let running = 0;
+    let finished = 0;
+
+    const startSegments = () => {
+      while (running < maxConcurrency && nextSegment < segmentInputs.length) {
+        const index = nextSegment++;
+        running += 1;
+        pump(index).finally(() => {
+          running -= 1;
+          startSegments();
+        });
+      }
+    };
+
+    const pump = async (index: number) => {
+      const target = merged ?? buffers[index];
+      try {
+        const pages = paginate(
+          paginationConfig as PaginationConfigType,
+          segmentInputs[index],
+          ...additionalArguments
+        );
+        for await (const page of pages) {
+          if (cancelled) {
+            return;
+          }
+          await target.push(page);
+        }
+        if (!merged) {
+          buffers[index].close();
+        }
+      } catch (e) {
+        cancelled = true;
+        for (const buffer of merged ? [merged] : buffers) {
+          buffer.fail(e);
+        }
+      } finally {
+        // counted here rather than from running, which is only decremented in a later callback,
+        // so that segments finishing in the same microtask still close the merged buffer.
+        if (++finished === segmentInputs.length) {
+          merged?.close();
+        }
+      }
+    };
+
+    startSegments();
+    try {
+      for (const buffer of merged ? [merged] : buffers) {
+        while (true) {
+          const next = await buffer.take();
+          if (next.done) {
+            break;
+          }
+          yield next.value;
+        }
+      }
+    } finally {
+      cancelled = true;
+      for (const buffer of [...buffers, merged]) {
+        buffer?.close();
+      }
+    }
+    return undefined;
+  };
+}
+
+/**
+ * @internal
+ */
+const resolveSegmentInputs = <InputType extends object>(
+  input: InputType,
+  segments: Partial<InputType>[] | undefined,
+  segmentMembers: SegmentMembers | undefined
+): InputType[] => {
+  if (!segments) {
+    const totalSegments = segmentMembers ? (input as any)[segmentMembers.totalSegments] : undefined;
+    if (typeof totalSegments !== "number" || totalSegments < 1) {
+      throw new Error("Segmented pagination requires a list of segments or a positive total segment count.");
+    }
+    segments = [];
+    for (let i = 0; i < totalSegments; ++i) {
+      segments.push({ [segmentMembers!.segment]: i } as Partial<InputType>);
+    }
+  }
+  // each paginator writes its own continuation token into its input, so inputs must not be shared.
+  return segments.map((segment) => ({ ...input, ...segment }));
+};
+
+/**
+ * A bounded queue of pages with a single consumer and any number of producers.
+ *
+ * @internal
+ */
+class PageBuffer<T> {
+  private readonly pages: T[] = [];
+  private closed = false;
+  private error: unknown = undefined;
+  private waiting: Array<() => void> = [];
+
+  public constructor(private readonly capacity: number) {}
+
+  public async push(page: T): Promise<void> {
+    while (this.pages.length >= this.capacity && !this.closed) {
+      await this.wait();
+    }
+    if (this.closed) {
+      return;
+    }
+    this.pages.push(page);
+    this.wake();
+  }
+
+  public close(): void {
+    this.closed = true;
+    this.wake();
+  }
+
+  public fail(error: unknown): void {
+    this.error ??= error ?? new Error("Segment paginator failed.");
+    this.close();
+  }
+
+  public async take(): Promise<IteratorResult<T, undefined>> {
+    while (this.pages.length === 0 && !this.closed) {
+      await this.wait();
+    }
+    if (this.error !== undefined) {
+      throw this.error;
+    }
+    if (this.pages.length > 0) {
+      const value = this.pages.shift()!;
+      this.wake();
+      return { done: false, value };
+    }
+    return { done: true, value: undefined };
+  }
+
+  private wait(): Promise<void> {
+    return new Promise<void>((resolve) => this.waiting.push(resolve));
+  }
+
+  private wake(): void {
+    const waiting = this.waiting;
+    this.waiting = [];
+    for (const resolve of waiting) {
+      resolve();
+    }
+  }
+}
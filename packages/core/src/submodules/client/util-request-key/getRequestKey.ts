@@ -0,0 +1,39 @@
+import { toBase64 } from "@smithy/core/serde";
+import { HttpRequest } from "@smithy/core/transport";
+
+/**
+ * @returns a key that is equal for serialized requests that are equal, or undefined if the
+ * request has a streaming body and cannot be keyed.
+ *
+ * @internal
+ */
+export const getRequestKey = (request: unknown): string | undefined => {
+  if (!HttpRequest.isInstance(request)) {
+    return undefined;
+  }
+  const { method, protocol, hostname, port, path, query = {}, headers, body } = request;
+  let serializedBody: string;
+  if (body === undefined || body === null) {
+    serializedBody = "";
+  } else if (typeof body === "string") {
+    serializedBody = `s:${body}`;
+  } else if (body instanceof Uint8Array) {
+    serializedBody = `b:${toBase64(body)}`;
+  } else {
+    return undefined;
+  }
+  return JSON.stringify([
+    method,
+    protocol,
+    hostname,
+    port,
+    path,
+    Object.keys(query)
+      .sort()
+      .map((k) => [k, query[k]]),
+    Object.keys(headers)
+      .map((k) => [k.toLowerCase(), headers[k]])
+      .sort(([a], [b]) => (a < b ? -1 : a > b ? 1 : 0)),
+    serializedBody,
+  ]);
+};
@@ -0,0 +1,102 @@
+import { afterEach, beforeEach, describe, expect, test as it, vi } from "vitest";
+
+import { createAdaptiveWaiter, WaiterLatencyStore } from "./adaptive";
+import { sleep } from "./utils/sleep";
+import { WaiterState } from "./waiter";
+
+vi.mock("./utils/sleep");
+
+describe(WaiterLatencyStore.name, () => {
+  it("keeps a moving average of observed latencies", () => {
+    const store = new WaiterLatencyStore(10, 0.5);
+    expect(store.get("a")).toBeUndefined();
+    store.record("a", 1000);
+    expect(store.get("a")).toEqual(1000);
+    store.record("a", 2000);
+    expect(store.get("a")).toEqual(1500);
+  });
+
+  it("evicts the least recently used waiter when over capacity", () => {
+    const store = new WaiterLatencyStore(2);
+    store.record("a", 1);
+    store.record("b", 2);
+    store.get("a");
+    store.record("c", 3);
+    expect(store.get("a")).toEqual(1);
+    expect(store.get("b")).toBeUndefined();
+    expect(store.get("c")).toEqual(3);
+  });
+});
+
+describe(createAdaptiveWaiter.name, () => {
+  const metadata = { id: "smithy.example#Example/ResourceExists" };
+  const retryState = { state: WaiterState.RETRY };
+  const successState = { state: WaiterState.SUCCESS, reason: "done" };
+  let latencyStore: WaiterLatencyStore;
+  let client: object;
+
+  beforeEach(() => {
+    vi.mocked(sleep).mockResolvedValue("");
+    latencyStore = new WaiterLatencyStore();
+    client = {};
+  });
+
+  afterEach(() => {
+    vi.clearAllMocks();
+  });
+
+  const options = () => ({ client, minDelay: 2, maxDelay: 120, maxWaitTime: 600 });
+
+  it("shares one polling loop between concurrent waiters with the same input", async () => {
+    const acceptorChecks = vi.fn().mockResolvedValueOnce(retryState).mockResolvedValue(successState);
+
+    const results = await Promise.all([
+      createAdaptiveWaiter(options(), { Name: "a", Id: 1 }, acceptorChecks, metadata, latencyStore),
+      createAdaptiveWaiter(options(), { Id: 1, Name: "a" }, acceptorChecks, metadata, latencyStore),
+    ]);
+
+    expect(results.map((r) => r.state)).toEqual([WaiterState.SUCCESS, WaiterState.SUCCESS]);
+    expect(acceptorChecks).toHaveBeenCalledTimes(2);
+  });
+
+  it("polls separately for different inputs or when coalescing is disabled", async () => {
+    const acceptorChecks = vi.fn().mockResolvedValue(successState);
+
+    await Promise.all([
+      createAdaptiveWaiter(options(), { Name: "a" }, acceptorChecks, metadata, latencyStore),
+      createAdaptiveWaiter(options(), { Name: "b" }, acceptorChecks, metadata, latencyStore),
+      createAdaptiveWaiter({ ...options(), coalesce: false }, { Name: "a" }, acceptorChecks, metadata, latencyStore),
+    ]);
+
+    expect(acceptorChecks).toHaveBeenCalledTimes(3);
+  });
+
+  it("records the time taken to reach a terminal state", async () => {
+    const acceptorChecks = vi.fn().mockResolvedValue(successState);
+
+    await createAdaptiveWaiter(options(), {}, acceptorChecks, metadata, latencyStore);
+
+    expect(latencyStore.get(metadata.id)).toBeTypeOf("number");
+  });
+
+  it("delays the first retry until around the expected completion time", async () => {
+    latencyStore.record(metadata.id, 30_000);
+    const acceptorChecks = vi.fn().mockResolvedValueOnce(retryState).mockResolvedValue(successState);
+
+    await createAdaptiveWaiter(options(), {}, acceptorChecks, metadata, latencyStore);
+
+    const [seconds] = vi.mocked(sleep).mock.calls[0];
+    expect(seconds).toBeGreaterThanOrEqual(23);
+    expect(seconds).toBeLessThanOrEqual(30);
+  });
+
+  it("uses the default backoff when adaptive polling is disabled", async () => {
+    latencyStore.record(metadata.id, 30_000);
+    const acceptorChecks = vi.fn().mockResolvedValueOnce(retryState).mockResolvedValue(successState);
+
+    await createAdaptiveWaiter({ ...options(), adaptive: false }, {}, acceptorChecks, metadata, latencyStore);
+
+    const [seconds] = vi.mocked(sleep).mock.calls[0];
+    expect(seconds).toEqual(2);
+  });
+});
@@ -0,0 +1,218 @@
+import type { AbortSignal as DeprecatedAbortSignal } from "@smithy/types";
+
+import { createWaiter } from "./createWaiter";
+import { runPolling, type WaiterDelayStrategy } from "./poller";
+import { WaiterState, type WaiterConfiguration, type WaiterOptions, type WaiterResult } from "./waiter";
+
+/**
+ * Waiter configuration accepted by waiters generated with adaptive polling.
+ *
+ * @public
+ */
+export type AdaptiveWaiterConfiguration<Client> = WaiterConfiguration<Client> & {
+  /**
+   * Whether to schedule polls according to the time this waiter has previously taken to reach
+   * a terminal state in this process. Defaults to true.
+   */
+  adaptive?: boolean;
+  /**
+   * Whether concurrent waiters with the same client and input share a single polling loop.
+   * Defaults to true.
+   */
+  coalesce?: boolean;
+};
+
+/**
+ * Static information about a modeled waiter, emitted by code generation.
+ *
+ * @internal
+ */
+export interface WaiterMetadata {
+  /**
+   * Unique identifier of the waiter, used to key observed latencies and shared polling loops.
+   */
+  id: string;
+}
+
+/**
+ * In-process, size-bounded LRU record of how long waiters take to reach a terminal state.
+ *
+ * @internal
+ */
+export class WaiterLatencyStore {
+  private readonly latencies = new Map<string, number>();
+
+  /**
+   * @param capacity - maximum number of waiters for which latencies are retained.
+   * @param smoothing - weight of the newest observation in the moving average.
+   */
+  public constructor(
+    private readonly capacity = 100,
+    private readonly smoothing = 0.3
+  ) {}
+
+  /**
+   * @returns the moving average of time-to-terminal-state in milliseconds, if any was observed.
+   */
+  public get(id: string): number | undefined {
+    const latency = this.latencies.get(id);
+    if (latency !== undefined) {
+      this.latencies.delete(id);
+      this.latencies.set(id, latency);
+    }
+    return latency;
+  }
+
+  public record(id: string, elapsedMs: number): void {
+    const previous = this.latencies.get(id);
+    this.latencies.delete(id);
+    this.latencies.set(
+      id,
+      previous === undefined ? elapsedMs : previous + this.smoothing * (elapsedMs - previous)
+    );
+    if (this.latencies.size > this.capacity) {
+      this.latencies.delete(this.latencies.keys().next().value!);
+    }
+  }
+
+  public clear(): void {
+    this.latencies.clear();
+  }
+}
+
+/**
+ * @internal
+ */
+export const waiterLatencyStore = new WaiterLatencyStore();
+
+/**
+ * Polling loops shared by concurrent waiters, by client.
+ */
+const sharedPolls = new WeakMap<object, Map<string, SharedPoll<any>>>();
+
+interface SharedPoll<Reason> {
+  result: Promise<WaiterResult<Reason>>;
+  signal: DeprecatedAbortSignal;
+  subscribers: number;
+}
+
+/**
+ * Creates a waiter like {@link createWaiter}, with two additions:
+ * - the delay before each retry takes into account the previously observed time for this waiter
+ *   to reach a terminal state, so that polls are concentrated around the expected completion time.
+ * - concurrent waiters with the same client, waiter, and input share one polling loop.
+ *
+ * @internal
+ */
+export const createAdaptiveWaiter = async <Client, Input, Reason = any>(
+  options: WaiterOptions<Client> & AdaptiveWaiterConfiguration<Client>,
+  input: Input,
+  acceptorChecks: (client: Client, input: Input) => Promise<WaiterResult<Reason>>,
+  metadata: WaiterMetadata,
+  latencyStore: WaiterLatencyStore = waiterLatencyStore
+): Promise<WaiterResult<Reason>> => {
+  const { adaptive = true, coalesce = true, ...waiterOptions } = options;
+
+  const poll = (
+    params: WaiterOptions<Client>,
+    input: Input,
+    acceptorChecks: (client: Client, input: Input) => Promise<WaiterResult<Reason>>
+  ): Promise<WaiterResult<Reason>> => {
+    const startTime = Date.now();
+    const delayStrategy = adaptive ? adaptiveDelay(params, latencyStore.get(metadata.id)) : undefined;
+    return runPolling(params, input, acceptorChecks, delayStrategy).then((result) => {
+      if (result.state === WaiterState.SUCCESS || result.state === WaiterState.FAILURE) {
+        latencyStore.record(metadata.id, Date.now() - startTime);
+      }
+      return result;
+    });
+  };
+
+  const client = waiterOptions.client as unknown;
+  if (!coalesce || typeof client !== "object" || client === null) {
+    return createWaiter(waiterOptions, input, acceptorChecks, poll);
+  }
+
+  const key = `${metadata.id}:${stableStringify(input)}`;
+  const polls = sharedPolls.get(client) ?? new Map<string, SharedPoll<Reason>>();
+  sharedPolls.set(client, polls);
+
+  let shared = polls.get(key) as SharedPoll<Reason> | undefined;
+  let subscribed = false;
+  let timeout: ReturnType<typeof setTimeout> | undefined;
+
+  return createWaiter(waiterOptions, input, acceptorChecks, (params, input, acceptorChecks) => {
+    if (!shared) {
+      const signal: DeprecatedAbortSignal = { aborted: false, onabort: null };
+      // the shared loop lives as long as it has subscribers, each of which applies its own maxWaitTime.
+      const result = poll(
+        { ...params, maxWaitTime: Infinity, abortController: undefined, abortSignal: signal },
+        input,
+        (client, input) =>
+          signal.aborted ? Promise.resolve({ state: WaiterState.ABORTED }) : acceptorChecks(client, input)
+      );
+      const created = (shared = { result, signal, subscribers: 0 });
+      const release = () => {
+        if (polls.get(key) === created) {
+          polls.delete(key);
+        }
+      };
+      polls.set(key, created);
+      result.then(release, release);
+    }
+    shared.subscribers += 1;
+    subscribed = true;
+    const timedOut = new Promise<WaiterResult<Reason>>((resolve) => {
+      timeout = setTimeout(() => resolve({ state: WaiterState.TIMEOUT }), params.maxWaitTime * 1000);
+    });
+    return Promise.race([shared.result, timedOut]);
+  }).finally(() => {
+    clearTimeout(timeout);
+    if (subscribed && --shared!.subscribers === 0) {
+      shared!.signal.aborted = true;
+      if (polls.get(key) === shared) {
+        polls.delete(key);
+      }
+    }
+  });
+};
+
+/**
+ * While the waiter is expected to still be in progress, delays the next poll until around the
+ * expected completion time. Afterwards, the default exponential backoff applies.
+ *
+ * @internal
+ */
+const adaptiveDelay =
+  ({ minDelay, maxDelay }: WaiterOptions<any>, expectedMs: number | undefined): WaiterDelayStrategy | undefined =>
+  expectedMs === undefined
+    ? undefined
+    : (attempt: number, defaultDelayMs: number, elapsedMs: number) => {
+        const remainingMs = expectedMs - elapsedMs;
+        if (remainingMs <= minDelay * 1000) {
+          return defaultDelayMs;
+        }
+        // jitter so that waiters started together do not poll in lockstep.
+        const jittered = remainingMs * (0.8 + Math.random() * 0.2);
+        return Math.max(minDelay * 1000, Math.min(maxDelay * 1000, jittered));
+      };
+
+/**
+ * JSON serialization with sorted object keys, so that equal inputs produce equal keys.
+ *
+ * @internal
+ */
+const stableStringify = (value: unknown): string =>
+  JSON.stringify(value, (key, v) => {
+    if (v && typeof v === "object" && !Array.isArray(v) && !ArrayBuffer.isView(v)) {
+      const sorted: Record<string, unknown> = {};
+      for (const k of Object.keys(v).sort()) {
+        sorted[k] = v[k];
+      }
+      return sorted;
+    }
+    if (typeof v === "bigint") {
+      return `${v}n`;
+    }
+    return v;
+  }) ?? "undefined";
@@ -1,9 +1,21 @@
 import type { AbortSignal as DeprecatedAbortSignal } from "@smithy/types";
 
-import { runPolling } from "./poller";
+import { runPolling, type WaiterDelayStrategy } from "./poller";
 import { validateWaiterOptions } from "./utils/validate";
 import { WaiterState, waiterServiceDefaults, type WaiterOptions, type WaiterResult } from "./waiter";
 
+/**
+ * The polling loop run by a waiter.
+ *
+ * @internal
+ */
+export type WaiterPoll<Client, Input, Reason> = (
+  params: WaiterOptions<Client>,
+  input: Input,
+  acceptorChecks: (client: Client, input: Input) => Promise<WaiterResult<Reason>>,
+  delayStrategy?: WaiterDelayStrategy
+) => Promise<WaiterResult<Reason>>;
+
 const abortTimeout = <R>(
   abortSignal: AbortSignal | DeprecatedAbortSignal
 ): {
@@ -40,12 +52,15 @@ const abortTimeout = <R>(
  * 3. `acceptorChecks` succeeds, or fails
  * Otherwise, it invokes `acceptorChecks` with exponential-backoff delay.
  *
+ * @param poll - (optional) replaces the default polling loop, e.g. to adjust delays or share polling.
+ *
  * @internal
  */
 export const createWaiter = async <Client, Input, Reason = any>(
   options: WaiterOptions<Client>,
   input: Input,
-  acceptorChecks: (client: Client, input: Input) => Promise<WaiterResult<Reason>>
+  acceptorChecks: (client: Client, input: Input) => Promise<WaiterResult<Reason>>,
+  poll: WaiterPoll<Client, Input, Reason> = runPolling
 ): Promise<WaiterResult<Reason>> => {
   const params = {
     ...waiterServiceDefaults,
@@ -53,7 +68,7 @@ export const createWaiter = async <Client, Input, Reason = any>(
   };
   validateWaiterOptions(params);
 
-  const exitConditions = [runPolling<Client, Input, Reason>(params, input, acceptorChecks)];
+  const exitConditions = [poll(params, input, acceptorChecks)];
 
   const finalize = [] as Array<() => void>;
 
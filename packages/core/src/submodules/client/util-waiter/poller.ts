@@ -10,17 +10,20 @@ import { WaiterState, type WaiterOptions, type WaiterResult } from "./waiter";
  * @param client - AWS SDK Client
  * @param input - client input
  * @param acceptorChecks - function that checks the acceptor states on each poll.
+ * @param delayStrategy - (optional) adjusts the delay before each retry attempt.
  */
 export const runPolling = async <Client, Input, Reason = any>(
   { minDelay, maxDelay, maxWaitTime, abortController, client, abortSignal }: WaiterOptions<Client>,
   input: Input,
-  acceptorChecks: (client: Client, input: Input) => Promise<WaiterResult<Reason>>
+  acceptorChecks: (client: Client, input: Input) => Promise<WaiterResult<Reason>>,
+  delayStrategy?: WaiterDelayStrategy
 ): Promise<WaiterResult<Reason>> => {
   const observedResponses: Record<string, number> = {};
   const [minDelayMs, maxDelayMs] = [minDelay * 1000, maxDelay * 1000];
 
   let currentAttempt = 0;
-  const waitUntil = Date.now() + maxWaitTime * 1000;
+  const startTime = Date.now();
+  const waitUntil = startTime + maxWaitTime * 1000;
 
   // warn about 403s if the waiter is still running at this time.
   const warn403Time = Date.now() + 60_000;
@@ -28,7 +31,14 @@ export const runPolling = async <Client, Input, Reason = any>(
 
   while (true) {
     if (currentAttempt > 0) {
-      const delayMs = exponentialBackoffWithJitter(minDelayMs, maxDelayMs, currentAttempt, waitUntil);
+      let delayMs = exponentialBackoffWithJitter(minDelayMs, maxDelayMs, currentAttempt, waitUntil);
+      if (delayStrategy) {
+        delayMs = delayStrategy(currentAttempt, delayMs, Date.now() - startTime);
+        if (Date.now() + delayMs > waitUntil) {
+          // fire the last request 500ms before the waiter would time out.
+          delayMs = Math.max(0, waitUntil - Date.now() - 500);
+        }
+      }
 
       if (abortController?.signal?.aborted || abortSignal?.aborted) {
         const message = "AbortController signal aborted.";
@@ -64,6 +74,17 @@ export const runPolling = async <Client, Input, Reason = any>(
   }
 };
 
+/**
+ * Adjusts the delay in milliseconds before a retry attempt.
+ *
+ * @param attempt - the retry attempt number, starting at 1.
+ * @param defaultDelayMs - the delay computed by the default exponential backoff.
+ * @param elapsedMs - time elapsed since the waiter started polling.
+ *
+ * @internal
+ */
+export type WaiterDelayStrategy = (attempt: number, defaultDelayMs: number, elapsedMs: number) => number;
+
 /**
  * Called after the waiter reaches at least 1 minute of wait time,
  * checking if the observed responses are predominantly 403s.
@@ -20,19 +20,61 @@ type BddResult =
  * @internal
  */
 export class BinaryDecisionDiagram {
-  public nodes: Int32Array;
   public root: number;
   public conditions: BddCondition[];
   public results: BddResult[];
+  private packedNodes: string | undefined;
+  private unpackedNodes: Int32Array | undefined;
 
-  private constructor(bdd: Int32Array, root: number, conditions: BddCondition[] | any[], results: BddResult[] | any[]) {
-    this.nodes = bdd;
+  private constructor(
+    bdd: Int32Array | string,
+    root: number,
+    conditions: BddCondition[] | any[],
+    results: BddResult[] | any[]
+  ) {
+    if (typeof bdd === "string") {
+      this.packedNodes = bdd;
+    } else {
+      this.unpackedNodes = bdd;
+    }
     this.root = root;
     this.conditions = conditions;
     this.results = results;
   }
 
+  /**
+   * Node table of (condition index, high ref, low ref) triples.
+   * A packed table is parsed on first access.
+   */
+  public get nodes(): Int32Array {
+    if (this.unpackedNodes === undefined) {
+      this.unpackedNodes = new Int32Array(JSON.parse(this.packedNodes!));
+      this.packedNodes = undefined;
+    }
+    return this.unpackedNodes;
+  }
+
+  public set nodes(nodes: Int32Array) {
+    this.unpackedNodes = nodes;
+    this.packedNodes = undefined;
+  }
+
   public static from(bdd: Int32Array, root: number, conditions: BddCondition[] | any[], results: BddResult[] | any[]) {
     return new BinaryDecisionDiagram(bdd, root, conditions, results);
   }
+
+  /**
+   * JSON.parse of a string literal is much faster than parsing an array literal of the same values,
+   * so large generated node tables are packed as JSON, and parsed on first use.
+   *
+   * @param packedNodes - node table as a JSON array of numbers.
+   */
+  public static fromPacked(
+    packedNodes: string,
+    root: number,
+    conditions: BddCondition[] | any[],
+    results: BddResult[] | any[]
+  ) {
+    return new BinaryDecisionDiagram(packedNodes, root, conditions, results);
+  }
 }
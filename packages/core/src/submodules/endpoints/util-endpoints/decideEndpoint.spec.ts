@@ -37,6 +37,33 @@ describe(decideEndpoint.name, () => {
     });
   });
 
+  it("resolves an endpoint from a packed node table", () => {
+    const data = BinaryDecisionDiagram.fromPacked(
+      "[-1,1,-1,0,3,100000003,1,100000001,100000002]",
+      2,
+      [
+        ["isSet", [{ ref: "ApiKey" }]],
+        ["isSet", [{ ref: "CustomHeaderValue" }]],
+      ],
+      [
+        [-1],
+        ["{endpoint}", {}, { "x-api-key": ["{ApiKey}"], "x-custom-header": ["{CustomHeaderValue}"] }],
+        ["{endpoint}", {}, { "x-api-key": ["{ApiKey}"] }],
+        ["{endpoint}", {}, {}],
+      ]
+    );
+    expect(
+      decideEndpoint(data, {
+        endpointParams: { endpoint: "https://localhost/", ApiKey: "key" },
+      })
+    ).toEqual({
+      url: new URL("https://localhost"),
+      properties: {},
+      headers: { "x-api-key": ["key"] },
+    });
+    expect(data.nodes).toBe(data.nodes);
+  });
+
   it("evaluates templates in error messages", () => {
     const r = 100_000_000;
     const bdd = new Int32Array([0, 0, 0, 0, r + 0, -1]);
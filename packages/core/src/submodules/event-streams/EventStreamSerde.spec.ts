@@ -13,7 +13,7 @@ import type {
   StringSchema,
   TimestampEpochSecondsSchema,
 } from "@smithy/types";
-import { describe, expect, test as it } from "vitest";
+import { describe, expect, test as it, vi } from "vitest";
 
 import { EventStreamSerde } from "./EventStreamSerde";
 import { EventStreamCodec } from "./eventstream-codec/EventStreamCodec";
@@ -826,4 +826,86 @@ describe(EventStreamSerde.name, () => {
       expect(decoded.sessionId).toBe("my-session-value");
     });
   });
+
+  describe("deferred event payload parsing", () => {
+    const docEvents: StaticStructureSchema = [
+      3,
+      "ns",
+      "Container",
+      0,
+      ["events"],
+      [
+        [
+          4,
+          "ns",
+          "Events",
+          { streaming: 1 },
+          ["Doc"],
+          [
+            [
+              3,
+              "ns",
+              "Doc",
+              0,
+              ["doc"],
+              [[3, "ns", "DocPayload", { eventPayload: 1 }, ["message"], [0 satisfies StringSchema]]],
+            ] satisfies StaticStructureSchema,
+          ],
+        ],
+      ],
+    ] as any;
+
+    async function readDocEvents(serdeContext: any, readsPayloadsSynchronously: boolean) {
+      const cborCodec = new CborCodec();
+      const marshaller = new EventStreamMarshaller({ utf8Encoder: toUtf8, utf8Decoder: fromUtf8 });
+      const deserializer = cborCodec.createDeserializer();
+      const read = vi.spyOn(deserializer, "read");
+      const serde = new EventStreamSerde({
+        marshaller,
+        serializer: cborCodec.createSerializer(),
+        deserializer,
+        serdeContext,
+        defaultContentType: "application/cbor",
+        readsPayloadsSynchronously,
+      });
+      const response = new HttpResponse({
+        statusCode: 200,
+        body: marshaller.serialize(
+          (async function* () {
+            yield { Doc: { message: "hello" } };
+          })(),
+          (event: any): EventMessage => ({
+            headers: {
+              ":message-type": { type: "string", value: "event" },
+              ":event-type": { type: "string", value: "Doc" },
+              ":content-type": { type: "string", value: "application/cbor" },
+            },
+            body: cbor.serialize(event.Doc),
+          })
+        ),
+      });
+      const events = [];
+      for await (const event of await serde.deserializeEventStream({
+        response,
+        responseSchema: NormalizedSchema.of(docEvents),
+      })) {
+        events.push(event);
+      }
+      return { events, read };
+    }
+
+    it("parses structure payloads when they are first read", async () => {
+      const { events, read } = await readDocEvents({ deferEventPayloadParsing: true }, true);
+
+      expect(read).not.toHaveBeenCalled();
+      expect(events[0].Doc.doc).toEqual({ message: "hello" });
+      expect(events[0].Doc.doc).toBe(events[0].Doc.doc);
+      expect(read).toHaveBeenCalledTimes(1);
+    });
+
+    it("parses structure payloads immediately unless deferred", async () => {
+      expect((await readDocEvents({}, true)).read).toHaveBeenCalledTimes(1);
+      expect((await readDocEvents({ deferEventPayloadParsing: true }, false)).read).toHaveBeenCalledTimes(1);
+    });
+  });
 });
@@ -1,6 +1,6 @@
 import { hasOwn } from "@smithy/core/transport";
 import { type NormalizedSchema, TypeRegistry } from "@smithy/core/schema";
-import { fromUtf8, toUtf8 } from "@smithy/core/serde";
+import { fromUtf8, setEventPayload, toUtf8 } from "@smithy/core/serde";
 import type {
   DocumentSchema,
   EventStreamMarshaller,
@@ -17,6 +17,8 @@ import type {
   StaticStructureSchema,
 } from "@smithy/types";
 
+import type { EventStreamSerdeInputConfig } from "./eventstream-serde-config-resolver/EventStreamSerdeConfig";
+
 /**
  * Separated module for async mixin of EventStream serde capability.
  * This is used by the HttpProtocol base class from \@smithy/core/protocols.
@@ -30,6 +32,7 @@ export class EventStreamSerde {
   private readonly serdeContext?: SerdeFunctions;
   private readonly defaultContentType: string;
   private readonly compositeErrorRegistry?: TypeRegistry;
+  private readonly readsPayloadsSynchronously: boolean;
 
   /**
    * Properties are injected by the HttpProtocol.
@@ -41,6 +44,7 @@ export class EventStreamSerde {
     serdeContext,
     defaultContentType,
     compositeErrorRegistry,
+    readsPayloadsSynchronously = false,
   }: {
     marshaller: EventStreamMarshaller;
     serializer: ShapeSerializer<string | Uint8Array>;
@@ -48,6 +52,11 @@ export class EventStreamSerde {
     serdeContext?: SerdeFunctions;
     defaultContentType: string;
     compositeErrorRegistry?: TypeRegistry;
+    /**
+     * Whether the deserializer reads event payloads synchronously, which allows their parsing
+     * to be deferred with the deferEventPayloadParsing client config.
+     */
+    readsPayloadsSynchronously?: boolean;
   }) {
     this.marshaller = marshaller;
     this.serializer = serializer;
@@ -55,6 +64,7 @@ export class EventStreamSerde {
     this.serdeContext = serdeContext;
     this.defaultContentType = defaultContentType;
     this.compositeErrorRegistry = compositeErrorRegistry;
+    this.readsPayloadsSynchronously = readsPayloadsSynchronously;
   }
 
   /**
@@ -216,7 +226,13 @@ export class EventStreamSerde {
               } else if (member.isStringSchema()) {
                 out[name] = (this.serdeContext?.utf8Encoder ?? toUtf8)(body);
               } else if (member.isStructSchema()) {
-                out[name] = await this.deserializer.read(member, body);
+                if (this.readsPayloadsSynchronously) {
+                  setEventPayload(out, name, this.serdeContext as EventStreamSerdeInputConfig, () =>
+                    this.deserializer.read(member, body)
+                  );
+                } else {
+                  out[name] = await this.deserializer.read(member, body);
+                }
               }
             } else if (eventHeader) {
               const value = event[unionMember].headers[name]?.value;
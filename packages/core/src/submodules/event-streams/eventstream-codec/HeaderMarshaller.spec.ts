@@ -225,6 +225,21 @@ describe("HeaderMarshaller", () => {
         })
       ).toThrowError("Invalid UUID received");
     });
+
+    it("should format frozen headers identically when they are reused", () => {
+      const eventType = Object.freeze({ type: "string", value: "Foo" } as const);
+      const headers: MessageHeaders = { ":event-type": eventType, ":message-type": { type: "string", value: "event" } };
+      const expected = new HeaderMarshaller(toUtf8, fromUtf8).format({
+        ":event-type": { type: "string", value: "Foo" },
+        ":message-type": { type: "string", value: "event" },
+      });
+
+      expect(marshaller.format(headers)).toEqual(expected);
+      expect(marshaller.format(headers)).toEqual(expected);
+      expect(marshaller.format({ "other-name": eventType })).toEqual(
+        marshaller.format({ "other-name": { type: "string", value: "Foo" } })
+      );
+    });
   });
 
   describe("#parse", () => {
@@ -8,6 +8,12 @@ import { Int64 } from "./Int64";
  * @internal
  */
 export class HeaderMarshaller {
+  /**
+   * Encoded name and value of frozen headers, such as the constant headers of generated
+   * event marshallers, so that they are encoded once rather than for every message.
+   */
+  private readonly encodedHeaders = new WeakMap<MessageHeaderValue, { name: string; bytes: Uint8Array }>();
+
   constructor(
     private readonly toUtf8: Encoder,
     private readonly fromUtf8: Decoder
@@ -18,8 +24,13 @@ export class HeaderMarshaller {
 
     for (const headerName in headers) {
       if (!hasOwn(headers, headerName)) continue;
+      const header = headers[headerName];
+      if (Object.isFrozen(header) && typeof header.value !== "object") {
+        chunks.push(this.formatFrozenHeader(headerName, header));
+        continue;
+      }
       const bytes = this.fromUtf8(headerName);
-      chunks.push(Uint8Array.from([bytes.byteLength]), bytes, this.formatHeaderValue(headers[headerName]));
+      chunks.push(Uint8Array.from([bytes.byteLength]), bytes, this.formatHeaderValue(header));
     }
 
     const out = new Uint8Array(chunks.reduce((carry, bytes) => carry + bytes.byteLength, 0));
@@ -32,6 +43,24 @@ export class HeaderMarshaller {
     return out;
   }
 
+  /**
+   * A frozen header with a primitive value cannot change, so its encoding is cached by identity.
+   */
+  private formatFrozenHeader(headerName: string, header: MessageHeaderValue): Uint8Array {
+    const cached = this.encodedHeaders.get(header);
+    if (cached !== undefined && cached.name === headerName) {
+      return cached.bytes;
+    }
+    const nameBytes = this.fromUtf8(headerName);
+    const valueBytes = this.formatHeaderValue(header);
+    const bytes = new Uint8Array(1 + nameBytes.byteLength + valueBytes.byteLength);
+    bytes[0] = nameBytes.byteLength;
+    bytes.set(nameBytes, 1);
+    bytes.set(valueBytes, 1 + nameBytes.byteLength);
+    this.encodedHeaders.set(header, { name: headerName, bytes });
+    return bytes;
+  }
+
   private formatHeaderValue(header: MessageHeaderValue): Uint8Array {
     switch (header.type) {
       case "boolean":
@@ -1,4 +1,4 @@
-import { describe, expect, test as it, vi } from "vitest";
+import { beforeEach, describe, expect, test as it, vi } from "vitest";
 
 import { MessageEncoderStream } from "./MessageEncoderStream";
 
@@ -72,4 +72,112 @@ describe("MessageEncoderStream", () => {
     expect(messages[0]).toEqual(new Uint8Array(1));
     expect(messages[1]).toEqual(new Uint8Array(2));
   });
+
+  describe("with frame coalescing", () => {
+    const message = { headers: {}, body: new Uint8Array(0) };
+    let count = 0;
+    // The nth frame is n bytes of value n.
+    const encoder = {
+      encode: () => new Uint8Array(++count).fill(count),
+    };
+    const collect = async (stream: AsyncIterable<Uint8Array>) => {
+      const chunks: Array<Uint8Array> = [];
+      for await (const chunk of stream) {
+        chunks.push(chunk);
+      }
+      return chunks;
+    };
+
+    beforeEach(() => {
+      count = 0;
+    });
+
+    it("writes the frames that are available as one chunk", async () => {
+      const inputStream = async function* () {
+        yield message;
+        yield message;
+        yield message;
+      };
+
+      const chunks = await collect(
+        new MessageEncoderStream({
+          encoder,
+          messageStream: inputStream(),
+          includeEndFrame: true,
+          frameCoalescing: {},
+        })
+      );
+      expect(chunks).toEqual([Uint8Array.from([1, 2, 2, 3, 3, 3]), new Uint8Array(0)]);
+    });
+
+    it("writes a batch once it reaches maxBatchBytes", async () => {
+      const inputStream = async function* () {
+        yield message;
+        yield message;
+        yield message;
+      };
+
+      const chunks = await collect(
+        new MessageEncoderStream({
+          encoder,
+          messageStream: inputStream(),
+          frameCoalescing: { maxBatchBytes: 3 },
+        })
+      );
+      expect(chunks).toEqual([Uint8Array.from([1, 2, 2]), Uint8Array.from([3, 3, 3])]);
+    });
+
+    it("waits up to lingerMs for further events", async () => {
+      const inputStream = async function* () {
+        yield message;
+        await new Promise((resolve) => setTimeout(resolve, 10));
+        yield message;
+      };
+
+      expect(
+        await collect(new MessageEncoderStream({ encoder, messageStream: inputStream(), frameCoalescing: {} }))
+      ).toEqual([Uint8Array.from([1]), Uint8Array.from([2, 2])]);
+      count = 0;
+      expect(
+        await collect(
+          new MessageEncoderStream({ encoder, messageStream: inputStream(), frameCoalescing: { lingerMs: 1000 } })
+        )
+      ).toEqual([Uint8Array.from([1, 2, 2])]);
+    });
+
+    it("returns without waiting for the next event when the consumer stops after a linger flush", async () => {
+      let cleanedUp = false;
+      let fail: (err: Error) => void = () => {};
+      const inputStream = async function* () {
+        try {
+          yield message;
+          // the second event only fails after the consumer has stopped.
+          await new Promise((_, reject) => (fail = reject));
+          yield message;
+        } finally {
+          cleanedUp = true;
+        }
+      };
+      const unhandled = vi.fn();
+      process.on("unhandledRejection", unhandled);
+
+      try {
+        for await (const chunk of new MessageEncoderStream({
+          encoder,
+          messageStream: inputStream(),
+          frameCoalescing: { lingerMs: 1 },
+        })) {
+          expect(chunk).toEqual(Uint8Array.from([1]));
+          break;
+        }
+        fail(new Error("event failed after return"));
+        await new Promise((resolve) => setTimeout(resolve, 10));
+      } finally {
+        process.off("unhandledRejection", unhandled);
+      }
+
+      expect(cleanedUp).toBe(true);
+      expect(unhandled).not.toHaveBeenCalled();
+    });
+  });
 });
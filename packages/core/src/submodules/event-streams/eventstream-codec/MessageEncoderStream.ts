@@ -1,5 +1,27 @@
 import type { Message, MessageEncoder } from "@smithy/types";
 
+/**
+ * Coalescing of encoded event stream frames into fewer, larger writes.
+ *
+ * Each batch is yielded as one chunk of the request body. Event stream signing signs each chunk
+ * of the body as one message, so coalescing must not be combined with per-message signing:
+ * a signed envelope would carry several inner frames.
+ *
+ * @public
+ */
+export interface FrameCoalescingOptions {
+  /**
+   * Once the pending frames reach this many bytes, they are written without waiting for more.
+   * Default: 65536.
+   */
+  maxBatchBytes?: number;
+  /**
+   * How long to wait for further events after the first pending frame before writing the batch.
+   * With 0, only the events that are already available are coalesced. Default: 0.
+   */
+  lingerMs?: number;
+}
+
 /**
  * @internal
  */
@@ -7,6 +29,10 @@ export interface MessageEncoderStreamOptions {
   messageStream: AsyncIterable<Message>;
   encoder: MessageEncoder;
   includeEndFrame?: boolean;
+  /**
+   * When set, consecutive frames are concatenated and yielded as one chunk.
+   */
+  frameCoalescing?: FrameCoalescingOptions;
 }
 
 /**
@@ -16,7 +42,8 @@ export class MessageEncoderStream implements AsyncIterable<Uint8Array> {
   constructor(private readonly options: MessageEncoderStreamOptions) {}
 
   [Symbol.asyncIterator](): AsyncIterator<Uint8Array> {
-    return this.asyncIterator();
+    const { frameCoalescing } = this.options;
+    return frameCoalescing ? this.coalescingAsyncIterator(frameCoalescing) : this.asyncIterator();
   }
 
   private async *asyncIterator() {
@@ -28,4 +55,84 @@ export class MessageEncoderStream implements AsyncIterable<Uint8Array> {
       yield new Uint8Array(0);
     }
   }
+
+  /**
+   * Races the next message against the linger deadline of the pending frames, so that a batch is
+   * written when it is full, when the deadline passes, or when the input stream ends.
+   */
+  private async *coalescingAsyncIterator({ maxBatchBytes = 65536, lingerMs = 0 }: FrameCoalescingOptions) {
+    const iterator = this.options.messageStream[Symbol.asyncIterator]();
+    const pending: Uint8Array[] = [];
+    let pendingBytes = 0;
+    let linger: Promise<typeof LINGER_ELAPSED> | undefined;
+    let timer: ReturnType<typeof setTimeout> | undefined;
+    let next: Promise<IteratorResult<Message>> | undefined;
+    let done = false;
+
+    const flush = () => {
+      clearTimeout(timer);
+      linger = undefined;
+      const batch = pending.length === 1 ? pending[0] : concat(pending, pendingBytes);
+      pending.length = 0;
+      pendingBytes = 0;
+      return batch;
+    };
+
+    try {
+      while (true) {
+        next ??= iterator.next();
+        const result = linger === undefined ? await next : await Promise.race([next, linger]);
+        if (result === LINGER_ELAPSED) {
+          yield flush();
+          continue;
+        }
+        next = undefined;
+        if (result.done) {
+          done = true;
+          break;
+        }
+        const encoded = this.options.encoder.encode(result.value);
+        pending.push(encoded);
+        pendingBytes += encoded.byteLength;
+        if (pendingBytes >= maxBatchBytes) {
+          yield flush();
+        } else if (linger === undefined) {
+          linger = new Promise((resolve) => {
+            timer = setTimeout(() => resolve(LINGER_ELAPSED), lingerMs);
+          });
+        }
+      }
+      if (pending.length > 0) {
+        yield flush();
+      }
+    } finally {
+      clearTimeout(timer);
+      if (!done && next) {
+        // The consumer returned while a message was being awaited after a linger flush. An async
+        // generator source queues return() behind that message, so it is not awaited here, and
+        // neither the discarded message nor cleanup may cause an unhandled rejection.
+        next.catch(ignore);
+        Promise.resolve(iterator.return?.()).catch(ignore);
+      } else if (!done) {
+        await iterator.return?.();
+      }
+    }
+    if (this.options.includeEndFrame) {
+      yield new Uint8Array(0);
+    }
+  }
 }
+
+const LINGER_ELAPSED = Symbol("linger elapsed");
+
+const ignore = () => {};
+
+const concat = (chunks: Uint8Array[], byteLength: number): Uint8Array => {
+  const out = new Uint8Array(byteLength);
+  let position = 0;
+  for (const chunk of chunks) {
+    out.set(chunk, position);
+    position += chunk.byteLength;
+  }
+  return out;
+};
@@ -1,9 +1,28 @@
 import type { EventStreamMarshaller, EventStreamSerdeProvider } from "@smithy/types";
 
+import type { FrameCoalescingOptions } from "../eventstream-codec/MessageEncoderStream";
+
 /**
  * @public
  */
-export interface EventStreamSerdeInputConfig {}
+export interface EventStreamSerdeInputConfig {
+  /**
+   * Opt-in coalescing of the frames of input event streams into fewer, larger writes.
+   * By default, each event is written as soon as it is serialized.
+   *
+   * Do not enable this for services that sign each event stream message, because the signer
+   * would sign each batch of frames as a single message.
+   */
+  eventStreamFrameCoalescing?: FrameCoalescingOptions;
+  /**
+   * Opt-in parsing of structure and union `@eventPayload` members of output events when they are
+   * first read, instead of when the event is received. Parse errors are then thrown when the member
+   * is read, and the event keeps its payload bytes until then.
+   *
+   * Only applies to protocols that parse event payloads synchronously, such as Smithy RPC v2 CBOR.
+   */
+  deferEventPayloadParsing?: boolean;
+}
 
 /**
  * @internal
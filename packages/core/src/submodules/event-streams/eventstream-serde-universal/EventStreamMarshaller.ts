@@ -10,6 +10,7 @@ import type {
 
 import { EventStreamCodec } from "../eventstream-codec/EventStreamCodec";
 import { MessageDecoderStream } from "../eventstream-codec/MessageDecoderStream";
+import type { FrameCoalescingOptions } from "../eventstream-codec/MessageEncoderStream";
 import { MessageEncoderStream } from "../eventstream-codec/MessageEncoderStream";
 import { SmithyMessageDecoderStream } from "../eventstream-codec/SmithyMessageDecoderStream";
 import { SmithyMessageEncoderStream } from "../eventstream-codec/SmithyMessageEncoderStream";
@@ -22,6 +23,7 @@ import { getMessageUnmarshaller } from "./getUnmarshalledStream";
 export interface EventStreamMarshallerOptions {
   utf8Encoder: Encoder;
   utf8Decoder: Decoder;
+  eventStreamFrameCoalescing?: FrameCoalescingOptions;
 }
 
 /**
@@ -30,10 +32,12 @@ export interface EventStreamMarshallerOptions {
 export class EventStreamMarshaller implements IEventStreamMarshaller {
   private readonly eventStreamCodec: EventStreamCodec;
   private readonly utfEncoder: Encoder;
+  private readonly frameCoalescing?: FrameCoalescingOptions;
 
-  constructor({ utf8Encoder, utf8Decoder }: EventStreamMarshallerOptions) {
+  constructor({ utf8Encoder, utf8Decoder, eventStreamFrameCoalescing }: EventStreamMarshallerOptions) {
     this.eventStreamCodec = new EventStreamCodec(utf8Encoder, utf8Decoder);
     this.utfEncoder = utf8Encoder;
+    this.frameCoalescing = eventStreamFrameCoalescing;
   }
 
   deserialize<T>(
@@ -52,6 +56,7 @@ export class EventStreamMarshaller implements IEventStreamMarshaller {
       messageStream: new SmithyMessageEncoderStream<T>({ inputStream, serializer }),
       encoder: this.eventStreamCodec,
       includeEndFrame: true,
+      frameCoalescing: this.frameCoalescing,
     });
   }
 }
@@ -113,6 +113,45 @@ describe("getChunkedStream", () => {
     expect(messages.length).toBe(3);
   });
 
+  it("yields messages that are entirely within a chunk as views onto the chunk", async () => {
+    // not allocated from the Buffer pool, so that the chunks are views onto a buffer of the same size.
+    const chunk = new Uint8Array(Buffer.concat([recordEventMessage, endEventMessage]));
+    const chunkerStream = getChunkedStream(
+      (async function* () {
+        yield chunk.subarray(0, recordEventMessage.length + 10);
+        yield chunk.subarray(recordEventMessage.length + 10);
+      })()
+    );
+    const messages: Array<Uint8Array> = [];
+    for await (const msg of chunkerStream) {
+      messages.push(msg);
+    }
+    expect(messages.map((msg) => Buffer.from(msg).toString("base64"))).toEqual(
+      [recordEventMessage, endEventMessage].map((msg) => msg.toString("base64"))
+    );
+    expect(messages[0].buffer).toBe(chunk.buffer);
+    expect(messages[1].buffer).not.toBe(chunk.buffer);
+  });
+
+  it("copies messages smaller than half of the buffer of their chunk, so that they do not retain it", async () => {
+    const chunk = new Uint8Array(Buffer.concat([endEventMessage, recordEventMessage]));
+    const chunkerStream = getChunkedStream(
+      (async function* () {
+        yield chunk;
+      })()
+    );
+    const messages: Array<Uint8Array> = [];
+    for await (const msg of chunkerStream) {
+      messages.push(msg);
+    }
+    expect(messages.map((msg) => Buffer.from(msg).toString("base64"))).toEqual(
+      [endEventMessage, recordEventMessage].map((msg) => msg.toString("base64"))
+    );
+    expect(messages[0].buffer).not.toBe(chunk.buffer);
+    expect(messages[0].buffer.byteLength).toBe(endEventMessage.length);
+    expect(messages[1].buffer).toBe(chunk.buffer);
+  });
+
   it("splits payloads when total event message length spans multiple chunks", async () => {
     const messages = [];
     const mockMessages = [recordEventMessage, statsEventMessage, endEventMessage];
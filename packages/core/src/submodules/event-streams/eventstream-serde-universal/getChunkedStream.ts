@@ -36,6 +36,21 @@ export function getChunkedStream(source: AsyncIterable<Uint8Array>): AsyncIterab
       let currentOffset = 0;
 
       while (currentOffset < chunkLength) {
+        // a message that is entirely within the chunk is yielded without assembling it in a new buffer.
+        if (!currentMessage && currentMessagePendingLength === 0 && chunkLength - currentOffset >= 4) {
+          const size = new DataView(value.buffer, value.byteOffset + currentOffset, 4).getUint32(0, false);
+          if (size >= 4 && size <= chunkLength - currentOffset) {
+            // Blob payloads are views onto the message, and a view retains the whole buffer of the chunk.
+            // Messages smaller than half of that buffer are copied, so that they do not retain much more
+            // than their own size.
+            yield size * 2 >= value.buffer.byteLength
+              ? value.subarray(currentOffset, currentOffset + size)
+              : Uint8Array.prototype.slice.call(value, currentOffset, currentOffset + size);
+            currentOffset += size;
+            continue;
+          }
+        }
+
         // create new message if necessary
         if (!currentMessage) {
           // working on a new message, determine total length
@@ -51,7 +66,7 @@ export function getChunkedStream(source: AsyncIterable<Uint8Array>): AsyncIterab
 
           messageLengthBuffer.set(
             // @ts-ignore error TS2532: Object is possibly 'undefined' for value
-            value.slice(currentOffset, currentOffset + numBytesForTotal),
+            value.subarray(currentOffset, currentOffset + numBytesForTotal),
             currentMessagePendingLength
           );
 
@@ -73,7 +88,7 @@ export function getChunkedStream(source: AsyncIterable<Uint8Array>): AsyncIterab
         );
         currentMessage!.set(
           // @ts-ignore error TS2532: Object is possibly 'undefined' for value
-          value.slice(currentOffset, currentOffset + numBytesToWrite),
+          value.subarray(currentOffset, currentOffset + numBytesToWrite),
           currentMessagePendingLength
         );
         currentMessagePendingLength += numBytesToWrite;
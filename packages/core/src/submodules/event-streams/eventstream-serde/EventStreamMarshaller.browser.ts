@@ -8,6 +8,7 @@ import type {
   Provider,
 } from "@smithy/types";
 
+import type { FrameCoalescingOptions } from "../eventstream-codec/MessageEncoderStream";
 import { EventStreamMarshaller as UniversalEventStreamMarshaller } from "../eventstream-serde-universal/EventStreamMarshaller";
 import { iterableToReadableStream, readableStreamToIterable } from "./utils";
 
@@ -17,6 +18,7 @@ import { iterableToReadableStream, readableStreamToIterable } from "./utils";
 export interface EventStreamMarshallerOptions {
   utf8Encoder: Encoder;
   utf8Decoder: Decoder;
+  eventStreamFrameCoalescing?: FrameCoalescingOptions;
 }
 
 /**
@@ -39,10 +41,11 @@ export interface EventStreamMarshallerOptions {
  */
 export class EventStreamMarshaller implements IEventStreamMarshaller {
   private readonly universalMarshaller: UniversalEventStreamMarshaller;
-  constructor({ utf8Encoder, utf8Decoder }: EventStreamMarshallerOptions) {
+  constructor({ utf8Encoder, utf8Decoder, eventStreamFrameCoalescing }: EventStreamMarshallerOptions) {
     this.universalMarshaller = new UniversalEventStreamMarshaller({
       utf8Decoder,
       utf8Encoder,
+      eventStreamFrameCoalescing,
     });
   }
 
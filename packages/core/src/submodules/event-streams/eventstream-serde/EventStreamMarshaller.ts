@@ -9,6 +9,7 @@ import type {
   Provider,
 } from "@smithy/types";
 
+import type { FrameCoalescingOptions } from "../eventstream-codec/MessageEncoderStream";
 import { EventStreamMarshaller as UniversalEventStreamMarshaller } from "../eventstream-serde-universal/EventStreamMarshaller";
 
 /**
@@ -17,6 +18,7 @@ import { EventStreamMarshaller as UniversalEventStreamMarshaller } from "../even
 export interface EventStreamMarshallerOptions {
   utf8Encoder: Encoder;
   utf8Decoder: Decoder;
+  eventStreamFrameCoalescing?: FrameCoalescingOptions;
 }
 
 /**
@@ -24,10 +26,11 @@ export interface EventStreamMarshallerOptions {
  */
 export class EventStreamMarshaller implements IEventStreamMarshaller {
   private readonly universalMarshaller: UniversalEventStreamMarshaller;
-  constructor({ utf8Encoder, utf8Decoder }: EventStreamMarshallerOptions) {
+  constructor({ utf8Encoder, utf8Decoder, eventStreamFrameCoalescing }: EventStreamMarshallerOptions) {
     this.universalMarshaller = new UniversalEventStreamMarshaller({
       utf8Decoder,
       utf8Encoder,
+      eventStreamFrameCoalescing,
     });
   }
 
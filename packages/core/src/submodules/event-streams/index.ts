@@ -19,7 +19,7 @@ export type {
 export { MessageDecoderStream } from "./eventstream-codec/MessageDecoderStream";
 export type { MessageDecoderStreamOptions } from "./eventstream-codec/MessageDecoderStream";
 export { MessageEncoderStream } from "./eventstream-codec/MessageEncoderStream";
-export type { MessageEncoderStreamOptions } from "./eventstream-codec/MessageEncoderStream";
+export type { FrameCoalescingOptions, MessageEncoderStreamOptions } from "./eventstream-codec/MessageEncoderStream";
 export { SmithyMessageDecoderStream } from "./eventstream-codec/SmithyMessageDecoderStream";
 export type { SmithyMessageDecoderStreamOptions } from "./eventstream-codec/SmithyMessageDecoderStream";
 export { SmithyMessageEncoderStream } from "./eventstream-codec/SmithyMessageEncoderStream";
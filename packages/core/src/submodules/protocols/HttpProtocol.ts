@@ -247,6 +247,7 @@ export abstract class HttpProtocol extends SerdeContext implements ClientProtoco
       serdeContext: this.serdeContext,
       defaultContentType: this.getDefaultContentType(),
       compositeErrorRegistry: this.compositeErrorRegistry,
+      readsPayloadsSynchronously: this.readsEventPayloadsSynchronously(),
     });
   }
 
@@ -263,6 +264,14 @@ export abstract class HttpProtocol extends SerdeContext implements ClientProtoco
     return importedProvider(this.serdeContext as any);
   }
 
+  /**
+   * @returns whether the deserializer reads event payloads synchronously, which allows their parsing
+   * to be deferred until they are accessed.
+   */
+  protected readsEventPayloadsSynchronously(): boolean {
+    return false;
+  }
+
   /**
    * @returns content-type default header value for event stream events and other documents.
    */
@@ -0,0 +1,49 @@
+import { describe, expect, test as it, vi } from "vitest";
+
+import { setEventPayload } from "./event-payload";
+
+describe(setEventPayload.name, () => {
+  it("should parse the payload immediately by default", () => {
+    const parse = vi.fn(() => ({ message: "hello" }));
+    const event = {} as any;
+
+    setEventPayload(event, "payload", {}, parse);
+
+    expect(parse).toHaveBeenCalledTimes(1);
+    expect(event).toEqual({ payload: { message: "hello" } });
+  });
+
+  it("should parse the payload once, when first read, if deferred", () => {
+    const parse = vi.fn(() => ({ message: "hello" }));
+    const event = {} as any;
+
+    setEventPayload(event, "payload", { deferEventPayloadParsing: true }, parse);
+
+    expect(parse).not.toHaveBeenCalled();
+    expect(Object.keys(event)).toEqual(["payload"]);
+    expect(event.payload).toEqual({ message: "hello" });
+    expect(event.payload).toBe(event.payload);
+    expect(parse).toHaveBeenCalledTimes(1);
+  });
+
+  it("should throw parse errors when a deferred payload is read", () => {
+    const event = {} as any;
+
+    setEventPayload(event, "payload", { deferEventPayloadParsing: true }, () => {
+      throw new Error("invalid payload");
+    });
+
+    expect(() => event.payload).toThrow("invalid payload");
+  });
+
+  it("should allow a deferred payload to be replaced without parsing it", () => {
+    const parse = vi.fn(() => ({ message: "hello" }));
+    const event = {} as any;
+
+    setEventPayload(event, "payload", { deferEventPayloadParsing: true }, parse);
+    event.payload = { message: "replaced" };
+
+    expect(event.payload).toEqual({ message: "replaced" });
+    expect(parse).not.toHaveBeenCalled();
+  });
+});
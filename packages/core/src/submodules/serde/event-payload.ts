@@ -0,0 +1,43 @@
+/**
+ * Assigns a structure or union `@eventPayload` member of an event stream event.
+ *
+ * When the client config enables `deferEventPayloadParsing`, the payload is parsed when the member
+ * is first read instead, so that consumers that skip an event, or only read its headers, do not pay
+ * for parsing its payload. Parse errors are then thrown when the member is read.
+ *
+ * @internal
+ *
+ * @param target - event to assign the member of.
+ * @param key - member name.
+ * @param context - client config or serde context.
+ * @param parse - synchronously parses the payload of the event.
+ */
+export const setEventPayload = <T>(
+  target: Record<string, any>,
+  key: string,
+  context: { deferEventPayloadParsing?: boolean } | undefined,
+  parse: () => T
+): void => {
+  if (!context?.deferEventPayloadParsing) {
+    target[key] = parse();
+    return;
+  }
+  let read: (() => T) | undefined = parse;
+  let value: T;
+  Object.defineProperty(target, key, {
+    configurable: true,
+    enumerable: true,
+    get() {
+      if (read) {
+        value = read();
+        // the payload bytes are released once parsed.
+        read = undefined;
+      }
+      return value;
+    },
+    set(v: T) {
+      read = undefined;
+      value = v;
+    },
+  });
+};
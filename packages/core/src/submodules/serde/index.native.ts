@@ -15,6 +15,7 @@ export {
   parseRfc7231DateTime,
   parseEpochTimestamp,
 } from "./date-utils";
+export { setEventPayload } from "./event-payload";
 export { LazyJsonString, type AutomaticJsonStringConversion } from "./lazy-json";
 export {
   logger,
@@ -2,11 +2,16 @@ import { promisify } from "node:util";
 import { gzip } from "node:zlib";
 import { toUint8Array } from "@smithy/core/serde";
 
+import { STRING_CHUNK_LENGTH, compressStringInChunks } from "./compressStringInChunks";
+
 const gzipAsync = promisify(gzip);
 
 export const compressString = async (body: any): Promise<Uint8Array> => {
   // Only gzip shall be supported initial release.
   try {
+    if (typeof body === "string" && body.length > STRING_CHUNK_LENGTH) {
+      return await compressStringInChunks(body);
+    }
     const compressedBuffer = await gzipAsync(toUint8Array(body || ""));
     return toUint8Array(compressedBuffer);
   } catch (err) {
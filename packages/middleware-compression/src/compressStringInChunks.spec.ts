@@ -0,0 +1,22 @@
+import { gunzipSync } from "node:zlib";
+import { describe, expect, test as it } from "vitest";
+
+import { STRING_CHUNK_LENGTH, compressStringInChunks } from "./compressStringInChunks";
+
+describe(compressStringInChunks.name, () => {
+  it("should compress a string spanning several chunks with gzip", async () => {
+    const body = "0123456789".repeat(STRING_CHUNK_LENGTH / 4);
+    const compressed = await compressStringInChunks(body);
+
+    expect(compressed).toBeInstanceOf(Uint8Array);
+    expect(compressed.byteLength).toBeLessThan(body.length);
+    expect(gunzipSync(compressed).toString("utf8")).toEqual(body);
+  });
+
+  it("should not split surrogate pairs at chunk boundaries", async () => {
+    const body = "a".repeat(STRING_CHUNK_LENGTH - 1) + "😀" + "b".repeat(10);
+    const compressed = await compressStringInChunks(body);
+
+    expect(gunzipSync(compressed).toString("utf8")).toEqual(body);
+  });
+});
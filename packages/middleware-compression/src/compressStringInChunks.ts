@@ -0,0 +1,45 @@
+import { createGzip } from "node:zlib";
+
+/**
+ * Number of UTF-16 code units of a string body encoded at a time.
+ * @internal
+ */
+export const STRING_CHUNK_LENGTH = 1024 * 1024;
+
+/**
+ * Compresses a large string body by encoding and writing it to a gzip stream one chunk at a time,
+ * so that the event loop is not blocked while the whole body is encoded to UTF-8 at once.
+ *
+ * @internal
+ */
+export const compressStringInChunks = (body: string): Promise<Uint8Array> =>
+  new Promise((resolve, reject) => {
+    const gzip = createGzip();
+    const chunks: Buffer[] = [];
+    gzip.on("data", (chunk: Buffer) => chunks.push(chunk));
+    gzip.on("error", reject);
+    gzip.on("end", () => {
+      const compressed = Buffer.concat(chunks);
+      resolve(new Uint8Array(compressed.buffer, compressed.byteOffset, compressed.byteLength));
+    });
+
+    let position = 0;
+    const write = () => {
+      while (position < body.length) {
+        let end = Math.min(position + STRING_CHUNK_LENGTH, body.length);
+        // Do not split a surrogate pair across chunks.
+        const last = body.charCodeAt(end - 1);
+        if (end < body.length && last >= 0xd800 && last <= 0xdbff) {
+          end -= 1;
+        }
+        const chunk = Buffer.from(body.slice(position, end), "utf8");
+        position = end;
+        if (!gzip.write(chunk)) {
+          gzip.once("drain", write);
+          return;
+        }
+      }
+      gzip.end();
+    };
+    write();
+  });
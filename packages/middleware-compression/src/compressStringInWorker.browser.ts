@@ -0,0 +1,8 @@
+import { compressString } from "./compressString.browser";
+
+/**
+ * In browsers, fflate already compresses asynchronously in a Web Worker.
+ *
+ * @internal
+ */
+export const compressStringInWorker = compressString;
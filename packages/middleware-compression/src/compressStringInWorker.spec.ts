@@ -0,0 +1,32 @@
+import { gunzipSync } from "node:zlib";
+import { describe, expect, test as it } from "vitest";
+
+import { CompressionWorkerPool, compressStringInWorker } from "./compressStringInWorker";
+
+describe(compressStringInWorker.name, () => {
+  it("should compress strings and binary data with gzip in a worker", async () => {
+    const [fromString, fromBytes] = await Promise.all([
+      compressStringInWorker("test"),
+      compressStringInWorker(Uint8Array.from([116, 101, 115, 116])),
+    ]);
+
+    expect(gunzipSync(fromString).toString("utf8")).toEqual("test");
+    expect(gunzipSync(fromBytes).toString("utf8")).toEqual("test");
+  });
+
+  it("should not detach binary request bodies", async () => {
+    const body = Uint8Array.from([116, 101, 115, 116]);
+    await compressStringInWorker(body);
+
+    expect(body.byteLength).toEqual(4);
+  });
+
+  it("should spread concurrent compressions over the pool", async () => {
+    const pool = new CompressionWorkerPool(2);
+    const bodies = ["a", "b", "c", "d"];
+    const compressed = await Promise.all(bodies.map((body) => pool.compress(body)));
+
+    expect(compressed.map((bytes) => gunzipSync(bytes).toString("utf8"))).toEqual(bodies);
+    expect((pool as any).workers.length).toEqual(2);
+  });
+});
@@ -0,0 +1,115 @@
+import { cpus } from "node:os";
+import { Worker } from "node:worker_threads";
+import { toUint8Array } from "@smithy/core/serde";
+
+/**
+ * Source of the compression workers. It is evaluated rather than loaded from a file, so that it
+ * does not depend on the layout of the bundle that includes this package.
+ */
+const WORKER_SOURCE = `
+const { parentPort } = require("node:worker_threads");
+const { gzipSync } = require("node:zlib");
+parentPort.on("message", ({ id, body }) => {
+  try {
+    const compressed = gzipSync(typeof body === "string" ? Buffer.from(body, "utf8") : body);
+    parentPort.postMessage({ id, compressed });
+  } catch (err) {
+    parentPort.postMessage({ id, error: String(err && err.message) });
+  }
+});
+`;
+
+interface PendingCompression {
+  resolve: (compressed: Uint8Array) => void;
+  reject: (err: Error) => void;
+}
+
+/**
+ * A lazily started pool of compression workers. Workers only keep the process alive while they
+ * have pending compressions.
+ *
+ * @internal
+ */
+export class CompressionWorkerPool {
+  private readonly workers: Worker[] = [];
+  private readonly pending = new Map<Worker, Map<number, PendingCompression>>();
+  private nextId = 0;
+
+  public constructor(private readonly size: number) {}
+
+  public compress(body: string | Uint8Array): Promise<Uint8Array> {
+    const worker = this.getWorker();
+    const tasks = this.pending.get(worker)!;
+    const id = this.nextId++;
+    return new Promise((resolve, reject) => {
+      tasks.set(id, { resolve, reject });
+      if (tasks.size === 1) {
+        worker.ref();
+      }
+      worker.postMessage({ id, body });
+    });
+  }
+
+  private getWorker(): Worker {
+    // The least busy worker, starting a new one while the pool is not full.
+    let leastBusy: Worker | undefined;
+    for (const worker of this.workers) {
+      if (leastBusy === undefined || this.pending.get(worker)!.size < this.pending.get(leastBusy)!.size) {
+        leastBusy = worker;
+      }
+    }
+    if (leastBusy !== undefined && (this.pending.get(leastBusy)!.size === 0 || this.workers.length >= this.size)) {
+      return leastBusy;
+    }
+    return this.startWorker();
+  }
+
+  private startWorker(): Worker {
+    const worker = new Worker(WORKER_SOURCE, { eval: true });
+    const tasks = new Map<number, PendingCompression>();
+    worker.unref();
+    worker.on("message", ({ id, compressed, error }: { id: number; compressed?: Uint8Array; error?: string }) => {
+      const task = tasks.get(id);
+      tasks.delete(id);
+      if (tasks.size === 0) {
+        worker.unref();
+      }
+      if (error !== undefined) {
+        task?.reject(new Error("Failure during compression: " + error));
+      } else {
+        task?.resolve(toUint8Array(compressed!));
+      }
+    });
+    const fail = (err: Error) => {
+      this.workers.splice(this.workers.indexOf(worker), 1);
+      this.pending.delete(worker);
+      for (const task of tasks.values()) {
+        task.reject(new Error("Failure during compression: " + err.message));
+      }
+      tasks.clear();
+    };
+    worker.on("error", fail);
+    worker.on("exit", (code) => {
+      if (this.pending.has(worker)) {
+        fail(new Error(`compression worker exited with code ${code}`));
+      }
+    });
+    this.workers.push(worker);
+    this.pending.set(worker, tasks);
+    return worker;
+  }
+}
+
+let pool: CompressionWorkerPool | undefined;
+
+/**
+ * Compresses a request body with gzip in a worker thread, so that neither encoding nor
+ * compression runs on the event loop. Binary bodies are copied to the worker, not transferred,
+ * because the request may be retried.
+ *
+ * @internal
+ */
+export const compressStringInWorker = async (body: any): Promise<Uint8Array> => {
+  pool ??= new CompressionWorkerPool(Math.max(1, Math.min(4, cpus().length - 1)));
+  return pool.compress(typeof body === "string" ? body : toUint8Array(body || ""));
+};
@@ -3,12 +3,14 @@ import { afterEach, beforeEach, describe, expect, test as it, vi } from "vitest"
 
 import { compressStream } from "./compressStream";
 import { compressString } from "./compressString";
+import { compressStringInWorker } from "./compressStringInWorker";
 import { compressionMiddleware } from "./compressionMiddleware";
 import { CompressionAlgorithm } from "./constants";
 import { isStreaming } from "./isStreaming";
 
 vi.mock("@smithy/core/protocols");
 vi.mock("./compressString");
+vi.mock("./compressStringInWorker");
 vi.mock("./compressStream");
 vi.mock("./isStreaming");
 
@@ -139,6 +141,41 @@ describe(compressionMiddleware.name, () => {
         expect(compressString).toHaveBeenCalledWith(mockBody);
       });
 
+      it("compresses body in a worker at or above the worker threshold", async () => {
+        const mockCompressedBody = new Uint8Array(2);
+        vi.mocked(compressStringInWorker).mockResolvedValueOnce(mockCompressedBody);
+        const onRequestCompression = vi.fn();
+
+        await compressionMiddleware(
+          { ...mockConfig, requestCompressionWorkerThresholdBytes: async () => mockBody.length, onRequestCompression },
+          mockMiddlewareConfig
+        )(mockNext, mockContext)({ ...mockArgs } as any);
+
+        expect(compressString).not.toHaveBeenCalled();
+        expect(compressStringInWorker).toHaveBeenCalledWith(mockBody);
+        expect(mockNext.mock.calls[0][0].request.body).toBe(mockCompressedBody);
+        expect(onRequestCompression).toHaveBeenCalledWith({
+          algorithm: "gzip",
+          uncompressedBytes: mockBody.length,
+          compressedBytes: 2,
+          ratio: 2 / mockBody.length,
+          durationMs: expect.any(Number),
+          worker: true,
+        });
+      });
+
+      it("compresses body on the event loop below the worker threshold", async () => {
+        vi.mocked(compressString).mockResolvedValueOnce(new Uint8Array(2));
+
+        await compressionMiddleware(
+          { ...mockConfig, requestCompressionWorkerThresholdBytes: async () => mockBody.length + 1 },
+          mockMiddlewareConfig
+        )(mockNext, mockContext)({ ...mockArgs } as any);
+
+        expect(compressStringInWorker).not.toHaveBeenCalled();
+        expect(compressString).toHaveBeenCalledWith(mockBody);
+      });
+
       it("appends algorithm to existing Content-Encoding header", async () => {
         const mockCompressedBody = "compressed-body" as any;
         vi.mocked(compressString).mockResolvedValueOnce(mockCompressedBody);
@@ -13,6 +13,7 @@ import type {
 
 import { compressStream } from "./compressStream";
 import { compressString } from "./compressString";
+import { compressStringInWorker } from "./compressStringInWorker";
 import type { CompressionPreviouslyResolved, CompressionResolvedConfig } from "./configurations";
 import { CLIENT_SUPPORTED_ALGORITHMS, type CompressionAlgorithm } from "./constants";
 import { isStreaming } from "./isStreaming";
@@ -77,8 +78,19 @@ export const compressionMiddleware =
           const bodyLength = config.bodyLengthChecker(body);
           const requestMinCompressionSizeBytes = await config.requestMinCompressionSizeBytes();
           if (bodyLength && bodyLength >= requestMinCompressionSizeBytes) {
-            updatedBody = await compressString(body);
+            const workerThresholdBytes = await config.requestCompressionWorkerThresholdBytes?.();
+            const worker = workerThresholdBytes !== undefined && bodyLength >= workerThresholdBytes;
+            const start = Date.now();
+            updatedBody = await (worker ? compressStringInWorker(body) : compressString(body));
             isRequestCompressed = true;
+            config.onRequestCompression?.({
+              algorithm,
+              uncompressedBytes: bodyLength,
+              compressedBytes: updatedBody.byteLength,
+              ratio: updatedBody.byteLength / bodyLength,
+              durationMs: Date.now() - start,
+              worker,
+            });
           }
         }
 
@@ -14,6 +14,38 @@ export interface CompressionInputConfig {
    * The value must be a non-negative integer value between 0 and 10485760 bytes inclusive.
    */
   requestMinCompressionSizeBytes?: number | Provider<number>;
+
+  /**
+   * The minimum size in bytes that a request body should be to be compressed in a worker thread
+   * instead of the event loop thread. Only applies in Node.js. Must be a non-negative integer.
+   * By default, no request body is compressed in a worker thread.
+   */
+  requestCompressionWorkerThresholdBytes?: number | Provider<number>;
+
+  /**
+   * Called after each request body other than a stream is compressed.
+   */
+  onRequestCompression?: (metrics: RequestCompressionMetrics) => void;
+}
+
+/**
+ * Size and duration of the compression of a request body.
+ *
+ * @public
+ */
+export interface RequestCompressionMetrics {
+  algorithm: string;
+  uncompressedBytes: number;
+  compressedBytes: number;
+  /**
+   * Compressed size divided by uncompressed size.
+   */
+  ratio: number;
+  durationMs: number;
+  /**
+   * Whether the body was compressed in a worker thread.
+   */
+  worker: boolean;
 }
 
 /**
@@ -39,4 +71,14 @@ export interface CompressionResolvedConfig {
    * Resolved value for input config {@link CompressionInputConfig.requestMinCompressionSizeBytes}
    */
   requestMinCompressionSizeBytes: Provider<number>;
+
+  /**
+   * Resolved value for input config {@link CompressionInputConfig.requestCompressionWorkerThresholdBytes}
+   */
+  requestCompressionWorkerThresholdBytes?: Provider<number>;
+
+  /**
+   * Input config {@link CompressionInputConfig.onRequestCompression}
+   */
+  onRequestCompression?: (metrics: RequestCompressionMetrics) => void;
 }
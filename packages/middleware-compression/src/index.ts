@@ -16,6 +16,7 @@ export type {
   CompressionInputConfig,
   CompressionPreviouslyResolved,
   CompressionResolvedConfig,
+  RequestCompressionMetrics,
 } from "./configurations";
 export { getCompressionPlugin } from "./getCompressionPlugin";
 export { resolveCompressionConfig } from "./resolveCompressionConfig";
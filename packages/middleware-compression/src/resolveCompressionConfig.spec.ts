@@ -53,4 +53,34 @@ describe(resolveCompressionConfig.name, () => {
     const resolvedConfig = resolveCompressionConfig(inputConfig);
     await expect(resolvedConfig.disableRequestCompression()).resolves.toEqual(disableRequestCompression);
   });
+
+  it("does not compress in worker threads by default", () => {
+    expect(resolveCompressionConfig({ ...mockConfig }).requestCompressionWorkerThresholdBytes).toBeUndefined();
+  });
+
+  it("returns requestCompressionWorkerThresholdBytes value", async () => {
+    const resolvedConfig = resolveCompressionConfig({ ...mockConfig, requestCompressionWorkerThresholdBytes: 1048576 });
+    await expect(resolvedConfig.requestCompressionWorkerThresholdBytes!()).resolves.toEqual(1048576);
+  });
+
+  it.each([-1, 1.5, Number.NaN])(
+    "should throw an error if requestCompressionWorkerThresholdBytes is %s",
+    async (requestCompressionWorkerThresholdBytes) => {
+      const resolvedConfig = resolveCompressionConfig({ ...mockConfig, requestCompressionWorkerThresholdBytes });
+      await expect(resolvedConfig.requestCompressionWorkerThresholdBytes!()).rejects.toThrow(
+        new RangeError(
+          "The value for requestCompressionWorkerThresholdBytes must be a non-negative integer. " +
+            `The provided value ${requestCompressionWorkerThresholdBytes} is invalid.`
+        )
+      );
+    }
+  );
+
+  it("returns a requestCompressionWorkerThresholdBytes value of 0", async () => {
+    const resolvedConfig = resolveCompressionConfig({
+      ...mockConfig,
+      requestCompressionWorkerThresholdBytes: async () => 0,
+    });
+    await expect(resolvedConfig.requestCompressionWorkerThresholdBytes!()).resolves.toEqual(0);
+  });
 });
@@ -1,4 +1,5 @@
 import { normalizeProvider } from "@smithy/core/client";
+import type { Provider } from "@smithy/types";
 
 import type { CompressionInputConfig, CompressionResolvedConfig } from "./configurations";
 
@@ -6,11 +7,21 @@ import type { CompressionInputConfig, CompressionResolvedConfig } from "./config
  * @internal
  */
 export const resolveCompressionConfig = <T>(
-  input: T & Required<CompressionInputConfig>
+  input: T &
+    Required<Pick<CompressionInputConfig, "disableRequestCompression" | "requestMinCompressionSizeBytes">> &
+    CompressionInputConfig
 ): T & CompressionResolvedConfig => {
-  const { disableRequestCompression, requestMinCompressionSizeBytes: _requestMinCompressionSizeBytes } = input;
+  const {
+    disableRequestCompression,
+    requestMinCompressionSizeBytes: _requestMinCompressionSizeBytes,
+    requestCompressionWorkerThresholdBytes,
+  } = input;
   return Object.assign(input, {
     disableRequestCompression: normalizeProvider(disableRequestCompression),
+    requestCompressionWorkerThresholdBytes:
+      requestCompressionWorkerThresholdBytes === undefined
+        ? undefined
+        : resolveWorkerThresholdBytes(normalizeProvider(requestCompressionWorkerThresholdBytes)),
     requestMinCompressionSizeBytes: async () => {
       const requestMinCompressionSizeBytes = await normalizeProvider(_requestMinCompressionSizeBytes)();
 
@@ -27,3 +38,16 @@ export const resolveCompressionConfig = <T>(
     },
   });
 };
+
+const resolveWorkerThresholdBytes = (provider: Provider<number>): Provider<number> => async () => {
+  const requestCompressionWorkerThresholdBytes = await provider();
+
+  if (!Number.isInteger(requestCompressionWorkerThresholdBytes) || requestCompressionWorkerThresholdBytes < 0) {
+    throw new RangeError(
+      "The value for requestCompressionWorkerThresholdBytes must be a non-negative integer. " +
+        `The provided value ${requestCompressionWorkerThresholdBytes} is invalid.`
+    );
+  }
+
+  return requestCompressionWorkerThresholdBytes;
+};
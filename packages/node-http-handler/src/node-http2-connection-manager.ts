@@ -19,6 +19,7 @@ import { NodeHttp2ConnectionPool } from "./node-http2-connection-pool";
 export class NodeHttp2ConnectionManager implements ConnectionManager<ClientHttp2SessionRef> {
   private config: ConnectionManagerConfiguration;
   private connectOptions?: Partial<SecureClientSessionOptions | ClientSessionOptions>;
+  private maxSessions = 0;
   private readonly connectionPools: Map<string, NodeHttp2ConnectionPool> = new Map<string, NodeHttp2ConnectionPool>();
 
   constructor(config: ConnectionManagerConfiguration) {
@@ -43,6 +44,12 @@ export class NodeHttp2ConnectionManager implements ConnectionManager<ClientHttp2
         available.retain();
         return available;
       }
+      // When the pool is full, further streams are queued by node:http2 on the least busy session.
+      const leastBusy = this.maxSessions && pool.size() >= this.maxSessions ? pool.pollLeastBusy() : undefined;
+      if (leastBusy) {
+        leastBusy.retain();
+        return leastBusy;
+      }
     }
 
     const ref = new ClientHttp2SessionRef(this.connect(url));
@@ -91,6 +98,13 @@ export class NodeHttp2ConnectionManager implements ConnectionManager<ClientHttp2
     ref.free();
   }
 
+  /**
+   * Remove a session from its pool and destroy it, regardless of its open references.
+   */
+  public destroySession(requestContext: RequestContext, ref: ClientHttp2SessionRef): void {
+    this.removeFromPoolAndCheckedDestroy(this.getUrlString(requestContext), ref);
+  }
+
   /**
    * Create an isolated session that isn't part of the connection pools.
    * For use in event-streams or when concurrency is turned off.
@@ -147,6 +161,13 @@ export class NodeHttp2ConnectionManager implements ConnectionManager<ClientHttp2
     }
   }
 
+  public setMaxSessions(maxSessions: number) {
+    if (maxSessions && maxSessions <= 0) {
+      throw new RangeError("maxSessions must be greater than zero.");
+    }
+    this.maxSessions = maxSessions;
+  }
+
   public setDisableConcurrentStreams(disableConcurrentStreams: boolean) {
     this.config.disableConcurrency = disableConcurrentStreams;
   }
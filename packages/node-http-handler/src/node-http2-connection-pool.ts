@@ -46,6 +46,27 @@ export class NodeHttp2ConnectionPool implements ConnectionPool<ClientHttp2Sessio
     }
   }
 
+  /**
+   * Find the session with the fewest active streams, regardless of capacity.
+   * Returns undefined if the pool has no live session.
+   */
+  public pollLeastBusy(): ClientHttp2SessionRef | undefined {
+    let leastBusy: ClientHttp2SessionRef | undefined;
+    for (const session of this.sessions) {
+      if (!session.deref().destroyed && (!leastBusy || session.useCount() < leastBusy.useCount())) {
+        leastBusy = session;
+      }
+    }
+    return leastBusy;
+  }
+
+  /**
+   * @returns the number of sessions in the pool.
+   */
+  public size(): number {
+    return this.sessions.length;
+  }
+
   /**
    * Add a session to the pool.
    */
@@ -13,7 +13,13 @@ import type { ClientHttp2SessionRef } from "./http2/ClientHttp2SessionRef";
 import type { NodeHttp2ConnectionManager } from "./node-http2-connection-manager";
 import { NodeHttp2ConnectionPool } from "./node-http2-connection-pool";
 import { NodeHttp2Handler, type NodeHttp2HandlerOptions } from "./node-http2-handler";
-import { createMockHttp2Server, createResponseFunction, createResponseFunctionWithDelay } from "./server.mock";
+import {
+  createMockHttp2Server,
+  createMockHttpsServer,
+  createMockTlsServer,
+  createResponseFunction,
+  createResponseFunctionWithDelay,
+} from "./server.mock";
 import { timing } from "./timing";
 
 const { constants } = http2;
@@ -898,6 +904,104 @@ describe(NodeHttp2Handler.name, () => {
 
       handler.destroy();
     });
+
+    it("queues streams on the least busy session when maxSessions is reached", async () => {
+      const handler = new NodeHttp2Handler({ maxConcurrentStreams: 3, maxSessions: 2 });
+
+      const responses = await Promise.all(
+        Array.from({ length: 10 }, () => handler.handle(new HttpRequest(getMockReqOptions()), {}))
+      );
+
+      expect(createdSessions).toHaveLength(2);
+      const sessions = getConnectionManager(handler).debug()[authority].sessions;
+      expect(sessions.map((s: any) => s.active)).toEqual([5, 5]);
+
+      for (const { response } of responses) {
+        const body = response.body as ClientHttp2Stream;
+        const close = new Promise((resolve) => body.once("close", resolve));
+        body.destroy();
+        await close;
+      }
+      handler.destroy();
+    });
+  });
+
+  describe("fallbackToHttp1", () => {
+    it("sends requests over HTTP/1.1 to https origins that do not negotiate h2", async () => {
+      const port = await getPort({ port: portNumbers(50_001, 55_000) });
+      const httpsServer = createMockHttpsServer().listen(port);
+      httpsServer.on("request", createResponseFunction(mockResponse));
+      const connectSpy = vi.spyOn(http2, "connect");
+      const handler = new NodeHttp2Handler({
+        fallbackToHttp1: { httpsAgent: { rejectUnauthorized: false } },
+        nodeHttp2ConnectOptions: { rejectUnauthorized: false },
+      });
+
+      for (let i = 0; i < 2; ++i) {
+        const { response } = await handler.handle(
+          new HttpRequest({ ...getMockReqOptions(), protocol: "https:", port }),
+          {}
+        );
+        expect(response.statusCode).toBe(200);
+      }
+      // The outcome of the ALPN negotiation is remembered per origin.
+      expect(connectSpy).toHaveBeenCalledTimes(1);
+
+      handler.destroy();
+      httpsServer.close();
+    });
+
+    it("destroys the probe session of https origins that do not negotiate h2", async () => {
+      const port = await getPort({ port: portNumbers(50_001, 55_000) });
+      const tlsServer = createMockTlsServer("HTTP/1.1 200 OK\r\nContent-Length: 4\r\nConnection: close\r\n\r\ntest");
+      tlsServer.listen(port);
+      const connectSpy = vi.spyOn(http2, "connect");
+      const handler = new NodeHttp2Handler({
+        fallbackToHttp1: { httpsAgent: { rejectUnauthorized: false } },
+        nodeHttp2ConnectOptions: { rejectUnauthorized: false },
+      });
+
+      const { response } = await handler.handle(
+        new HttpRequest({ ...getMockReqOptions(), protocol: "https:", port }),
+        {}
+      );
+      expect(response.statusCode).toBe(200);
+      // The session connected without ALPN, and would otherwise stay open.
+      const probe = connectSpy.mock.results[0].value as ClientHttp2Session;
+      expect(probe.alpnProtocol).toBe(false);
+      expect(probe.destroyed).toBe(true);
+      expect(getSessions(handler, `https://${hostname}:${port}/`)).toHaveLength(0);
+
+      handler.destroy();
+      tlsServer.close();
+    });
+
+    it("does not fall back to HTTP/1.1 for event streams", async () => {
+      const port = await getPort({ port: portNumbers(50_001, 55_000) });
+      const httpsServer = createMockHttpsServer().listen(port);
+      const requestSpy = vi.fn(createResponseFunction(mockResponse));
+      httpsServer.on("request", requestSpy);
+      const handler = new NodeHttp2Handler({
+        fallbackToHttp1: { httpsAgent: { rejectUnauthorized: false } },
+        nodeHttp2ConnectOptions: { rejectUnauthorized: false },
+      });
+
+      await expect(
+        handler.handle(new HttpRequest({ ...getMockReqOptions(), protocol: "https:", port }), { isEventStream: true })
+      ).rejects.toThrow();
+      expect(requestSpy).not.toHaveBeenCalled();
+
+      handler.destroy();
+      httpsServer.close();
+    });
+
+    it("does not probe http origins", async () => {
+      const handler = new NodeHttp2Handler({ fallbackToHttp1: true });
+      const { response } = await handler.handle(new HttpRequest(getMockReqOptions()), {});
+      expect(response.statusCode).toBe(200);
+      expect(getSessions(handler, authority)).toHaveLength(1);
+      handler.destroy();
+    });
   });
 
   describe("nodeHttp2ConnectOptions", () => {
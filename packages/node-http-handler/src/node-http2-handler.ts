@@ -1,9 +1,10 @@
 import type { ClientSessionOptions, SecureClientSessionOptions } from "node:http2";
 import { HttpResponse, buildQueryString, type HttpHandler, type HttpRequest } from "@smithy/core/protocols";
-import type { HttpHandlerOptions, Provider, RequestContext } from "@smithy/types";
+import type { HttpHandlerOptions, NodeHttpHandlerOptions, Provider, RequestContext } from "@smithy/types";
 
 import { buildAbortError } from "./build-abort-error";
 import { getTransformedHeaders } from "./get-transformed-headers";
+import { NodeHttpHandler } from "./node-http-handler";
 import { node_http2 } from "./node-http2";
 import { NodeHttp2ConnectionManager } from "./node-http2-connection-manager";
 import { writeRequestBody } from "./write-request-body";
@@ -44,6 +45,23 @@ export interface NodeHttp2HandlerOptions {
    */
   maxConcurrentStreams?: number;
 
+  /**
+   * Maximum number of concurrent sessions per URL. Once every session has maxConcurrentStreams
+   * active streams and this many sessions are open, further streams are opened on the least busy
+   * session, where node:http2 queues them. Only applies when maxConcurrentStreams is set.
+   * **Default:** unlimited.
+   */
+  maxSessions?: number;
+
+  /**
+   * Sends requests to https URLs that do not negotiate h2 with ALPN over HTTP/1.1 instead,
+   * using a NodeHttpHandler with the same requestTimeout. An object is passed on as further
+   * options of that NodeHttpHandler. Event stream requests are always sent over h2, and fail on
+   * origins that do not negotiate it.
+   * **Default:** false.
+   */
+  fallbackToHttp1?: boolean | NodeHttpHandlerOptions;
+
   /**
    * A set of raw options that will be passed to http2.connect.
    * https://nodejs.org/api/http2.html#http2connectauthority-options-listener
@@ -76,6 +94,12 @@ export class NodeHttp2Handler implements HttpHandler<NodeHttp2HandlerOptions> {
 
   private readonly connectionManager: NodeHttp2ConnectionManager = new NodeHttp2ConnectionManager({});
 
+  /**
+   * Whether each https origin negotiated h2, when fallbackToHttp1 is set.
+   */
+  private readonly h2Negotiations = new Map<string, Promise<boolean | undefined>>();
+  private http1Handler?: NodeHttpHandler;
+
   /**
    * @returns the input if it is an HttpHandler of any class,
    * or instantiates a new instance of this handler.
@@ -107,6 +131,7 @@ export class NodeHttp2Handler implements HttpHandler<NodeHttp2HandlerOptions> {
 
   public destroy(): void {
     this.connectionManager.destroy();
+    this.http1Handler?.destroy();
   }
 
   public async handle(
@@ -115,21 +140,33 @@ export class NodeHttp2Handler implements HttpHandler<NodeHttp2HandlerOptions> {
   ): Promise<{ response: HttpResponse }> {
     if (!this.config) {
       this.config = await this.configProvider;
-      const { disableConcurrentStreams, maxConcurrentStreams, nodeHttp2ConnectOptions } = this.config;
+      const { disableConcurrentStreams, maxConcurrentStreams, maxSessions, nodeHttp2ConnectOptions } = this.config;
 
       this.connectionManager.setDisableConcurrentStreams(disableConcurrentStreams ?? false);
       if (maxConcurrentStreams) {
         this.connectionManager.setMaxConcurrentStreams(maxConcurrentStreams);
       }
+      if (maxSessions) {
+        this.connectionManager.setMaxSessions(maxSessions);
+      }
       if (nodeHttp2ConnectOptions) {
         this.connectionManager.setNodeHttp2ConnectOptions(nodeHttp2ConnectOptions);
       }
     }
 
-    const { requestTimeout: configRequestTimeout, disableConcurrentStreams } = this.config;
+    const { requestTimeout: configRequestTimeout, disableConcurrentStreams, fallbackToHttp1 } = this.config;
     const useIsolatedSession = disableConcurrentStreams || isEventStream;
     const effectiveRequestTimeout = requestTimeout ?? configRequestTimeout;
 
+    // Event streams require h2, and fail on origins that do not negotiate it.
+    if (fallbackToHttp1 && !isEventStream && request.protocol === "https:" && !(await this.negotiatesH2(request))) {
+      this.http1Handler ??= new NodeHttpHandler({
+        requestTimeout: configRequestTimeout,
+        ...(typeof fallbackToHttp1 === "object" ? fallbackToHttp1 : {}),
+      });
+      return this.http1Handler.handle(request, { abortSignal, requestTimeout });
+    }
+
     return new Promise((_resolve, _reject) => {
       // It's redundant to track fulfilled because promises use the first resolution/rejection
       // but avoids generating unnecessary stack traces in the "close" event handler.
@@ -269,6 +306,46 @@ export class NodeHttp2Handler implements HttpHandler<NodeHttp2HandlerOptions> {
     });
   }
 
+  /**
+   * Waits for the first session to the origin of the request to connect, and reports whether it
+   * negotiated h2. The session stays in the pool for the request if it did, and is destroyed if
+   * not. Connection errors other than a failed ALPN negotiation are not remembered, and surface on
+   * the request itself.
+   */
+  private async negotiatesH2(request: HttpRequest): Promise<boolean> {
+    const { hostname, port } = request;
+    const origin = `https://${hostname}${port ? `:${port}` : ""}`;
+    let negotiation = this.h2Negotiations.get(origin);
+    if (!negotiation) {
+      const requestContext = { destination: new URL(origin) } as RequestContext;
+      const ref = this.connectionManager.lease(requestContext, { requestTimeout: this.config?.sessionTimeout });
+      const session = ref.deref();
+      negotiation = new Promise<boolean | undefined>((resolve) => {
+        if (session.alpnProtocol !== undefined) {
+          return resolve(session.alpnProtocol === "h2");
+        }
+        session.once("connect", () => resolve(session.alpnProtocol === "h2"));
+        session.once("error", (err: NodeJS.ErrnoException) => {
+          resolve(err.code === "ERR_SSL_TLSV1_ALERT_NO_APPLICATION_PROTOCOL" ? false : undefined);
+        });
+        session.once("close", () => resolve(undefined));
+      }).then((negotiated) => {
+        this.connectionManager.release(requestContext, ref);
+        if (negotiated === false) {
+          // The session is unusable for h2 streams, and would otherwise stay open in the pool.
+          this.connectionManager.destroySession(requestContext, ref);
+        }
+        return negotiated;
+      });
+      this.h2Negotiations.set(origin, negotiation);
+    }
+    const negotiated = await negotiation;
+    if (negotiated === undefined) {
+      this.h2Negotiations.delete(origin);
+    }
+    return negotiated !== false;
+  }
+
   public updateHttpClientConfig(key: keyof NodeHttp2HandlerOptions, value: NodeHttp2HandlerOptions[typeof key]): void {
     this.config = undefined;
     this.configProvider = this.configProvider.then((config) => {
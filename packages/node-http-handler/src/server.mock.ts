@@ -4,6 +4,7 @@ import type { Server as HttpServer, IncomingMessage, ServerResponse } from "node
 import type { Server as HttpsServer } from "node:https";
 import { join } from "node:path";
 import { Readable } from "node:stream";
+import { type Server as TlsServer, createServer as createTlsServer } from "node:tls";
 import type { HeaderBag, HttpResponse, NodeJsRuntimeBlobTypes } from "@smithy/types";
 
 import { node_http2 } from "./node-http2";
@@ -64,6 +65,22 @@ export const createMockHttpsServer = (): HttpsServer => {
   return server;
 };
 
+/**
+ * A TLS server that does not negotiate an application protocol with ALPN,
+ * and answers every connection with the given raw HTTP/1.1 response.
+ */
+export const createMockTlsServer = (rawResponse: string): TlsServer => {
+  return createTlsServer(
+    {
+      key: readFileSync(join(fixturesDir, "test-server-key.pem")),
+      cert: readFileSync(join(fixturesDir, "test-server-cert.pem")),
+    },
+    (socket) => {
+      socket.once("data", () => socket.end(rawResponse));
+    }
+  );
+};
+
 export const createMockHttpServer = (): HttpServer => {
   return node_http.createServer();
 };
@@ -1,5 +1,11 @@
 // smithy-typescript generated code
-import { doesIdentityRequireRefresh, isIdentityExpired, memoizeIdentityProvider } from "@smithy/core";
+import {
+  doesIdentityRequireRefresh,
+  freezeHttpAuthOptions,
+  isIdentityExpired,
+  memoizeHttpAuthSchemeParametersProvider,
+  memoizeIdentityProvider,
+} from "@smithy/core";
 import { getSmithyContext, normalizeProvider } from "@smithy/core/client";
 import {
   type ApiKeyIdentity,
@@ -35,15 +41,17 @@ export interface XYZServiceHttpAuthSchemeParametersProvider
 /**
  * @internal
  */
-export const defaultXYZServiceHttpAuthSchemeParametersProvider = async (
-  config: XYZServiceClientResolvedConfig,
-  context: HandlerExecutionContext,
-  input: object
-): Promise<XYZServiceHttpAuthSchemeParameters> => {
-  return {
-    operation: getSmithyContext(context).operation as string,
-  };
-};
+export const defaultXYZServiceHttpAuthSchemeParametersProvider = memoizeHttpAuthSchemeParametersProvider(
+  async (
+    config: XYZServiceClientResolvedConfig,
+    context: HandlerExecutionContext,
+    input: object
+  ): Promise<XYZServiceHttpAuthSchemeParameters> => {
+    return {
+      operation: getSmithyContext(context).operation as string,
+    };
+  }
+);
 
 function createSmithyApiHttpApiKeyAuthHttpAuthOption(authParameters: XYZServiceHttpAuthSchemeParameters): HttpAuthOption {
   return {
@@ -61,10 +69,7 @@ function createSmithyApiHttpApiKeyAuthHttpAuthOption(authParameters: XYZServiceH
  */
 export interface XYZServiceHttpAuthSchemeProvider extends HttpAuthSchemeProvider<XYZServiceHttpAuthSchemeParameters> {}
 
-/**
- * @internal
- */
-export const defaultXYZServiceHttpAuthSchemeProvider: XYZServiceHttpAuthSchemeProvider = (authParameters) => {
+const resolveXYZServiceHttpAuthOptions = (authParameters: XYZServiceHttpAuthSchemeParameters): HttpAuthOption[] => {
   const options: HttpAuthOption[] = [];
   switch (authParameters.operation) {
     default: {
@@ -74,6 +79,20 @@ export const defaultXYZServiceHttpAuthSchemeProvider: XYZServiceHttpAuthSchemePr
   return options;
 };
 
+const httpAuthOptionsByOperation = new Map<string | undefined, HttpAuthOption[]>();
+
+/**
+ * @internal
+ */
+export const defaultXYZServiceHttpAuthSchemeProvider: XYZServiceHttpAuthSchemeProvider = (authParameters) => {
+  let options = httpAuthOptionsByOperation.get(authParameters.operation);
+  if (!options) {
+    options = freezeHttpAuthOptions(resolveXYZServiceHttpAuthOptions(authParameters));
+    httpAuthOptionsByOperation.set(authParameters.operation, options);
+  }
+  return options;
+};
+
 /**
  * @public
  */
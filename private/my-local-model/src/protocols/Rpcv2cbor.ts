@@ -7,6 +7,7 @@ import {
   loadSmithyRpcV2CborErrorCode,
   parseCborBody as parseBody,
   parseCborErrorBody as parseErrorBody,
+  parseCborPayload,
 } from "@smithy/core/cbor";
 import {
   _json,
@@ -26,6 +27,7 @@ import {
   expectString as __expectString,
   nv as __nv,
   parseEpochTimestamp as __parseEpochTimestamp,
+  setEventPayload,
 } from "@smithy/core/serde";
 import type {
   Endpoint as __Endpoint,
@@ -724,8 +726,7 @@ const se_Alpha_event = (
                   contents[_sN] = output.headers[_sN].value;
               }
 
-              const data: any = await parseBody(output.body, context);
-              contents.payload = _json(data);
+              setEventPayload(contents, "payload", context, () => _json(parseCborPayload(output.body, context)));
               return contents;
             }
             const de_HeartbeatEvent_event = async (
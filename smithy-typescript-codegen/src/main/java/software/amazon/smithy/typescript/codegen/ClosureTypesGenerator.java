@@ -0,0 +1,155 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.traits.EnumTrait;
+import software.amazon.smithy.model.traits.ErrorTrait;
+import software.amazon.smithy.typescript.codegen.knowledge.ServiceClosure;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Writes the type files of a types-mode shape closure one strongly connected component at a time,
+ * dependencies first.
+ *
+ * <p>Each file is written to the manifest as soon as the last shape assigned to it has been generated,
+ * and its writer is released. Model files are assigned in component order by {@link #assignFiles},
+ * so only the files of the components in progress are held in memory. The enums and errors files
+ * collect shapes from the whole closure, so they are written once the last component is complete.
+ */
+@SmithyInternalApi
+final class ClosureTypesGenerator {
+
+    private final Model model;
+    private final TypeScriptSettings settings;
+    private final SymbolProvider symbolProvider;
+    private final FileManifest fileManifest;
+    private final TypeScriptDelegator delegator;
+    private final ServiceClosure closure;
+    private final boolean schemaMode;
+
+    ClosureTypesGenerator(
+        Model model,
+        TypeScriptSettings settings,
+        SymbolProvider symbolProvider,
+        FileManifest fileManifest,
+        TypeScriptDelegator delegator,
+        ServiceClosure closure,
+        boolean schemaMode
+    ) {
+        this.model = model;
+        this.settings = settings;
+        this.symbolProvider = symbolProvider;
+        this.fileManifest = fileManifest;
+        this.delegator = delegator;
+        this.closure = closure;
+        this.schemaMode = schemaMode;
+    }
+
+    /**
+     * Resolves the symbol of every shape that generates a type in component order, before any other
+     * lookup, so that the model files are filled in the order the components are written.
+     *
+     * @param symbolProvider the symbol provider that assigns shapes to model files on first lookup.
+     * @param closure the closure to generate.
+     */
+    static void assignFiles(SymbolProvider symbolProvider, ServiceClosure closure) {
+        for (List<Shape> component : closure.getComponents()) {
+            for (Shape shape : component) {
+                if (generatesType(shape)) {
+                    symbolProvider.toSymbol(shape);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether the shape is written to a type file, matching the data shapes the codegen director generates.
+     */
+    static boolean generatesType(Shape shape) {
+        if (Prelude.isPreludeShape(shape)) {
+            return false;
+        }
+        return shape.isStructureShape()
+            || shape.isUnionShape()
+            || shape.isEnumShape()
+            || shape.isIntEnumShape()
+            || (shape.isStringShape() && shape.hasTrait(EnumTrait.class));
+    }
+
+    void run() {
+        List<Shape> shapes = new ArrayList<>();
+        Map<String, Integer> remaining = new HashMap<>();
+        for (List<Shape> component : closure.getComponents()) {
+            for (Shape shape : component) {
+                if (generatesType(shape)) {
+                    shapes.add(shape);
+                    remaining.merge(symbolProvider.toSymbol(shape).getDefinitionFile(), 1, Integer::sum);
+                }
+            }
+        }
+
+        TypeScriptWriter.TypeScriptWriterFactory factory = new TypeScriptWriter.TypeScriptWriterFactory();
+        Map<String, TypeScriptWriter> writers = new HashMap<>();
+        for (Shape shape : shapes) {
+            Symbol symbol = symbolProvider.toSymbol(shape);
+            String filename = symbol.getDefinitionFile();
+            TypeScriptWriter writer = writers.get(filename);
+            if (writer == null) {
+                writer = factory.apply(filename, symbol.getNamespace());
+                writers.put(filename, writer);
+            } else {
+                writer.write("");
+            }
+            writeType(shape, writer);
+
+            if (remaining.merge(filename, -1, Integer::sum) == 0) {
+                delegator.addDependencies(writer.getDependencies());
+                fileManifest.writeFile(filename, writer.toString());
+                writers.remove(filename);
+            }
+        }
+    }
+
+    private void writeType(Shape shape, TypeScriptWriter writer) {
+        if (shape.isStructureShape()) {
+            boolean isError = shape.hasTrait(ErrorTrait.class);
+            // In schema mode, per-shape validators are replaced by generic
+            // validateSchema(schema, data) at the handler level.
+            boolean includeValidation = settings.generateServerSdk() && (isError || !schemaMode);
+            new StructureGenerator(
+                model,
+                symbolProvider,
+                writer,
+                shape.asStructureShape().get(),
+                includeValidation,
+                settings.getRequiredMemberMode(),
+                schemaMode
+            ).run();
+        } else if (shape.isUnionShape()) {
+            new UnionGenerator(
+                model,
+                symbolProvider,
+                writer,
+                shape.asUnionShape().get(),
+                settings.generateServerSdk() && !schemaMode,
+                schemaMode
+            ).run();
+        } else if (shape.isIntEnumShape()) {
+            new IntEnumGenerator(shape.asIntEnumShape().get(), symbolProvider.toSymbol(shape), writer).run();
+        } else {
+            new EnumGenerator(shape.asStringShape().get(), symbolProvider.toSymbol(shape), writer).run();
+        }
+    }
+}
@@ -47,10 +47,12 @@ import software.amazon.smithy.typescript.codegen.endpointsV2.EndpointsV2Generato
 import software.amazon.smithy.typescript.codegen.integration.ProtocolGenerator;
 import software.amazon.smithy.typescript.codegen.integration.RuntimeClientPlugin;
 import software.amazon.smithy.typescript.codegen.integration.TypeScriptIntegration;
+import software.amazon.smithy.typescript.codegen.knowledge.ServiceClosure;
 import software.amazon.smithy.typescript.codegen.schema.SchemaGenerationAllowlist;
 import software.amazon.smithy.typescript.codegen.schema.SchemaGenerator;
 import software.amazon.smithy.typescript.codegen.schema.SchemaServerGenerator;
 import software.amazon.smithy.typescript.codegen.schema.SchemaTraitFilterIndex;
+import software.amazon.smithy.typescript.codegen.util.CodegenProfiler;
 import software.amazon.smithy.typescript.codegen.validation.LongValidator;
 import software.amazon.smithy.typescript.codegen.validation.ReplaceLast;
 import software.amazon.smithy.utils.IoUtils;
@@ -89,10 +91,22 @@ final class DirectedTypeScriptCodegen
         "ValidationException"
     );
 
+    /**
+     * The shape closure of a types-mode run, whose type files are written by component.
+     */
+    private ServiceClosure typesClosure;
+
     @Override
     public SymbolProvider createSymbolProvider(CreateSymbolProviderDirective<TypeScriptSettings> directive) {
         if (directive.settings().isTypesOnly()) {
-            return new SymbolVisitor(directive.model(), directive.settings(), directive.getRenames());
+            SymbolProvider symbolProvider = new SymbolVisitor(
+                directive.model(),
+                directive.settings(),
+                directive.getRenames()
+            );
+            typesClosure = ServiceClosure.ofShapes(directive.model(), directive.connectedShapes().values());
+            ClosureTypesGenerator.assignFiles(symbolProvider, typesClosure);
+            return symbolProvider;
         }
         return directive.settings().getArtifactType().createSymbolProvider(directive.model(), directive.settings());
     }
@@ -247,12 +261,12 @@ final class DirectedTypeScriptCodegen
                     }
 
                     // Generate operation schemas needed by the server handler.
-                    new SchemaGenerator(
+                    CodegenProfiler.current().run("phase", "SchemaGenerator", () -> new SchemaGenerator(
                         model,
                         directive.fileManifest(),
                         settings,
                         symbolProvider
-                    ).run();
+                    ).run());
 
                     // Schema-based server generation: emit a protocol-agnostic handler
                     // that delegates to ServerProtocol instances using operation schemas.
@@ -273,33 +287,35 @@ final class DirectedTypeScriptCodegen
                 ProtocolGenerator.PROTOCOLS_FOLDER,
                 ProtocolGenerator.getSanitizedName(protocolGenerator.getName()) + ".ts"
             ).toString();
-            delegator.useFileWriter(fileName, writer -> {
-                ProtocolGenerator.GenerationContext context = new ProtocolGenerator.GenerationContext();
-                context.setProtocolName(protocolGenerator.getName());
-                context.setModel(model);
-                context.setService(service);
-                context.setSettings(settings);
-                context.setSymbolProvider(symbolProvider);
-                context.setWriter(writer);
-                if (context.getSettings().generateClient()) {
-                    protocolGenerator.generateRequestSerializers(context);
-                    protocolGenerator.generateResponseDeserializers(context);
-                }
-                if (context.getSettings().generateServerSdk()) {
-                    protocolGenerator.generateRequestDeserializers(context);
-                    protocolGenerator.generateResponseSerializers(context);
-                    protocolGenerator.generateFrameworkErrorSerializer(context);
-                    delegator.useShapeWriter(service, w -> {
-                        protocolGenerator.generateServiceHandlerFactory(context.withWriter(w));
-                    });
-                    for (OperationShape operation : TopDownIndex.of(model).getContainedOperations(service)) {
-                        delegator.useShapeWriter(operation, w -> {
-                            protocolGenerator.generateOperationHandlerFactory(context.withWriter(w), operation);
+            try (CodegenProfiler.Span span = CodegenProfiler.current().start("protocol", protocolGenerator.getName())) {
+                delegator.useFileWriter(fileName, writer -> {
+                    ProtocolGenerator.GenerationContext context = new ProtocolGenerator.GenerationContext();
+                    context.setProtocolName(protocolGenerator.getName());
+                    context.setModel(model);
+                    context.setService(service);
+                    context.setSettings(settings);
+                    context.setSymbolProvider(symbolProvider);
+                    context.setWriter(writer);
+                    if (context.getSettings().generateClient()) {
+                        protocolGenerator.generateRequestSerializers(context);
+                        protocolGenerator.generateResponseDeserializers(context);
+                    }
+                    if (context.getSettings().generateServerSdk()) {
+                        protocolGenerator.generateRequestDeserializers(context);
+                        protocolGenerator.generateResponseSerializers(context);
+                        protocolGenerator.generateFrameworkErrorSerializer(context);
+                        delegator.useShapeWriter(service, w -> {
+                            protocolGenerator.generateServiceHandlerFactory(context.withWriter(w));
                         });
+                        for (OperationShape operation : TopDownIndex.of(model).getContainedOperations(service)) {
+                            delegator.useShapeWriter(operation, w -> {
+                                protocolGenerator.generateOperationHandlerFactory(context.withWriter(w), operation);
+                            });
+                        }
                     }
-                }
-                protocolGenerator.generateSharedComponents(context);
-            });
+                    protocolGenerator.generateSharedComponents(context);
+                });
+            }
         }
 
         if (settings.generateServerSdk() && !SchemaGenerationAllowlist.allows(service.getId(), settings)) {
@@ -313,6 +329,10 @@ final class DirectedTypeScriptCodegen
 
     @Override
     public void generateStructure(GenerateStructureDirective<TypeScriptCodegenContext, TypeScriptSettings> directive) {
+        if (directive.settings().isTypesOnly()) {
+            // written by component in customizeTypesMode.
+            return;
+        }
         directive
             .context()
             .writerDelegator()
@@ -336,6 +356,10 @@ final class DirectedTypeScriptCodegen
 
     @Override
     public void generateError(GenerateErrorDirective<TypeScriptCodegenContext, TypeScriptSettings> directive) {
+        if (directive.settings().isTypesOnly()) {
+            // written by component in customizeTypesMode.
+            return;
+        }
         directive
             .context()
             .writerDelegator()
@@ -355,6 +379,10 @@ final class DirectedTypeScriptCodegen
 
     @Override
     public void generateUnion(GenerateUnionDirective<TypeScriptCodegenContext, TypeScriptSettings> directive) {
+        if (directive.settings().isTypesOnly()) {
+            // written by component in customizeTypesMode.
+            return;
+        }
         directive
             .context()
             .writerDelegator()
@@ -375,6 +403,10 @@ final class DirectedTypeScriptCodegen
 
     @Override
     public void generateEnumShape(GenerateEnumDirective<TypeScriptCodegenContext, TypeScriptSettings> directive) {
+        if (directive.settings().isTypesOnly()) {
+            // written by component in customizeTypesMode.
+            return;
+        }
         directive
             .context()
             .writerDelegator()
@@ -390,6 +422,10 @@ final class DirectedTypeScriptCodegen
 
     @Override
     public void generateIntEnumShape(GenerateIntEnumDirective<TypeScriptCodegenContext, TypeScriptSettings> directive) {
+        if (directive.settings().isTypesOnly()) {
+            // written by component in customizeTypesMode.
+            return;
+        }
         directive
             .context()
             .writerDelegator()
@@ -566,6 +602,31 @@ final class DirectedTypeScriptCodegen
             .context()
             .writerDelegator()::useFileWriter;
 
+        boolean schemaMode = allowsSchemaGeneration(directive.settings());
+        CodegenProfiler.current().run("phase", "ClosureTypesGenerator", () -> new ClosureTypesGenerator(
+            directive.model(),
+            directive.settings(),
+            directive.symbolProvider(),
+            directive.fileManifest(),
+            directive.context().writerDelegator(),
+            typesClosure,
+            schemaMode
+        ).run());
+
+        if (schemaMode) {
+            CodegenProfiler.current().run("phase", "SchemaGenerator", () -> new SchemaGenerator(
+                directive.model(),
+                directive.fileManifest(),
+                directive.settings(),
+                directive.symbolProvider(),
+                typesClosure
+            ).run());
+        }
+
+        // no schemas file is written for a closure without schemas.
+        boolean exportSchemas = directive.fileManifest().hasFile(
+            Paths.get(CodegenUtils.SOURCE_FOLDER, SchemaGenerator.SCHEMAS_FOLDER, "schemas_0.ts")
+        );
         writerFactory.accept(Paths.get(CodegenUtils.SOURCE_FOLDER, "index.ts").toString(), writer -> {
             IndexGenerator.writeIndex(
                 directive.settings(),
@@ -573,19 +634,10 @@ final class DirectedTypeScriptCodegen
                 directive.symbolProvider(),
                 null,
                 writer,
-                modelIndexer
+                modelIndexer,
+                exportSchemas
             );
         });
-
-        if (allowsSchemaGeneration(directive.settings())) {
-            new SchemaGenerator(
-                directive.model(),
-                directive.fileManifest(),
-                directive.settings(),
-                directive.symbolProvider(),
-                directive.connectedShapes().values()
-            ).run();
-        }
     }
 
     @Override
@@ -596,6 +648,17 @@ final class DirectedTypeScriptCodegen
             directive.fileManifest(),
             SymbolDependency.gatherDependencies(directive.context().writerDelegator().getDependencies().stream())
         );
+
+        if (directive.settings().sizeReport()) {
+            // runs before the writers are flushed, so their contents are measured from the delegator.
+            CodegenProfiler.current().run("phase", "SizeReportGenerator", () -> new SizeReportGenerator(
+                directive.settings(),
+                directive.model(),
+                directive.symbolProvider(),
+                directive.fileManifest(),
+                directive.context().writerDelegator().getWriters()
+            ).run());
+        }
     }
 
     private static boolean allowsSchemaGeneration(TypeScriptSettings settings) {
@@ -704,7 +767,8 @@ final class DirectedTypeScriptCodegen
                         operation,
                         symbolProvider,
                         paginationWriter,
-                        aggregatedClientName
+                        aggregatedClientName,
+                        settings
                     ).run()
                 );
             }
@@ -731,16 +795,25 @@ final class DirectedTypeScriptCodegen
             }
         }
 
-        new SchemaGenerator(model, fileManifest, settings, symbolProvider).run();
+        CodegenProfiler.current().run(
+            "phase",
+            "SchemaGenerator",
+            () -> new SchemaGenerator(model, fileManifest, settings, symbolProvider).run()
+        );
 
         if (containedOperations.stream().anyMatch(operation -> operation.hasTrait(PaginatedTrait.ID))) {
             PaginationGenerator.writeIndex(model, service, fileManifest);
+            boolean hasSegmentedPaginators = settings.generateSegmentedPaginators()
+                && containedOperations.stream()
+                    .filter(operation -> operation.hasTrait(PaginatedTrait.ID))
+                    .anyMatch(operation -> PaginationGenerator.isSegmented(model, service, operation));
             delegator.useFileWriter(
                 PaginationGenerator.PAGINATION_INTERFACE_FILE,
                 paginationWriter -> PaginationGenerator.generateServicePaginationInterfaces(
                     aggregatedClientName,
                     serviceSymbol,
-                    paginationWriter
+                    paginationWriter,
+                    hasSegmentedPaginators
                 )
             );
         }
@@ -824,7 +897,15 @@ final class DirectedTypeScriptCodegen
     }
 
     private void generateEndpointV2(GenerateServiceDirective<TypeScriptCodegenContext, TypeScriptSettings> directive) {
-        new EndpointsV2Generator(directive.context().writerDelegator(), directive.settings(), directive.model()).run();
+        CodegenProfiler.current().run(
+            "phase",
+            "EndpointsV2Generator",
+            () -> new EndpointsV2Generator(
+                directive.context().writerDelegator(),
+                directive.settings(),
+                directive.model()
+            ).run()
+        );
     }
 
     private void generateServiceInterface(
@@ -37,6 +37,29 @@ final class IndexGenerator {
         ProtocolGenerator protocolGenerator,
         TypeScriptWriter writer,
         TypeScriptWriter modelIndexer
+    ) {
+        writeIndex(
+            settings,
+            model,
+            symbolProvider,
+            protocolGenerator,
+            writer,
+            modelIndexer,
+            SchemaGenerationAllowlist.allows(settings.getOptionalService().orElse(null), settings)
+        );
+    }
+
+    /**
+     * @param exportSchemas whether a schemas file was generated to be exported.
+     */
+    static void writeIndex(
+        TypeScriptSettings settings,
+        Model model,
+        SymbolProvider symbolProvider,
+        ProtocolGenerator protocolGenerator,
+        TypeScriptWriter writer,
+        TypeScriptWriter modelIndexer,
+        boolean exportSchemas
     ) {
         writer.write("/* eslint-disable */");
         settings
@@ -70,12 +93,7 @@ final class IndexGenerator {
             }
         }
 
-        if (
-            SchemaGenerationAllowlist.allows(
-                settings.getOptionalService().orElse(null),
-                settings
-            )
-        ) {
+        if (exportSchemas) {
             writer.write(
                 """
                 export * from "./schemas/schemas_0";"""
@@ -5,9 +5,13 @@
 package software.amazon.smithy.typescript.codegen;
 
 import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.regex.Pattern;
 import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.codegen.core.Symbol;
@@ -19,6 +23,7 @@ import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.PaginatedTrait;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
@@ -32,6 +37,21 @@ final class PaginationGenerator implements Runnable {
         "Interfaces.ts"
     ).toString();
 
+    /**
+     * Input member names that split a paginated result set into independently paginated
+     * segments, e.g. parallel scan segments, shards, or partitions.
+     */
+    private static final Set<String> SEGMENT_MEMBER_NAMES = Set.of(
+        "segment",
+        "shard",
+        "shardid",
+        "partition",
+        "partitionkey"
+    );
+    private static final Pattern INTEGER_SEGMENT_MEMBER = Pattern.compile("(?i).*(segment|shard|partition)$");
+    private static final String SEGMENT = "Segment";
+    private static final String TOTAL_SEGMENTS = "TotalSegments";
+
     private final TypeScriptWriter writer;
     private final String aggregatedClientName;
     private final PaginationInfo paginatedInfo;
@@ -43,6 +63,7 @@ final class PaginationGenerator implements Runnable {
 
     private final String operationName;
     private final String paginationType;
+    private final boolean segmented;
 
     PaginationGenerator(
         Model model,
@@ -50,7 +71,8 @@ final class PaginationGenerator implements Runnable {
         OperationShape operation,
         SymbolProvider symbolProvider,
         TypeScriptWriter writer,
-        String aggregatedClientName
+        String aggregatedClientName,
+        TypeScriptSettings settings
     ) {
         this.writer = writer;
         this.aggregatedClientName = aggregatedClientName;
@@ -69,6 +91,7 @@ final class PaginationGenerator implements Runnable {
         this.paginatedInfo = paginationInfo.orElseThrow(() -> {
             return new CodegenException("Expected Paginator to have pagination information.");
         });
+        this.segmented = settings.generateSegmentedPaginators() && isSegmented(model, paginatedInfo);
     }
 
     @Override
@@ -104,6 +127,9 @@ final class PaginationGenerator implements Runnable {
         );
 
         writePager();
+        if (segmented) {
+            writeSegmentedPager();
+        }
     }
 
     static String getOutputFileLocation(OperationShape operation) {
@@ -114,10 +140,54 @@ final class PaginationGenerator implements Runnable {
         ).toString();
     }
 
+    /**
+     * Whether a paginated operation models input members that split its result set into
+     * segments that can be paginated concurrently. The pagination token and page size
+     * members are never considered segment members. Other members qualify when their name is
+     * exactly a segment, shard, or partition name, or when it ends with one and the member
+     * targets an integer, so that cursors such as {@code ExclusiveStartShardId} do not.
+     *
+     * @param model Model containing the operation.
+     * @param service Service containing the operation.
+     * @param operation The paginated operation.
+     * @return true if the operation input has segment, shard, or partition members.
+     */
+    static boolean isSegmented(Model model, ServiceShape service, OperationShape operation) {
+        return PaginatedIndex.of(model)
+            .getPaginationInfo(service, operation)
+            .map(paginationInfo -> isSegmented(model, paginationInfo))
+            .orElse(false);
+    }
+
+    private static boolean isSegmented(Model model, PaginationInfo paginationInfo) {
+        Set<MemberShape> excluded = new HashSet<>();
+        excluded.add(paginationInfo.getInputTokenMember());
+        paginationInfo.getPageSizeMember().ifPresent(excluded::add);
+        return paginationInfo.getInput()
+            .getAllMembers()
+            .values()
+            .stream()
+            .filter(member -> !excluded.contains(member))
+            .anyMatch(member -> isSegmentMember(model, member));
+    }
+
+    private static boolean isSegmentMember(Model model, MemberShape member) {
+        String name = member.getMemberName();
+        if (SEGMENT_MEMBER_NAMES.contains(name.toLowerCase(Locale.US))) {
+            return true;
+        }
+        if (!INTEGER_SEGMENT_MEMBER.matcher(name).matches()) {
+            return false;
+        }
+        Shape target = model.expectShape(member.getTarget());
+        return target.isByteShape() || target.isShortShape() || target.isIntegerShape() || target.isLongShape();
+    }
+
     static void generateServicePaginationInterfaces(
         String aggregatedClientName,
         Symbol service,
-        TypeScriptWriter writer
+        TypeScriptWriter writer,
+        boolean hasSegmentedPaginators
     ) {
         writer.addTypeImport("PaginationConfiguration", null, TypeScriptDependency.SMITHY_TYPES);
         writer.addRelativeImport(service.getName(), service.getName(), Paths.get(".", service.getNamespace()));
@@ -131,6 +201,26 @@ final class PaginationGenerator implements Runnable {
                     writer.write("client: $L;", service.getName());
                 }
             );
+
+        if (hasSegmentedPaginators) {
+            writer.addTypeImportSubmodule(
+                "SegmentedPaginationOptions",
+                null,
+                TypeScriptDependency.SMITHY_CORE,
+                SmithyCoreSubmodules.CLIENT
+            );
+            writer.write("");
+            writer
+                .writeDocs("@public")
+                .write(
+                    """
+                    export interface $LSegmentedPaginationConfiguration
+                      extends $LPaginationConfiguration,
+                        SegmentedPaginationOptions {}""",
+                    aggregatedClientName,
+                    aggregatedClientName
+                );
+        }
     }
 
     private static String getModulePath(String fileLocation) {
@@ -199,4 +289,56 @@ final class PaginationGenerator implements Runnable {
             )
             .popState();
     }
+
+    private void writeSegmentedPager() {
+        writer.addImportSubmodule(
+            "createSegmentedPaginator",
+            null,
+            TypeScriptDependency.SMITHY_CORE,
+            SmithyCoreSubmodules.CLIENT
+        );
+        writer.addRelativeTypeImport(
+            aggregatedClientName + "SegmentedPaginationConfiguration",
+            null,
+            Paths.get(".", PAGINATION_INTERFACE_FILE.replace(".ts", ""))
+        );
+
+        // When the input models a total segment count, the segments can be derived from the input.
+        Map<String, MemberShape> members = paginatedInfo.getInput().getAllMembers();
+        String segmentMembers = members.containsKey(SEGMENT) && members.containsKey(TOTAL_SEGMENTS)
+            ? String.format(", { segment: \"%s\", totalSegments: \"%s\" }", SEGMENT, TOTAL_SEGMENTS)
+            : "";
+
+        writer.write("");
+        writer.writeDocs(
+            "Paginates " + operationName + " over multiple segments concurrently, merging their pages.\n"
+                + "Each segment is merged into a copy of the input to form that segment's requests.\n\n"
+                + "@public"
+        );
+
+        writer
+            .pushState()
+            .putContext("operation", operationName)
+            .putContext("aggClient", aggregatedClientName)
+            .putContext("inputType", inputSymbol.getName())
+            .putContext("outputType", outputSymbol.getName())
+            .putContext("paginationType", paginationType)
+            .putContext("segmentMembers", segmentMembers)
+            .putContext("segmentsOptional", segmentMembers.isEmpty() ? "" : "?")
+            .write(
+                """
+                export const paginate${operation:L}Segmented: (
+                  config: ${aggClient:L}SegmentedPaginationConfiguration,
+                  input: ${inputType:L},
+                  segments${segmentsOptional:L}: Partial<${inputType:L}>[],
+                  ...rest: any[]
+                ) => Paginator<${outputType:L}> = createSegmentedPaginator<
+                  ${paginationType:L},
+                  ${inputType:L},
+                  ${outputType:L}
+                >(paginate${operation:L}${segmentMembers:L});
+                """
+            )
+            .popState();
+    }
 }
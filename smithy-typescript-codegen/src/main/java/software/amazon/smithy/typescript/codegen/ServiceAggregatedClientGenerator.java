@@ -245,7 +245,18 @@ final class ServiceAggregatedClientGenerator implements Runnable {
                         .forEach((String waiterName, Waiter waiter) -> {
                             String waiterLocalName = "waitUntil" + StringUtils.capitalize(waiterName);
 
-                            writer.addTypeImport("WaiterConfiguration", null, TypeScriptDependency.SMITHY_TYPES);
+                            String waiterConfigType = "WaiterConfiguration";
+                            if (settings.adaptiveWaiters()) {
+                                waiterConfigType = "AdaptiveWaiterConfiguration";
+                                writer.addTypeImportSubmodule(
+                                    waiterConfigType,
+                                    null,
+                                    TypeScriptDependency.SMITHY_CORE,
+                                    SmithyCoreSubmodules.CLIENT
+                                );
+                            } else {
+                                writer.addTypeImport(waiterConfigType, null, TypeScriptDependency.SMITHY_TYPES);
+                            }
                             writer.addTypeImportSubmodule(
                                 "WaiterResult",
                                 null,
@@ -279,7 +290,7 @@ final class ServiceAggregatedClientGenerator implements Runnable {
                                 """,
                                 waiterLocalName,
                                 input,
-                                "WaiterConfiguration<" + aggregateClientName + ">",
+                                waiterConfigType + "<" + aggregateClientName + ">",
                                 waitUntilResultType
                             );
                         });
@@ -0,0 +1,306 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.codegen.core.CodegenException;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.typescript.codegen.endpointsV2.EndpointsV2Generator;
+import software.amazon.smithy.typescript.codegen.knowledge.ServiceClosure;
+import software.amazon.smithy.typescript.codegen.schema.SchemaGenerator;
+import software.amazon.smithy.utils.SetUtils;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Measures the generated files and attributes their bytes to commands and shapes, writing
+ * {@code size-report.json} and {@code size-report.md}, and fails codegen when a configured
+ * size budget is exceeded.
+ *
+ * <p>Model and schema files contain many shapes, so their bytes are divided among the shapes
+ * they contain in proportion to each shape's member count. Bytes attributed to a command are
+ * estimates, but are consistent between runs, so they are suitable for catching regressions.
+ */
+@SmithyInternalApi
+final class SizeReportGenerator {
+
+    static final String REPORT_JSON = "size-report.json";
+    static final String REPORT_MARKDOWN = "size-report.md";
+
+    private static final String TOTAL = "total";
+    private static final String COMMAND = "command";
+    private static final String SCHEMAS = "schemas";
+    private static final String ENDPOINT_BDD = "endpointBdd";
+    private static final Set<String> BUDGETS = SetUtils.of(TOTAL, COMMAND, SCHEMAS, ENDPOINT_BDD);
+    private static final String SCHEMAS_FILE = Paths.get(
+        CodegenUtils.SOURCE_FOLDER,
+        SchemaGenerator.SCHEMAS_FOLDER,
+        "schemas_0.ts"
+    ).toString();
+    private static final String ENDPOINT_BDD_FILE = Paths.get(
+        CodegenUtils.SOURCE_FOLDER,
+        EndpointsV2Generator.ENDPOINT_FOLDER,
+        "bdd.ts"
+    ).toString();
+
+    private final TypeScriptSettings settings;
+    private final SymbolProvider symbolProvider;
+    private final FileManifest fileManifest;
+    private final Map<String, TypeScriptWriter> writers;
+    private final ServiceClosure closure;
+
+    SizeReportGenerator(
+        TypeScriptSettings settings,
+        Model model,
+        SymbolProvider symbolProvider,
+        FileManifest fileManifest,
+        Map<String, TypeScriptWriter> writers
+    ) {
+        this.settings = settings;
+        this.symbolProvider = symbolProvider;
+        this.fileManifest = fileManifest;
+        this.writers = writers;
+        closure = ServiceClosure.of(model, settings.getService(model));
+    }
+
+    /**
+     * Writes the report, then checks the budgets.
+     *
+     * @throws CodegenException when a budget is exceeded or is not recognized.
+     */
+    void run() {
+        ObjectNode budgets = settings.getSizeBudgets();
+        for (String name : budgets.getStringMap().keySet()) {
+            if (!BUDGETS.contains(name)) {
+                throw new CodegenException("Unknown size budget '" + name + "', expected one of " + BUDGETS + ".");
+            }
+        }
+
+        Map<String, Long> files = measureFiles();
+        long total = files.values().stream().mapToLong(Long::longValue).sum();
+        Map<Shape, Long> shapeBytes = attributeShapeBytes(files);
+
+        List<OperationSize> operations = new ArrayList<>();
+        BitSet shared = closure.getShapesSharedBy(2);
+        for (OperationShape operation : closure.getOperationShapes()) {
+            String commandFile = normalize(symbolProvider.toSymbol(operation).getDefinitionFile());
+            BitSet reachable = closure.getOperationClosure(operation);
+            BitSet exclusive = (BitSet) reachable.clone();
+            exclusive.andNot(shared);
+            operations.add(new OperationSize(
+                symbolProvider.toSymbol(operation).getName(),
+                files.getOrDefault(commandFile, 0L),
+                reachable.cardinality(),
+                sum(reachable, shapeBytes),
+                sum(exclusive, shapeBytes)
+            ));
+        }
+        operations.sort(Comparator.comparingLong(OperationSize::closureBytes).reversed());
+
+        List<String> violations = new ArrayList<>();
+        checkBudget(budgets, TOTAL, "total", total, violations);
+        checkBudget(budgets, SCHEMAS, SCHEMAS_FILE, files.getOrDefault(SCHEMAS_FILE, 0L), violations);
+        checkBudget(budgets, ENDPOINT_BDD, ENDPOINT_BDD_FILE, files.getOrDefault(ENDPOINT_BDD_FILE, 0L), violations);
+        for (OperationSize operation : operations) {
+            checkBudget(budgets, COMMAND, operation.name(), operation.commandBytes(), violations);
+        }
+
+        writeJson(files, total, shapeBytes, operations, violations);
+        writeMarkdown(files, total, operations, violations);
+
+        if (!violations.isEmpty()) {
+            throw new CodegenException(
+                "Generated code exceeds the configured size budgets (see " + REPORT_MARKDOWN + "):\n"
+                    + String.join("\n", violations)
+            );
+        }
+    }
+
+    /**
+     * @return bytes of every file written so far, and of every file the writers will write.
+     */
+    private Map<String, Long> measureFiles() {
+        Map<String, Long> files = new TreeMap<>();
+        for (Path path : fileManifest.getFiles()) {
+            try {
+                if (Files.isRegularFile(path)) {
+                    files.put(normalize(fileManifest.getBaseDir().relativize(path).toString()), Files.size(path));
+                }
+            } catch (IOException e) {
+                throw new CodegenException("Failed to measure " + path, e);
+            }
+        }
+        writers.forEach((filename, writer) -> {
+            files.put(normalize(filename), (long) writer.toString().getBytes(StandardCharsets.UTF_8).length);
+        });
+        files.remove(REPORT_JSON);
+        files.remove(REPORT_MARKDOWN);
+        return files;
+    }
+
+    /**
+     * Divides the bytes of each file among the shapes defined in it, and the bytes of the
+     * schemas file among all shapes, in proportion to 1 + member count.
+     */
+    private Map<Shape, Long> attributeShapeBytes(Map<String, Long> files) {
+        Map<String, List<Shape>> shapesByFile = new HashMap<>();
+        List<Shape> shapes = new ArrayList<>();
+        for (Shape shape : closure.getShapes(closure.getUnionClosure(closure.getOperationShapes()))) {
+            if (shape.isOperationShape()) {
+                continue;
+            }
+            shapes.add(shape);
+            String file = normalize(symbolProvider.toSymbol(shape).getDefinitionFile());
+            if (!file.isEmpty()) {
+                shapesByFile.computeIfAbsent(file, f -> new ArrayList<>()).add(shape);
+            }
+        }
+        shapesByFile.put(SCHEMAS_FILE, shapes);
+
+        Map<Shape, Long> result = new HashMap<>();
+        shapesByFile.forEach((file, fileShapes) -> {
+            long bytes = files.getOrDefault(file, 0L);
+            long weights = fileShapes.stream().mapToLong(SizeReportGenerator::weight).sum();
+            if (bytes == 0 || weights == 0) {
+                return;
+            }
+            for (Shape shape : fileShapes) {
+                result.merge(shape, bytes * weight(shape) / weights, Long::sum);
+            }
+        });
+        return result;
+    }
+
+    private long sum(BitSet shapes, Map<Shape, Long> shapeBytes) {
+        return shapes.stream().mapToLong(i -> shapeBytes.getOrDefault(closure.getShape(i), 0L)).sum();
+    }
+
+    private void writeJson(
+        Map<String, Long> files,
+        long total,
+        Map<Shape, Long> shapeBytes,
+        List<OperationSize> operations,
+        List<String> violations
+    ) {
+        ArrayNode.Builder fileNodes = ArrayNode.builder();
+        files.forEach((path, bytes) -> fileNodes.withValue(
+            Node.objectNodeBuilder().withMember("path", path).withMember("bytes", bytes).build()
+        ));
+
+        ArrayNode.Builder operationNodes = ArrayNode.builder();
+        for (OperationSize operation : operations) {
+            operationNodes.withValue(
+                Node.objectNodeBuilder()
+                    .withMember("name", operation.name())
+                    .withMember("commandBytes", operation.commandBytes())
+                    .withMember("closureShapes", operation.closureShapes())
+                    .withMember("closureBytes", operation.closureBytes())
+                    .withMember("exclusiveBytes", operation.exclusiveBytes())
+                    .build()
+            );
+        }
+
+        ArrayNode.Builder shapeNodes = ArrayNode.builder();
+        new TreeMap<>(shapeBytes).forEach((shape, bytes) -> shapeNodes.withValue(
+            Node.objectNodeBuilder().withMember("id", shape.getId().toString()).withMember("bytes", bytes).build()
+        ));
+
+        ObjectNode report = Node.objectNodeBuilder()
+            .withMember("totalBytes", total)
+            .withMember("budgets", settings.getSizeBudgets())
+            .withMember("violations", ArrayNode.fromStrings(violations))
+            .withMember("files", fileNodes.build())
+            .withMember("operations", operationNodes.build())
+            .withMember("shapes", shapeNodes.build())
+            .build();
+        fileManifest.writeFile(REPORT_JSON, Node.prettyPrintJson(report) + "\n");
+    }
+
+    private void writeMarkdown(Map<String, Long> files, long total, List<OperationSize> operations,
+        List<String> violations) {
+        StringBuilder md = new StringBuilder();
+        md.append("# Generated code size\n\n");
+        md.append("Total: ").append(total).append(" bytes in ").append(files.size()).append(" files.\n");
+        if (!violations.isEmpty()) {
+            md.append("\n## Budget violations\n\n");
+            violations.forEach(v -> md.append("- ").append(v).append('\n'));
+        }
+
+        md.append("\n## Largest files\n\n| File | Bytes |\n| --- | ---: |\n");
+        files.entrySet()
+            .stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(20)
+            .forEach(e -> md.append("| `").append(e.getKey()).append("` | ").append(e.getValue()).append(" |\n"));
+
+        md.append("\n## Commands\n\n");
+        md.append("Closure bytes are estimated from the model and schema bytes of the shapes the command reaches.\n");
+        md.append("Exclusive bytes are those of shapes reached by no other command.\n\n");
+        md.append("| Command | Command bytes | Closure shapes | Closure bytes | Exclusive bytes |\n");
+        md.append("| --- | ---: | ---: | ---: | ---: |\n");
+        for (OperationSize operation : operations) {
+            md.append("| ").append(operation.name())
+                .append(" | ").append(operation.commandBytes())
+                .append(" | ").append(operation.closureShapes())
+                .append(" | ").append(operation.closureBytes())
+                .append(" | ").append(operation.exclusiveBytes())
+                .append(" |\n");
+        }
+        fileManifest.writeFile(REPORT_MARKDOWN, md.toString());
+    }
+
+    private static void checkBudget(ObjectNode budgets, String budget, String subject, long bytes,
+        List<String> violations) {
+        budgets.getNumberMember(budget).ifPresent(limit -> {
+            if (bytes > limit.getValue().longValue()) {
+                violations.add(
+                    "%s: %d bytes exceeds the %s budget of %d bytes.".formatted(
+                        subject,
+                        bytes,
+                        budget,
+                        limit.getValue().longValue()
+                    )
+                );
+            }
+        });
+    }
+
+    private static long weight(Shape shape) {
+        return 1 + shape.members().size();
+    }
+
+    private static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "";
+        }
+        return Paths.get(path).normalize().toString();
+    }
+
+    private record OperationSize(
+        String name,
+        long commandBytes,
+        long closureShapes,
+        long closureBytes,
+        long exclusiveBytes
+    ) {}
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.build.SmithyBuildPlugin;
+import software.amazon.smithy.codegen.core.CodegenException;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.typescript.codegen.util.CodegenProfiler;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Generates multiple services from one model in a single plugin run.
+ *
+ * <p>Each entry of {@code services} contains the settings of {@link TypeScriptCodegenPlugin},
+ * merged over the optional {@code defaults}, and is generated to the subdirectory given by its
+ * {@code outputDirectory}, which defaults to its {@code package}. Services are generated
+ * concurrently by at most {@code concurrency} threads, which defaults to the number of processors.
+ *
+ * <p>All services are generated from the same {@link Model} instance, so that knowledge indexes
+ * computed from it, such as {@code TopDownIndex}, {@code SerdeElisionIndex}, and the schema
+ * indexes, are computed once and shared by every service that does not change the model.
+ *
+ * <p>With {@code verify}, each service is then generated again serially, from its own copy of
+ * the model, and codegen fails if any generated file differs from the batch output, reporting
+ * the first differing file and line of each service.
+ *
+ * <pre>{@code
+ * {
+ *   "plugins": {
+ *     "typescript-codegen-batch": {
+ *       "concurrency": 4,
+ *       "defaults": { "packageVersion": "0.0.1" },
+ *       "services": [
+ *         { "service": "com.example#Foo", "package": "foo-client" },
+ *         { "service": "com.example#Bar", "package": "bar-client" }
+ *       ]
+ *     }
+ *   }
+ * }
+ * }</pre>
+ */
+@SmithyInternalApi
+public final class TypeScriptBatchCodegenPlugin implements SmithyBuildPlugin {
+
+    private static final Logger LOGGER = Logger.getLogger(TypeScriptBatchCodegenPlugin.class.getName());
+
+    private static final String SERVICES = "services";
+    private static final String DEFAULTS = "defaults";
+    private static final String CONCURRENCY = "concurrency";
+    private static final String OUTPUT_DIRECTORY = "outputDirectory";
+    private static final String VERIFY = "verify";
+
+    @Override
+    public String getName() {
+        return "typescript-codegen-batch";
+    }
+
+    @Override
+    public void execute(PluginContext context) {
+        ObjectNode config = context.getSettings();
+        config.warnIfAdditionalProperties(List.of(SERVICES, DEFAULTS, CONCURRENCY, VERIFY));
+        boolean verify = config.getBooleanMemberOrDefault(VERIFY, false);
+        ObjectNode defaults = config.getObjectMember(DEFAULTS).orElse(Node.objectNode());
+        int concurrency = config.getNumberMember(CONCURRENCY)
+            .map(n -> n.getValue().intValue())
+            .orElse(Runtime.getRuntime().availableProcessors());
+        if (concurrency < 1) {
+            throw new CodegenException("The '" + CONCURRENCY + "' setting must be at least 1.");
+        }
+
+        // Mixins are flattened once up front, so that the default codegen transforms of each
+        // service have nothing left to rewrite and return the shared model as it is.
+        Model model = ModelTransformer.create().flattenAndRemoveMixins(context.getModel());
+
+        Map<String, ServiceRun> runs = new LinkedHashMap<>();
+        for (Node entry : config.expectArrayMember(SERVICES).getElements()) {
+            ObjectNode serviceConfig = defaults.merge(entry.expectObjectNode());
+            String outputDirectory = serviceConfig.getStringMemberOrDefault(
+                OUTPUT_DIRECTORY,
+                serviceConfig.expectStringMember("package").getValue()
+            );
+            serviceConfig = serviceConfig.withoutMember(OUTPUT_DIRECTORY);
+            TypeScriptSettings settings = TypeScriptSettings.fromWithModes(model, serviceConfig);
+            SubdirectoryFileManifest fileManifest = new SubdirectoryFileManifest(
+                context.getFileManifest(),
+                outputDirectory,
+                verify
+            );
+            PluginContext serviceContext = PluginContext.builder()
+                .model(model)
+                .fileManifest(fileManifest)
+                .settings(serviceConfig)
+                .build();
+            if (runs.put(outputDirectory, new ServiceRun(serviceContext, settings, fileManifest)) != null) {
+                throw new CodegenException("Multiple services are generated to '" + outputDirectory + "'.");
+            }
+        }
+        checkSharedIndexes(runs.values());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, Math.max(1, runs.size())));
+        try {
+            Map<String, Future<?>> futures = new LinkedHashMap<>();
+            runs.forEach((outputDirectory, run) -> futures.put(outputDirectory, executor.submit(() -> {
+                LOGGER.fine(() -> "Generating " + run.settings().getService() + " to " + outputDirectory);
+                new TypeScriptCodegenPlugin().execute(run.context(), run.settings());
+            })));
+            awaitAll(futures);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (verify) {
+            verify(context.getModel(), runs);
+        }
+    }
+
+    /**
+     * Generates each service again, one at a time and each from its own copy of the original model,
+     * so that no index, cache, or thread is shared, and compares the output with that of the batch.
+     */
+    private static void verify(Model original, Map<String, ServiceRun> runs) {
+        List<String> differences = new ArrayList<>();
+        runs.forEach((outputDirectory, run) -> {
+            Model model = original.toBuilder().build();
+            ObjectNode serviceConfig = run.context().getSettings();
+            MockManifest expected = new MockManifest();
+            new TypeScriptCodegenPlugin().execute(
+                PluginContext.builder().model(model).fileManifest(expected).settings(serviceConfig).build(),
+                TypeScriptSettings.fromWithModes(model, serviceConfig)
+            );
+
+            Map<Path, byte[]> expectedFiles = new TreeMap<>();
+            for (Path file : expected.getFiles()) {
+                expectedFiles.put(expected.getBaseDir().relativize(file), expected.expectFileBytes(file));
+            }
+            firstDifference(expectedFiles, run.fileManifest().getWrittenFiles())
+                .ifPresent(difference -> differences.add("- " + outputDirectory + "/" + difference));
+        });
+        if (!differences.isEmpty()) {
+            throw new CodegenException(
+                "Batch output differs from serial output for " + differences.size() + " of " + runs.size()
+                    + " services:\n" + String.join("\n", differences)
+            );
+        }
+    }
+
+    /**
+     * @return the first file, in path order, that differs, and its first differing line.
+     */
+    static Optional<String> firstDifference(Map<Path, byte[]> expected, Map<Path, byte[]> actual) {
+        Set<Path> files = new TreeSet<>(expected.keySet());
+        files.addAll(actual.keySet());
+        files.remove(Paths.get(CodegenProfiler.PROFILE_FILE));
+        for (Path file : files) {
+            byte[] expectedBytes = expected.get(file);
+            byte[] actualBytes = actual.get(file);
+            if (expectedBytes == null) {
+                return Optional.of(file + ": not generated serially");
+            } else if (actualBytes == null) {
+                return Optional.of(file + ": not generated by the batch");
+            } else if (!Arrays.equals(expectedBytes, actualBytes)) {
+                String[] expectedLines = new String(expectedBytes, StandardCharsets.UTF_8).split("\n", -1);
+                String[] actualLines = new String(actualBytes, StandardCharsets.UTF_8).split("\n", -1);
+                int line = 0;
+                while (line < expectedLines.length
+                    && line < actualLines.length
+                    && expectedLines[line].equals(actualLines[line])) {
+                    ++line;
+                }
+                return Optional.of(
+                    "%s:%d: expected `%s`, but was `%s`".formatted(
+                        file,
+                        line + 1,
+                        line < expectedLines.length ? expectedLines[line] : "<end of file>",
+                        line < actualLines.length ? actualLines[line] : "<end of file>"
+                    )
+                );
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Server generation enables constraint traits on the shared {@code SchemaTraitFilterIndex},
+     * which would also add them to the schemas of clients generated from the same model.
+     */
+    private static void checkSharedIndexes(Iterable<ServiceRun> runs) {
+        Set<Boolean> serverSdk = new HashSet<>();
+        for (ServiceRun run : runs) {
+            serverSdk.add(run.settings().generateServerSdk());
+        }
+        if (serverSdk.size() > 1) {
+            throw new CodegenException(
+                "Server and client services cannot be generated in the same batch; use a batch for each."
+            );
+        }
+    }
+
+    private static void awaitAll(Map<String, Future<?>> futures) {
+        List<String> failed = new ArrayList<>();
+        List<Throwable> causes = new ArrayList<>();
+        for (Map.Entry<String, Future<?>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CodegenException("Interrupted while generating " + entry.getKey(), e);
+            } catch (ExecutionException e) {
+                failed.add("- " + entry.getKey() + ": " + e.getCause().getMessage());
+                causes.add(e.getCause());
+            }
+        }
+        if (!causes.isEmpty()) {
+            CodegenException e = new CodegenException(
+                "Failed to generate " + failed.size() + " of " + futures.size() + " services:\n"
+                    + String.join("\n", failed),
+                causes.get(0)
+            );
+            causes.stream().skip(1).forEach(e::addSuppressed);
+            throw e;
+        }
+    }
+
+    private record ServiceRun(
+        PluginContext context,
+        TypeScriptSettings settings,
+        SubdirectoryFileManifest fileManifest
+    ) {}
+
+    /**
+     * Writes to a subdirectory of the plugin's file manifest, which may be written by other
+     * services concurrently, and optionally keeps the contents written for verification.
+     */
+    private static final class SubdirectoryFileManifest implements FileManifest {
+
+        private final FileManifest parent;
+        private final Path baseDir;
+        private final Map<Path, byte[]> writtenFiles;
+
+        SubdirectoryFileManifest(FileManifest parent, String directory, boolean keepContents) {
+            this.parent = parent;
+            writtenFiles = keepContents ? new TreeMap<>() : null;
+            baseDir = parent.getBaseDir().resolve(directory).normalize();
+            if (!baseDir.startsWith(parent.getBaseDir()) || baseDir.equals(parent.getBaseDir())) {
+                throw new CodegenException("Invalid output directory: " + directory);
+            }
+        }
+
+        @Override
+        public Path getBaseDir() {
+            return baseDir;
+        }
+
+        @Override
+        public Set<Path> getFiles() {
+            synchronized (parent) {
+                return parent.getFiles()
+                    .stream()
+                    .filter(path -> path.startsWith(baseDir))
+                    .collect(Collectors.toSet());
+            }
+        }
+
+        @Override
+        public Path addFile(Path path) {
+            synchronized (parent) {
+                return parent.addFile(resolvePath(path));
+            }
+        }
+
+        @Override
+        public Path writeFile(Path path, Reader fileContentsReader) {
+            if (writtenFiles != null) {
+                StringWriter contents = new StringWriter();
+                try {
+                    fileContentsReader.transferTo(contents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return writeFile(path, new ByteArrayInputStream(contents.toString().getBytes(StandardCharsets.UTF_8)));
+            }
+            synchronized (parent) {
+                return parent.writeFile(resolvePath(path), fileContentsReader);
+            }
+        }
+
+        @Override
+        public Path writeFile(Path path, InputStream fileContentsInputStream) {
+            Path resolved = resolvePath(path);
+            if (writtenFiles != null) {
+                byte[] contents;
+                try {
+                    contents = fileContentsInputStream.readAllBytes();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                synchronized (parent) {
+                    writtenFiles.put(baseDir.relativize(resolved), contents);
+                    return parent.writeFile(resolved, new ByteArrayInputStream(contents));
+                }
+            }
+            synchronized (parent) {
+                return parent.writeFile(resolved, fileContentsInputStream);
+            }
+        }
+
+        Map<Path, byte[]> getWrittenFiles() {
+            synchronized (parent) {
+                return new TreeMap<>(writtenFiles);
+            }
+        }
+    }
+}
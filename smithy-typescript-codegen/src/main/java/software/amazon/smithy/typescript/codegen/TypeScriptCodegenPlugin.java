@@ -11,7 +11,9 @@ import software.amazon.smithy.build.PluginContext;
 import software.amazon.smithy.build.SmithyBuildPlugin;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.codegen.core.directed.CodegenDirector;
+import software.amazon.smithy.codegen.core.directed.DirectedCodegen;
 import software.amazon.smithy.typescript.codegen.integration.TypeScriptIntegration;
+import software.amazon.smithy.typescript.codegen.util.CodegenProfiler;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
 /**
@@ -77,7 +79,13 @@ public class TypeScriptCodegenPlugin implements SmithyBuildPlugin {
         execute(context, settings);
     }
 
-    private void execute(PluginContext context, TypeScriptSettings settings) {
+    /**
+     * Runs codegen with settings already parsed from the plugin context.
+     *
+     * @param context the plugin context.
+     * @param settings settings parsed from the context's settings.
+     */
+    void execute(PluginContext context, TypeScriptSettings settings) {
         if (settings.generateTypes() && !settings.isTypesOnly()) {
             // TODO: Combined mode (types alongside client/server) requires generating schemas over
             // the full connected-shape closure. Keep the mode set in settings so dispatch can be
@@ -88,6 +96,20 @@ public class TypeScriptCodegenPlugin implements SmithyBuildPlugin {
             );
         }
 
+        if (!settings.profileCodegen()) {
+            executeMode(context, settings);
+            return;
+        }
+        CodegenProfiler profiler = CodegenProfiler.begin();
+        try {
+            profiler.run("phase", "execute", () -> executeMode(context, settings));
+        } finally {
+            CodegenProfiler.end();
+        }
+        profiler.write(context.getFileManifest());
+    }
+
+    private void executeMode(PluginContext context, TypeScriptSettings settings) {
         if (settings.isTypesOnly()) {
             executeTypesMode(context, settings);
         } else {
@@ -135,7 +157,10 @@ public class TypeScriptCodegenPlugin implements SmithyBuildPlugin {
         CodegenDirector<TypeScriptWriter, TypeScriptIntegration, TypeScriptCodegenContext, TypeScriptSettings> runner =
             new CodegenDirector<>();
 
-        runner.directedCodegen(new DirectedTypeScriptCodegen());
+        CodegenProfiler profiler = CodegenProfiler.current();
+        DirectedCodegen<TypeScriptCodegenContext, TypeScriptSettings, TypeScriptIntegration> directedCodegen =
+            new DirectedTypeScriptCodegen();
+        runner.directedCodegen(profiler.profile(DirectedCodegen.class, directedCodegen, "directive", "codegen"));
         runner.integrationClass(TypeScriptIntegration.class);
         runner.fileManifest(context.getFileManifest());
         runner.model(context.getModel());
@@ -158,6 +183,12 @@ public class TypeScriptCodegenPlugin implements SmithyBuildPlugin {
                     }
                     return matchesSettings;
                 })
+                .map(integration -> profiler.profile(
+                    TypeScriptIntegration.class,
+                    integration,
+                    "integration",
+                    integration.name()
+                ))
                 .iterator()
         );
 
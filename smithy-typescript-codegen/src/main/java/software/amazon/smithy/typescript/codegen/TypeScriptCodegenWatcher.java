@@ -0,0 +1,267 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.build.SmithyBuildPlugin;
+import software.amazon.smithy.build.model.SmithyBuildConfig;
+import software.amazon.smithy.codegen.core.CodegenException;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Regenerates code whenever the model changes, in a long-lived process.
+ *
+ * <p>Compared to running smithy-build for each change, the JVM, the loaded codegen classes,
+ * and the prelude stay warm. Code is generated in memory, and only the files whose contents
+ * changed are written to the output directory, so that their timestamps, and the incremental
+ * builds and file watchers downstream of them, are undisturbed by unchanged files. Files that
+ * are no longer generated are deleted.
+ *
+ * <p>Usage: {@code TypeScriptCodegenWatcher <smithy-build.json> <output directory> [plugin]},
+ * where the sources, imports, and plugin settings are read from the smithy-build config. Relative
+ * sources and imports are resolved against the directory of the config, as smithy-build does. The
+ * plugin defaults to {@code typescript-codegen}.
+ */
+@SmithyInternalApi
+public final class TypeScriptCodegenWatcher {
+
+    private static final Logger LOGGER = Logger.getLogger(TypeScriptCodegenWatcher.class.getName());
+
+    /**
+     * Editors often write a file in several steps, so changes are collected until none
+     * arrive for this long before regenerating.
+     */
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final List<Path> sources;
+    private final SmithyBuildPlugin plugin;
+    private final ObjectNode settings;
+    private final Path outputDirectory;
+    private final Map<Path, byte[]> writtenDigests = new HashMap<>();
+
+    /**
+     * @param sources - model files or directories.
+     * @param plugin - codegen plugin to run.
+     * @param settings - plugin settings.
+     * @param outputDirectory - directory the plugin generates to.
+     */
+    public TypeScriptCodegenWatcher(
+        List<Path> sources,
+        SmithyBuildPlugin plugin,
+        ObjectNode settings,
+        Path outputDirectory
+    ) {
+        this.sources = List.copyOf(sources);
+        this.plugin = plugin;
+        this.settings = settings;
+        this.outputDirectory = outputDirectory.toAbsolutePath().normalize();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException(
+                "Usage: TypeScriptCodegenWatcher <smithy-build.json> <output directory> [plugin]"
+            );
+        }
+        Path configFile = Paths.get(args[0]);
+        SmithyBuildConfig config = SmithyBuildConfig.load(configFile);
+        String pluginName = args.length == 3 ? args[2] : "typescript-codegen";
+        ObjectNode settings = config.getPlugins().get(pluginName);
+        if (settings == null) {
+            throw new CodegenException("No settings for plugin '" + pluginName + "' in " + args[0]);
+        }
+        ClassLoader classLoader = TypeScriptCodegenWatcher.class.getClassLoader();
+        SmithyBuildPlugin plugin = SmithyBuildPlugin.createServiceFactory(classLoader)
+            .apply(pluginName)
+            .orElseThrow(() -> new CodegenException("Unknown plugin '" + pluginName + "'"));
+
+        List<Path> sources = resolveSources(config, configFile);
+        new TypeScriptCodegenWatcher(sources, plugin, settings, Paths.get(args[1])).watch();
+    }
+
+    /**
+     * @param config - smithy-build config.
+     * @param configFile - path of the config.
+     * @return the sources and imports of the config, resolved against the directory of the config.
+     */
+    static List<Path> resolveSources(SmithyBuildConfig config, Path configFile) {
+        Path configDirectory = configFile.toAbsolutePath().normalize().getParent();
+        List<Path> sources = new ArrayList<>();
+        Stream.concat(config.getSources().stream(), config.getImports().stream())
+            .map(source -> configDirectory.resolve(source).normalize())
+            .forEach(sources::add);
+        return sources;
+    }
+
+    /**
+     * Generates code once, writing only the files that changed.
+     *
+     * @return the written and deleted files, relative to the output directory, or an empty set
+     *         when the model is invalid.
+     */
+    public Set<Path> generate() {
+        ModelAssembler assembler = Model.assembler().discoverModels(getClass().getClassLoader());
+        sources.forEach(assembler::addImport);
+        ValidatedResult<Model> result = assembler.assemble();
+        if (result.isBroken()) {
+            // keep the previous output, and wait for the model to be fixed.
+            result.getValidationEvents().forEach(event -> LOGGER.severe(event.toString()));
+            return Set.of();
+        }
+
+        MockManifest manifest = new MockManifest(outputDirectory, MockManifest.StoreMode.IN_MEMORY);
+        plugin.execute(
+            PluginContext.builder()
+                .model(result.unwrap())
+                .fileManifest(manifest)
+                .settings(settings)
+                .build()
+        );
+
+        Set<Path> changed = new TreeSet<>();
+        Map<Path, byte[]> digests = new HashMap<>();
+        try {
+            for (Path file : manifest.getFiles()) {
+                byte[] contents = manifest.expectFileBytes(file);
+                byte[] digest = digest(contents);
+                digests.put(file, digest);
+                if (!Arrays.equals(digest, writtenDigests.get(file)) && !isOnDisk(file, digest)) {
+                    Files.createDirectories(file.getParent());
+                    Files.write(file, contents);
+                    changed.add(outputDirectory.relativize(file));
+                }
+            }
+            for (Path file : writtenDigests.keySet()) {
+                if (!digests.containsKey(file) && Files.deleteIfExists(file)) {
+                    changed.add(outputDirectory.relativize(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writtenDigests.clear();
+        writtenDigests.putAll(digests);
+        return changed;
+    }
+
+    /**
+     * Generates code, then regenerates it after each change to the model sources until interrupted.
+     */
+    public void watch() throws IOException, InterruptedException {
+        List<Path> directorySources = new ArrayList<>();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            for (Path source : sources) {
+                Path absoluteSource = source.toAbsolutePath().normalize();
+                if (Files.isDirectory(absoluteSource)) {
+                    directorySources.add(absoluteSource);
+                }
+                register(watchService, absoluteSource);
+            }
+            regenerate();
+            while (true) {
+                WatchKey key = watchService.take();
+                do {
+                    registerCreatedDirectories(watchService, key, directorySources);
+                    key.reset();
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                regenerate();
+            }
+        }
+    }
+
+    private void regenerate() {
+        long start = System.nanoTime();
+        try {
+            Set<Path> changed = generate();
+            LOGGER.info(() -> "Regenerated in %d ms, %d files changed".formatted(
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                changed.size()
+            ));
+        } catch (RuntimeException e) {
+            // the daemon outlives failed generations, e.g. of a model that is valid but not supported.
+            LOGGER.severe("Code generation failed: " + e);
+        }
+    }
+
+    private static void register(WatchService watchService, Path source) throws IOException {
+        if (!Files.isDirectory(source)) {
+            // files are watched through their directory.
+            source.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            return;
+        }
+        try (Stream<Path> directories = Files.walk(source)) {
+            for (Path directory : directories.filter(Files::isDirectory).toList()) {
+                directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            }
+        }
+    }
+
+    /**
+     * Watches the directories created under directory sources after they were registered,
+     * which the watch service does not do on its own.
+     */
+    private static void registerCreatedDirectories(
+        WatchService watchService,
+        WatchKey key,
+        List<Path> directorySources
+    ) throws IOException {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() != ENTRY_CREATE || !(event.context() instanceof Path name)) {
+                continue;
+            }
+            Path created = directory.resolve(name);
+            if (Files.isDirectory(created) && directorySources.stream().anyMatch(created::startsWith)) {
+                register(watchService, created);
+            }
+        }
+    }
+
+    /**
+     * Avoids rewriting files left by a previous process when they are already up-to-date.
+     */
+    private static boolean isOnDisk(Path file, byte[] digest) throws IOException {
+        return Files.isRegularFile(file) && Arrays.equals(digest, digest(Files.readAllBytes(file)));
+    }
+
+    private static byte[] digest(byte[] contents) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(contents);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package software.amazon.smithy.typescript.codegen;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.codegen.core.SymbolDependency;
@@ -15,6 +16,8 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
 @SmithyUnstableApi
 public final class TypeScriptDelegator extends WriterDelegator<TypeScriptWriter> {
 
+    private final List<SymbolDependency> writtenDependencies = new ArrayList<>();
+
     TypeScriptDelegator(FileManifest fileManifest, SymbolProvider symbolProvider) {
         super(fileManifest, symbolProvider, new TypeScriptWriter.TypeScriptWriterFactory());
     }
@@ -29,7 +32,18 @@ public final class TypeScriptDelegator extends WriterDelegator<TypeScriptWriter>
     public List<SymbolDependency> getDependencies() {
         // Always add unconditional dependencies.
         List<SymbolDependency> resolved = new ArrayList<>(TypeScriptDependency.getUnconditionalDependencies());
+        resolved.addAll(writtenDependencies);
         resolved.addAll(super.getDependencies());
         return resolved;
     }
+
+    /**
+     * Adds the dependencies of a file that was written to the manifest without one of the delegator's
+     * writers, so that they are still gathered into the package.json.
+     *
+     * @param dependencies the dependencies of the written file.
+     */
+    void addDependencies(Collection<SymbolDependency> dependencies) {
+        writtenDependencies.addAll(dependencies);
+    }
 }
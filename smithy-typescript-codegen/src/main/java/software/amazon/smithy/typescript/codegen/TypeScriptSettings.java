@@ -70,6 +70,18 @@ public final class TypeScriptSettings {
     private static final String MODES = "modes";
     private static final String CLOSURE = "closure";
     private static final String TYPESCRIPT_VERSION = "typescriptVersion";
+    private static final String GENERATE_SEGMENTED_PAGINATORS = "generateSegmentedPaginators";
+    private static final String ADAPTIVE_WAITERS = "adaptiveWaiters";
+    private static final String REQUEST_COALESCING = "requestCoalescing";
+    private static final String RESPONSE_CACHE = "responseCache";
+    private static final String PROFILE_CODEGEN = "profileCodegen";
+    private static final String SIZE_REPORT = "sizeReport";
+    private static final String SIZE_BUDGETS = "sizeBudgets";
+    private static final String PACK_ENDPOINT_BDD = "packEndpointBdd";
+    private static final String SINGLE_PASS_DESERIALIZERS = "singlePassDeserializers";
+    private static final String PRE_ENCODED_EVENT_HEADERS = "preEncodedEventHeaders";
+    private static final String HTTP2_MULTIPLEXING = "http2Multiplexing";
+    private static final String MEMOIZE_HTTP_AUTH_OPTIONS = "memoizeHttpAuthOptions";
     private static final String DEFAULT_TYPESCRIPT_VERSION = "~5.8.3";
 
     private String packageName;
@@ -98,6 +110,18 @@ public final class TypeScriptSettings {
     private String versioningScheme = "";
     private boolean isolatedModules = false;
     private String typescriptVersion = DEFAULT_TYPESCRIPT_VERSION;
+    private boolean generateSegmentedPaginators = false;
+    private boolean adaptiveWaiters = false;
+    private boolean requestCoalescing = false;
+    private boolean responseCache = false;
+    private boolean profileCodegen = false;
+    private boolean sizeReport = false;
+    private ObjectNode sizeBudgets = Node.objectNode();
+    private boolean packEndpointBdd = false;
+    private boolean http2Multiplexing = false;
+    private boolean memoizeHttpAuthOptions = false;
+    private boolean singlePassDeserializers = false;
+    private boolean preEncodedEventHeaders = false;
 
     @Deprecated
     public static TypeScriptSettings from(Model model, ObjectNode config) {
@@ -238,6 +262,25 @@ public final class TypeScriptSettings {
         );
 
         settings.setTypescriptVersion(config.getStringMemberOrDefault(TYPESCRIPT_VERSION, DEFAULT_TYPESCRIPT_VERSION));
+        settings.setProfileCodegen(config.getBooleanMemberOrDefault(PROFILE_CODEGEN, false));
+        settings.setSinglePassDeserializers(config.getBooleanMemberOrDefault(SINGLE_PASS_DESERIALIZERS, false));
+        settings.setPreEncodedEventHeaders(config.getBooleanMemberOrDefault(PRE_ENCODED_EVENT_HEADERS, false));
+
+        if (settings.generateClient()) {
+            settings.setGenerateSegmentedPaginators(
+                config.getBooleanMemberOrDefault(GENERATE_SEGMENTED_PAGINATORS, false)
+            );
+            settings.setAdaptiveWaiters(config.getBooleanMemberOrDefault(ADAPTIVE_WAITERS, false));
+            settings.setRequestCoalescing(config.getBooleanMemberOrDefault(REQUEST_COALESCING, false));
+            settings.setResponseCache(config.getBooleanMemberOrDefault(RESPONSE_CACHE, false));
+            settings.setSizeBudgets(config.getObjectMember(SIZE_BUDGETS).orElse(Node.objectNode()));
+            settings.setSizeReport(
+                config.getBooleanMemberOrDefault(SIZE_REPORT, !settings.getSizeBudgets().isEmpty())
+            );
+            settings.setPackEndpointBdd(config.getBooleanMemberOrDefault(PACK_ENDPOINT_BDD, false));
+            settings.setHttp2Multiplexing(config.getBooleanMemberOrDefault(HTTP2_MULTIPLEXING, false));
+            settings.setMemoizeHttpAuthOptions(config.getBooleanMemberOrDefault(MEMOIZE_HTTP_AUTH_OPTIONS, false));
+        }
 
         return settings;
     }
@@ -456,6 +499,178 @@ public final class TypeScriptSettings {
         return this.typescriptVersion;
     }
 
+    /**
+     * Returns whether paginated operations that model segment, shard, or partition input
+     * members also get a paginator that fans out over multiple segments concurrently.
+     *
+     * @return if segmented paginators should be generated. Default: false
+     */
+    public boolean generateSegmentedPaginators() {
+        return generateSegmentedPaginators;
+    }
+
+    public void setGenerateSegmentedPaginators(boolean generateSegmentedPaginators) {
+        this.generateSegmentedPaginators = generateSegmentedPaginators;
+    }
+
+    /**
+     * Returns whether generated waitUntil functions poll adaptively, based on the time each
+     * waiter has previously taken to reach a terminal state, and share one polling loop between
+     * concurrent calls with the same client and input.
+     *
+     * @return if adaptive waiters should be generated. Default: false
+     */
+    public boolean adaptiveWaiters() {
+        return adaptiveWaiters;
+    }
+
+    public void setAdaptiveWaiters(boolean adaptiveWaiters) {
+        this.adaptiveWaiters = adaptiveWaiters;
+    }
+
+    /**
+     * Returns whether commands for readonly operations share one in-flight request
+     * between concurrent identical requests on the same client.
+     *
+     * @return if request coalescing should be applied to readonly operations. Default: false
+     */
+    public boolean requestCoalescing() {
+        return requestCoalescing;
+    }
+
+    public void setRequestCoalescing(boolean requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+    }
+
+    /**
+     * Returns whether the generated client accepts a {@code responseCache} configuration
+     * that caches responses of readonly and idempotent operations.
+     *
+     * @return if the response cache should be generated. Default: false
+     */
+    public boolean responseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(boolean responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Returns whether codegen records the time and memory spent in each phase, directive, and
+     * integration, and writes them to a trace file in the build output.
+     *
+     * @return if codegen should be profiled. Default: false
+     */
+    public boolean profileCodegen() {
+        return profileCodegen;
+    }
+
+    public void setProfileCodegen(boolean profileCodegen) {
+        this.profileCodegen = profileCodegen;
+    }
+
+    /**
+     * Returns whether codegen writes a report of the size of the generated files,
+     * with bytes attributed to each command and shape.
+     *
+     * @return if the size report should be written. Default: true if size budgets are configured, otherwise false.
+     */
+    public boolean sizeReport() {
+        return sizeReport;
+    }
+
+    public void setSizeReport(boolean sizeReport) {
+        this.sizeReport = sizeReport;
+    }
+
+    /**
+     * Gets the byte limits checked by the size report, by name: {@code total}, {@code command},
+     * {@code schemas}, and {@code endpointBdd}. Codegen fails when a limit is exceeded.
+     *
+     * @return the size budgets, empty if none are configured.
+     */
+    public ObjectNode getSizeBudgets() {
+        return sizeBudgets;
+    }
+
+    public void setSizeBudgets(ObjectNode sizeBudgets) {
+        this.sizeBudgets = Objects.requireNonNull(sizeBudgets);
+    }
+
+    /**
+     * Returns whether the endpoint BDD node table is generated as a packed string, which is
+     * decoded on first use, instead of as an array literal that must be parsed on module load.
+     *
+     * @return if the endpoint BDD node table should be packed. Default: false
+     */
+    public boolean packEndpointBdd() {
+        return packEndpointBdd;
+    }
+
+    public void setPackEndpointBdd(boolean packEndpointBdd) {
+        this.packEndpointBdd = packEndpointBdd;
+    }
+
+    /**
+     * Returns whether the generated Node.js client sends all operations over HTTP/2 sessions
+     * with concurrent streams, falling back to HTTP/1.1 for endpoints that do not negotiate h2.
+     *
+     * @return if HTTP/2 multiplexing should be generated. Default: false
+     */
+    public boolean http2Multiplexing() {
+        return http2Multiplexing;
+    }
+
+    public void setHttp2Multiplexing(boolean http2Multiplexing) {
+        this.http2Multiplexing = http2Multiplexing;
+    }
+
+    /**
+     * Returns whether the generated client resolves auth scheme parameters once per operation and
+     * returns frozen, shared auth options, for services whose auth scheme parameters only contain
+     * the operation. Custom auth scheme providers must then not mutate the options they receive.
+     *
+     * @return if auth scheme parameters and auth options should be memoized. Default: false
+     */
+    public boolean memoizeHttpAuthOptions() {
+        return memoizeHttpAuthOptions;
+    }
+
+    public void setMemoizeHttpAuthOptions(boolean memoizeHttpAuthOptions) {
+        this.memoizeHttpAuthOptions = memoizeHttpAuthOptions;
+    }
+
+    /**
+     * Returns whether deserializers are generated as direct loops and assignments: collection
+     * and map deserializers of document protocols as single loops, structure deserializers as
+     * member assignments instead of {@code take} instructions, and HTTP headers read in a single
+     * pass instead of with {@code map} instructions.
+     *
+     * @return if single pass deserializers should be generated. Default: false
+     */
+    public boolean singlePassDeserializers() {
+        return singlePassDeserializers;
+    }
+
+    public void setSinglePassDeserializers(boolean singlePassDeserializers) {
+        this.singlePassDeserializers = singlePassDeserializers;
+    }
+
+    /**
+     * Returns whether the constant headers of event marshallers are generated as shared frozen
+     * values, which the event stream codec encodes once and reuses for every message.
+     *
+     * @return if event header templates should be generated. Default: false
+     */
+    public boolean preEncodedEventHeaders() {
+        return preEncodedEventHeaders;
+    }
+
+    public void setPreEncodedEventHeaders(boolean preEncodedEventHeaders) {
+        this.preEncodedEventHeaders = preEncodedEventHeaders;
+    }
+
     /**
      * Gets a chunk of custom properties to merge into the generated
      * package.json file.
@@ -838,7 +1053,19 @@ public final class TypeScriptSettings {
                 TSCONFIG,
                 SERVICE_PROTOCOL_PRIORITY,
                 DEFAULT_PROTOCOL_PRIORITY,
-                TYPESCRIPT_VERSION
+                TYPESCRIPT_VERSION,
+                GENERATE_SEGMENTED_PAGINATORS,
+                ADAPTIVE_WAITERS,
+                REQUEST_COALESCING,
+                RESPONSE_CACHE,
+                PROFILE_CODEGEN,
+                SIZE_REPORT,
+                SIZE_BUDGETS,
+                PACK_ENDPOINT_BDD,
+                SINGLE_PASS_DESERIALIZERS,
+                PRE_ENCODED_EVENT_HEADERS,
+                HTTP2_MULTIPLEXING,
+                MEMOIZE_HTTP_AUTH_OPTIONS
             )
         ),
         SSDK(
@@ -866,7 +1093,10 @@ public final class TypeScriptSettings {
                 TSCONFIG,
                 SERVICE_PROTOCOL_PRIORITY,
                 DEFAULT_PROTOCOL_PRIORITY,
-                TYPESCRIPT_VERSION
+                TYPESCRIPT_VERSION,
+                PROFILE_CODEGEN,
+                SINGLE_PASS_DESERIALIZERS,
+                PRE_ENCODED_EVENT_HEADERS
             )
         ),
         TYPES(
@@ -885,7 +1115,8 @@ public final class TypeScriptSettings {
                 VERSIONING_SCHEME,
                 TSCONFIG,
                 CLOSURE,
-                TYPESCRIPT_VERSION
+                TYPESCRIPT_VERSION,
+                PROFILE_CODEGEN
             )
         );
 
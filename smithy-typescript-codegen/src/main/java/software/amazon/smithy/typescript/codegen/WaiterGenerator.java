@@ -43,6 +43,8 @@ class WaiterGenerator implements Runnable {
     private final Symbol outputSymbol;
     private final String waiterResultType;
     private final String waitUntilResultType;
+    private final String waiterId;
+    private final boolean adaptive;
 
     WaiterGenerator(
         String waiterName,
@@ -57,6 +59,8 @@ class WaiterGenerator implements Runnable {
         this.waiterName = waiterName;
         this.waiter = waiter;
         this.writer = writer;
+        this.waiterId = service.getId() + "/" + waiterName;
+        this.adaptive = settings.adaptiveWaiters();
 
         this.operationSymbol = symbolProvider.toSymbol(operation);
         this.serviceSymbol = symbolProvider.toSymbol(service)
@@ -135,6 +139,19 @@ class WaiterGenerator implements Runnable {
             }
         );
 
+        if (adaptive) {
+            writer.addImportSubmodule("createAdaptiveWaiter", null, TypeScriptDependency.SMITHY_CORE, WAITER_SUBMODULE);
+            writer.addTypeImportSubmodule(
+                "AdaptiveWaiterConfiguration",
+                null,
+                TypeScriptDependency.SMITHY_CORE,
+                WAITER_SUBMODULE
+            );
+            writer.addTypeImportSubmodule("WaiterMetadata", null, TypeScriptDependency.SMITHY_CORE, WAITER_SUBMODULE);
+            writer.write("const waiterMetadata: WaiterMetadata = { id: $S };", waiterId);
+            writer.write("");
+        }
+
         // generates WaitUtil....
         writer.writeDocs(
             waiter.getDocumentation().orElse("") +
@@ -147,11 +164,12 @@ class WaiterGenerator implements Runnable {
         writer.openBlock(
             """
             export const waitUntil$L = async (
-              params: WaiterConfiguration<$T>,
+              params: $L<$T>,
               input: $T
             ): Promise<WaiterResult<$L>> => {""",
             "};",
             waiterName,
+            adaptive ? "AdaptiveWaiterConfiguration" : "WaiterConfiguration",
             serviceSymbol,
             inputSymbol,
             waitUntilResultType,
@@ -161,9 +179,21 @@ class WaiterGenerator implements Runnable {
                     waiter.getMinDelay(),
                     waiter.getMaxDelay()
                 );
-                writer.write(
-                    "const result = await createWaiter({ ...serviceDefaults, ...params }, input, checkState);"
-                );
+                if (adaptive) {
+                    writer.write(
+                        """
+                        const result = await createAdaptiveWaiter(
+                          { ...serviceDefaults, ...params },
+                          input,
+                          checkState,
+                          waiterMetadata
+                        );"""
+                    );
+                } else {
+                    writer.write(
+                        "const result = await createWaiter({ ...serviceDefaults, ...params }, input, checkState);"
+                    );
+                }
                 // as WaiterResult<Narrowed> is needed because createWaiter is the union type
                 // whereas checkExceptions narrows to only the success type.
                 writer.write("return checkExceptions(result) as WaiterResult<$L>;", waitUntilResultType);
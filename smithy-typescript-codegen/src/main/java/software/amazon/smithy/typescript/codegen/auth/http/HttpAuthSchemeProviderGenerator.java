@@ -68,6 +68,7 @@ public class HttpAuthSchemeProviderGenerator implements Runnable {
     private final String serviceName;
     private final Map<ShapeId, HttpAuthScheme> effectiveHttpAuthSchemes;
     private final Map<String, HttpAuthSchemeParameter> httpAuthSchemeParameters;
+    private final boolean memoizeHttpAuthOptions;
 
     /**
      * Create an HttpAuthSchemeProviderGenerator.
@@ -103,6 +104,8 @@ public class HttpAuthSchemeProviderGenerator implements Runnable {
             topDownIndex
         );
         this.httpAuthSchemeParameters = AuthUtils.collectHttpAuthSchemeParameters(effectiveHttpAuthSchemes.values());
+        // Memoization requires auth scheme parameters that only contain the operation.
+        this.memoizeHttpAuthOptions = settings.memoizeHttpAuthOptions() && httpAuthSchemeParameters.isEmpty();
     }
 
     @Override
@@ -213,6 +216,9 @@ public class HttpAuthSchemeProviderGenerator implements Runnable {
         operation: getSmithyContext(context).operation as string,
       };
     };
+
+    With memoizeHttpAuthOptions, and no auth scheme parameters other than the operation, the provider is wrapped
+    in memoizeHttpAuthSchemeParametersProvider(...), resolving parameters once per config and operation.
     */
     private void generateDefaultHttpAuthSchemeParametersProviderFunction() {
         delegator.useFileWriter(AuthUtils.HTTP_AUTH_SCHEME_PROVIDER_PATH, w -> {
@@ -238,6 +244,36 @@ public class HttpAuthSchemeProviderGenerator implements Runnable {
                 TypeScriptDependency.SMITHY_CORE,
                 SmithyCoreSubmodules.CLIENT
             );
+            if (memoizeHttpAuthOptions) {
+                w.addImport("memoizeHttpAuthSchemeParametersProvider", null, TypeScriptDependency.SMITHY_CORE);
+                w.openBlock(
+                    """
+                    /**
+                     * @internal
+                     */
+                    export const default$LHttpAuthSchemeParametersProvider = memoizeHttpAuthSchemeParametersProvider(
+                      async (
+                        config: $LResolvedConfig,
+                        context: HandlerExecutionContext,
+                        input: object
+                      ): Promise<$LHttpAuthSchemeParameters> => {""",
+                    """
+                      }
+                    );""",
+                    serviceName,
+                    serviceSymbol.getName(),
+                    serviceName,
+                    () -> {
+                        w.indent();
+                        w.openBlock("return {", "};", () -> {
+                            w.write("operation: getSmithyContext(context).operation as string,");
+                        });
+                        w.dedent();
+                    }
+                );
+                w.popState();
+                return;
+            }
             w.openBlock(
                 """
                 /**
@@ -446,6 +482,23 @@ public class HttpAuthSchemeProviderGenerator implements Runnable {
         };
         return options;
     };
+
+    With memoizeHttpAuthOptions, and no auth scheme parameters other than the operation, the auth
+    options of an operation cannot change between requests, so the switch is generated as
+    resolveWeatherHttpAuthOptions(authParameters), and the provider returns frozen options
+    computed once per operation:
+
+    const httpAuthOptionsByOperation = new Map<string | undefined, HttpAuthOption[]>();
+
+    export const defaultWeatherHttpAuthSchemeProvider: WeatherHttpAuthSchemeProvider =
+    (authParameters) => {
+        let options = httpAuthOptionsByOperation.get(authParameters.operation);
+        if (!options) {
+            options = freezeHttpAuthOptions(resolveWeatherHttpAuthOptions(authParameters));
+            httpAuthOptionsByOperation.set(authParameters.operation, options);
+        }
+        return options;
+    };
     */
     private void generateDefaultHttpAuthSchemeProviderFunction() {
         delegator.useFileWriter(AuthUtils.HTTP_AUTH_SCHEME_PROVIDER_PATH, w -> {
@@ -457,56 +510,90 @@ public class HttpAuthSchemeProviderGenerator implements Runnable {
                     .symbolProvider(symbolProvider)
                     .build()
             );
-            w.openBlock("""
-                        /**
-                         * @internal
-                         */
-                        export const default$LHttpAuthSchemeProvider: $LHttpAuthSchemeProvider = \
-                        (authParameters) => {""", "};", serviceName, serviceName, () -> {
-                w.write("const options: HttpAuthOption[] = [];");
-                w.openBlock("switch (authParameters.operation) {", "}", () -> {
-                    var serviceAuthSchemes = serviceIndex.getEffectiveAuthSchemes(
-                        serviceShape,
-                        AuthSchemeMode.NO_AUTH_AWARE
-                    );
-                    for (OperationShape operationShape : topDownIndex.getContainedOperations(serviceShape)) {
-                        ShapeId operationShapeId = operationShape.getId();
-                        var operationAuthSchemes = serviceIndex.getEffectiveAuthSchemes(
-                            serviceShape,
-                            operationShapeId,
-                            AuthSchemeMode.NO_AUTH_AWARE
-                        );
-                        // Skip operation generation if operation auth schemes are equivalent to the default service
-                        // auth schemes.
-                        if (AuthUtils.areHttpAuthSchemesEqual(serviceAuthSchemes, operationAuthSchemes)) {
-                            continue;
-                        }
-                        w.openBlock("case $S: {", "};", operationShapeId.getName(), () -> {
-                            operationAuthSchemes
-                                .keySet()
-                                .forEach(shapeId -> {
-                                    w.write(
-                                        "options.push(create$LHttpAuthOption(authParameters));",
-                                        normalizeAuthSchemeName(shapeId)
-                                    );
-                                });
-                            w.write("break;");
+            if (memoizeHttpAuthOptions) {
+                // auth options can only depend on the operation, so they are computed once per operation.
+                w.addImport("freezeHttpAuthOptions", null, TypeScriptDependency.SMITHY_CORE);
+                w.openBlock(
+                    """
+                    const resolve$LHttpAuthOptions = (authParameters: $LHttpAuthSchemeParameters): \
+                    HttpAuthOption[] => {""",
+                    "};\n",
+                    serviceName,
+                    serviceName,
+                    () -> writeHttpAuthOptionsSwitch(w)
+                );
+                w.write("const httpAuthOptionsByOperation = new Map<string | undefined, HttpAuthOption[]>();\n");
+                w.writeDocs("@internal");
+                w.openBlock(
+                    "export const default$LHttpAuthSchemeProvider: $LHttpAuthSchemeProvider = (authParameters) => {",
+                    "};",
+                    serviceName,
+                    serviceName,
+                    () -> {
+                        w.write("let options = httpAuthOptionsByOperation.get(authParameters.operation);");
+                        w.openBlock("if (!options) {", "}", () -> {
+                            w.write(
+                                "options = freezeHttpAuthOptions(resolve$LHttpAuthOptions(authParameters));",
+                                serviceName
+                            );
+                            w.write("httpAuthOptionsByOperation.set(authParameters.operation, options);");
                         });
+                        w.write("return options;");
                     }
-                    w.openBlock("default: {", "}", () -> {
-                        serviceAuthSchemes
-                            .keySet()
-                            .forEach(shapeId -> {
-                                w.write(
-                                    "options.push(create$LHttpAuthOption(authParameters));",
-                                    normalizeAuthSchemeName(shapeId)
-                                );
-                            });
-                    });
+                );
+            } else {
+                w.openBlock("""
+                            /**
+                             * @internal
+                             */
+                            export const default$LHttpAuthSchemeProvider: $LHttpAuthSchemeProvider = \
+                            (authParameters) => {""", "};", serviceName, serviceName, () -> {
+                    writeHttpAuthOptionsSwitch(w);
                 });
-                w.write("return options;");
-            });
+            }
             w.popState();
         });
     }
+
+    private void writeHttpAuthOptionsSwitch(TypeScriptWriter w) {
+        w.write("const options: HttpAuthOption[] = [];");
+        w.openBlock("switch (authParameters.operation) {", "}", () -> {
+            var serviceAuthSchemes = serviceIndex.getEffectiveAuthSchemes(serviceShape, AuthSchemeMode.NO_AUTH_AWARE);
+            for (OperationShape operationShape : topDownIndex.getContainedOperations(serviceShape)) {
+                ShapeId operationShapeId = operationShape.getId();
+                var operationAuthSchemes = serviceIndex.getEffectiveAuthSchemes(
+                    serviceShape,
+                    operationShapeId,
+                    AuthSchemeMode.NO_AUTH_AWARE
+                );
+                // Skip operation generation if operation auth schemes are equivalent to the default service
+                // auth schemes.
+                if (AuthUtils.areHttpAuthSchemesEqual(serviceAuthSchemes, operationAuthSchemes)) {
+                    continue;
+                }
+                w.openBlock("case $S: {", "};", operationShapeId.getName(), () -> {
+                    operationAuthSchemes
+                        .keySet()
+                        .forEach(shapeId -> {
+                            w.write(
+                                "options.push(create$LHttpAuthOption(authParameters));",
+                                normalizeAuthSchemeName(shapeId)
+                            );
+                        });
+                    w.write("break;");
+                });
+            }
+            w.openBlock("default: {", "}", () -> {
+                serviceAuthSchemes
+                    .keySet()
+                    .forEach(shapeId -> {
+                        w.write(
+                            "options.push(create$LHttpAuthOption(authParameters));",
+                            normalizeAuthSchemeName(shapeId)
+                        );
+                    });
+            });
+        });
+        w.write("return options;");
+    }
 }
@@ -119,15 +119,16 @@ public class AddDefaultEndpointRuleSet implements TypeScriptIntegration {
             return model;
         }
 
-        Model.Builder modelBuilder = model.toBuilder();
-
         ServiceShape serviceShape = settings.getService(model);
-        if (!serviceShape.hasTrait(EndpointRuleSetTrait.class)) {
-            usesDefaultEndpointRuleset = true;
-            modelBuilder.removeShape(serviceShape.toShapeId());
-            modelBuilder.addShape(serviceShape.toBuilder().addTrait(DEFAULT_RULESET).build());
+        if (serviceShape.hasTrait(EndpointRuleSetTrait.class)) {
+            // return the same model, so that knowledge indexes already computed for it are kept.
+            return model;
         }
 
+        usesDefaultEndpointRuleset = true;
+        Model.Builder modelBuilder = model.toBuilder();
+        modelBuilder.removeShape(serviceShape.toShapeId());
+        modelBuilder.addShape(serviceShape.toBuilder().addTrait(DEFAULT_RULESET).build());
         return modelBuilder.build();
     }
 
@@ -56,6 +56,10 @@ public final class ClientConfigKeys {
         KNOWN_CONFIG_KEYS.add("credentialDefaultProvider");
         KNOWN_CONFIG_KEYS.add("defaultUserAgentProvider");
         KNOWN_CONFIG_KEYS.add("eventStreamSerdeProvider");
+        KNOWN_CONFIG_KEYS.add("eventStreamFrameCoalescing");
+        KNOWN_CONFIG_KEYS.add("deferEventPayloadParsing");
+        KNOWN_CONFIG_KEYS.add("requestCompressionWorkerThresholdBytes");
+        KNOWN_CONFIG_KEYS.add("onRequestCompression");
         KNOWN_CONFIG_KEYS.add("getAwsChunkedEncodingStream");
         KNOWN_CONFIG_KEYS.add("md5");
         KNOWN_CONFIG_KEYS.add("sdkStreamMixin");
@@ -4,8 +4,8 @@
  */
 package software.amazon.smithy.typescript.codegen.endpointsV2;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Map of EndpointsV2 canonical ruleset param name to generated code param names.
@@ -14,12 +14,13 @@ import java.util.Map;
  */
 public final class EndpointsParamNameMap {
 
-    private static final Map<String, String> MAPPING = new HashMap<>();
+    private static final Map<String, String> MAPPING = new ConcurrentHashMap<>();
 
     private EndpointsParamNameMap() {}
 
     public static void setNameMapping(Map<String, String> parameterNameMap) {
-        EndpointsParamNameMap.MAPPING.clear();
+        // not cleared first, so that concurrent codegen runs setting the same mapping never see it empty.
+        MAPPING.keySet().retainAll(parameterNameMap.keySet());
         MAPPING.putAll(parameterNameMap);
     }
 
@@ -11,15 +11,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.stream.Collectors;
 import software.amazon.smithy.codegen.core.SymbolDependency;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.ServiceShape;
-import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
-import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
 import software.amazon.smithy.rulesengine.logic.bdd.Bdd;
 import software.amazon.smithy.rulesengine.traits.EndpointBddTrait;
 import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
@@ -475,60 +473,74 @@ public final class EndpointsV2Generator implements Runnable {
         this.delegator.useFileWriter(
             Paths.get(CodegenUtils.SOURCE_FOLDER, ENDPOINT_FOLDER, ENDPOINT_BDD_FILE).toString(),
             writer -> {
-                ObjectNode conditionsAndResults = ObjectNode.fromStringMap(Collections.emptyMap());
-
-                List<Condition> conditions = endpointBddTrait.getConditions();
-                conditionsAndResults = conditionsAndResults.withMember(
-                    "conditions",
-                    ArrayNode.fromNodes(
-                        conditions.stream().map(c -> new ConditionSerializer(c).toArrayNode()).toList()
-                    )
-                );
-
-                List<Rule> results = endpointBddTrait.getResults();
-                conditionsAndResults = conditionsAndResults.withMember(
-                    "results",
-                    ArrayNode.fromNodes(
-                        results.stream().map(r -> new RuleSerializer(r).toArrayNode()).toList()
-                    )
-                );
-
+                // conditions and results are interned one at a time, without building a combined Node tree.
                 writer.write(
-                    new PatternDetectionCompression(conditionsAndResults).compress()
+                    new PatternDetectionCompression()
+                        .withArrayMember(
+                            "conditions",
+                            endpointBddTrait.getConditions(),
+                            c -> new ConditionSerializer(c).toArrayNode()
+                        )
+                        .withArrayMember(
+                            "results",
+                            endpointBddTrait.getResults(),
+                            r -> new RuleSerializer(r).toArrayNode()
+                        )
+                        .compress()
                 );
 
                 Bdd bdd = endpointBddTrait.getBdd();
 
-                writer.write(
-                    """
-                    const root = $L;
-                    const r = 100_000_000;
-                    const nodes = new Int32Array([""",
-                    endpointBddTrait.getBdd().getRootRef()
-                ).indent();
-
-                bdd.getNodes((i, hi, lo) -> {
+                if (settings.packEndpointBdd()) {
+                    // parsed with JSON.parse on first use, which is much faster than parsing an array literal.
+                    StringJoiner packed = new StringJoiner(",", "[", "]");
+                    bdd.getNodes((i, hi, lo) -> {
+                        packed.add(Integer.toString(i));
+                        packed.add(Integer.toString(hi));
+                        packed.add(Integer.toString(lo));
+                    });
                     writer.write(
                         """
-                        $L, $L, $L,""",
-                        shortestJsLiteral(i),
-                        shortestJsLiteral(hi),
-                        shortestJsLiteral(lo)
+                        const root = $L;
+                        const nodes = "$L";""",
+                        bdd.getRootRef(),
+                        packed
                     );
-                });
+                } else {
+                    writer.write(
+                        """
+                        const root = $L;
+                        const r = 100_000_000;
+                        const nodes = new Int32Array([""",
+                        bdd.getRootRef()
+                    ).indent();
+
+                    bdd.getNodes((i, hi, lo) -> {
+                        writer.write(
+                            """
+                            $L, $L, $L,""",
+                            shortestJsLiteral(i),
+                            shortestJsLiteral(hi),
+                            shortestJsLiteral(lo)
+                        );
+                    });
 
-                writer.dedent().write("""
-                                      ]);""");
+                    writer.dedent().write("""
+                                          ]);""");
+                }
                 writer.addImportSubmodule(
                     "BinaryDecisionDiagram",
                     null,
                     TypeScriptDependency.SMITHY_CORE,
                     SmithyCoreSubmodules.ENDPOINTS
                 );
-                writer.write("""
-                             export const bdd = BinaryDecisionDiagram.from(
-                               nodes, root, _data.conditions, _data.results
-                             );""");
+                writer.write(
+                    """
+                    export const bdd = BinaryDecisionDiagram.$L(
+                      nodes, root, _data.conditions, _data.results
+                    );""",
+                    settings.packEndpointBdd() ? "fromPacked" : "from"
+                );
             }
         );
     }
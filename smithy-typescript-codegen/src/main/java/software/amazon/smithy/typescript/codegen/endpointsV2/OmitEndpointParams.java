@@ -5,8 +5,8 @@
 package software.amazon.smithy.typescript.codegen.endpointsV2;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages a collection of endpoint parameter names to be omitted from a specific interface.
@@ -15,7 +15,7 @@ import java.util.Set;
  */
 public final class OmitEndpointParams {
 
-    private static final Set<String> OMITTED_PARAMS = new HashSet<>();
+    private static final Set<String> OMITTED_PARAMS = ConcurrentHashMap.newKeySet();
 
     private OmitEndpointParams() {}
 
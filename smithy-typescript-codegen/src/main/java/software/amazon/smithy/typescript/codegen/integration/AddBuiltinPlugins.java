@@ -4,9 +4,17 @@
  */
 package software.amazon.smithy.typescript.codegen.integration;
 
+import static software.amazon.smithy.typescript.codegen.integration.RuntimeClientPlugin.Convention.HAS_CONFIG;
 import static software.amazon.smithy.typescript.codegen.integration.RuntimeClientPlugin.Convention.HAS_MIDDLEWARE;
 
 import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.IdempotentTrait;
+import software.amazon.smithy.model.traits.ReadonlyTrait;
+import software.amazon.smithy.model.traits.StreamingTrait;
 import software.amazon.smithy.typescript.codegen.TypeScriptDependency;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
@@ -35,7 +43,52 @@ public class AddBuiltinPlugins implements TypeScriptIntegration {
                     "ContentLength",
                     HAS_MIDDLEWARE
                 )
+                .build(),
+            RuntimeClientPlugin.builder()
+                .withConventions(
+                    "@smithy/core/client",
+                    TypeScriptDependency.SMITHY_CORE.dependency.getVersion(),
+                    "ResponseCache",
+                    HAS_CONFIG
+                )
+                .settingsPredicate((m, s, settings) -> settings.responseCache())
+                .build(),
+            // the response cache is applied before request coalescing, so that cache hits are not coalesced.
+            RuntimeClientPlugin.builder()
+                .withConventions(
+                    "@smithy/core/client",
+                    TypeScriptDependency.SMITHY_CORE.dependency.getVersion(),
+                    "ResponseCache",
+                    HAS_MIDDLEWARE
+                )
+                .additionalPluginFunctionParamsSupplier(
+                    (m, s, o) -> Map.of("readonly", o.hasTrait(ReadonlyTrait.class))
+                )
+                .settingsPredicate((m, s, settings) -> settings.responseCache())
+                .operationPredicate(
+                    (m, s, o) -> (o.hasTrait(ReadonlyTrait.class) || o.hasTrait(IdempotentTrait.class))
+                        && !hasStreamingOutput(m, o)
+                )
+                .build(),
+            RuntimeClientPlugin.builder()
+                .withConventions(
+                    "@smithy/core/client",
+                    TypeScriptDependency.SMITHY_CORE.dependency.getVersion(),
+                    "RequestCoalescing",
+                    HAS_MIDDLEWARE
+                )
+                .settingsPredicate((m, s, settings) -> settings.requestCoalescing())
+                .operationPredicate((m, s, o) -> o.hasTrait(ReadonlyTrait.class) && !hasStreamingOutput(m, o))
                 .build()
         );
     }
+
+    // a streamed response can only be consumed once, so it cannot be shared or cached.
+    private static boolean hasStreamingOutput(Model model, OperationShape operation) {
+        return model
+            .expectShape(operation.getOutputShape(), StructureShape.class)
+            .members()
+            .stream()
+            .anyMatch(member -> model.expectShape(member.getTarget()).hasTrait(StreamingTrait.class));
+    }
 }
@@ -25,7 +25,8 @@ import software.amazon.smithy.utils.SmithyInternalApi;
 
 /**
  * Configures the generated client to use NodeHttp2Handler when the service's
- * protocol trait specifies eventStreamHttp containing "h2".
+ * protocol trait specifies eventStreamHttp containing "h2", or for all operations
+ * when the http2Multiplexing setting is enabled.
  *
  * <p>This mirrors the behavior of AddHttp2Dependency in smithy-aws-typescript-codegen
  * but operates on any protocol trait that has an eventStreamHttp property,
@@ -47,7 +48,8 @@ public final class AddHttp2Dependency implements TypeScriptIntegration {
         LanguageTarget target
     ) {
         ServiceShape service = settings.getService(model);
-        if (!requiresHttp2ForEventStreams(model, service)) {
+        boolean multiplexing = settings.http2Multiplexing();
+        if (!multiplexing && !requiresHttp2ForEventStreams(model, service)) {
             return Collections.emptyMap();
         }
         switch (target) {
@@ -63,7 +65,12 @@ public final class AddHttp2Dependency implements TypeScriptIntegration {
                         "})))",
                         () -> {
                             writer.write("...await defaultConfigProvider(),");
-                            writer.write("disableConcurrentStreams: true");
+                            if (multiplexing) {
+                                // Event streams still get an isolated session each from the handler.
+                                writer.write("fallbackToHttp1: true");
+                            } else {
+                                writer.write("disableConcurrentStreams: true");
+                            }
                         }
                     );
                 });
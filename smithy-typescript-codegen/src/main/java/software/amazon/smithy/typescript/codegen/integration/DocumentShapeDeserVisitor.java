@@ -5,7 +5,10 @@
 package software.amazon.smithy.typescript.codegen.integration;
 
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.codegen.core.SymbolProvider;
@@ -13,6 +16,7 @@ import software.amazon.smithy.model.shapes.CollectionShape;
 import software.amazon.smithy.model.shapes.DocumentShape;
 import software.amazon.smithy.model.shapes.ListShape;
 import software.amazon.smithy.model.shapes.MapShape;
+import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
@@ -21,9 +25,11 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeVisitor;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.UnionShape;
+import software.amazon.smithy.model.traits.SparseTrait;
 import software.amazon.smithy.typescript.codegen.TypeScriptWriter;
 import software.amazon.smithy.typescript.codegen.integration.ProtocolGenerator.GenerationContext;
 import software.amazon.smithy.typescript.codegen.knowledge.SerdeElisionIndex;
+import software.amazon.smithy.typescript.codegen.util.PropertyAccessor;
 import software.amazon.smithy.utils.SmithyUnstableApi;
 
 /**
@@ -277,6 +283,158 @@ public abstract class DocumentShapeDeserVisitor extends ShapeVisitor.Default<Voi
      */
     protected abstract void deserializeUnion(GenerationContext context, UnionShape shape);
 
+    /**
+     * Whether collection and map deserializers should be generated as single loops, with
+     * {@link #deserializeCollectionInLoop} and {@link #deserializeMapInLoop}, and structure
+     * deserializers as member assignments, with {@link #deserializeStructureByAssignment}.
+     *
+     * @return the value of the {@code singlePassDeserializers} setting.
+     */
+    protected final boolean singlePassDeserializers() {
+        return context.getSettings().singlePassDeserializers();
+    }
+
+    /**
+     * Writes a collection deserializer body that deserializes the entries in one indexed loop
+     * into a preallocated array, skipping null entries of non-sparse collections inline,
+     * instead of chaining {@code filter} and {@code map}.
+     *
+     * <pre>{@code
+     * const input = output || [];
+     * const collection = new Array(input.length);
+     * let n = 0;
+     * for (let i = 0; i < input.length; ++i) {
+     *   const entry = input[i];
+     *   if (entry == null) {
+     *     continue;
+     *   }
+     *   collection[n++] = de_Parameter(entry, context);
+     * }
+     * collection.length = n;
+     * return collection;
+     * }</pre>
+     *
+     * @param context The generation context.
+     * @param shape The collection shape being generated.
+     * @param entryDeserializer Maps the variable name of an entry to its deserialization expression.
+     */
+    protected final void deserializeCollectionInLoop(
+        GenerationContext context,
+        CollectionShape shape,
+        Function<String, String> entryDeserializer
+    ) {
+        TypeScriptWriter writer = context.getWriter();
+        boolean sparse = shape.hasTrait(SparseTrait.ID);
+        String entry = entryDeserializer.apply("entry");
+
+        if (sparse && entry.equals("entry")) {
+            writer.write("const collection = output || [];");
+            writer.write("return collection;");
+            return;
+        }
+
+        writer.write("const input = output || [];");
+        writer.write("const collection = new Array(input.length);");
+        if (sparse) {
+            writer.openBlock("for (let i = 0; i < input.length; ++i) {", "}", () -> {
+                writer.write("const entry = input[i];");
+                writer.write("collection[i] = entry === null ? null : $L;", entry);
+            });
+        } else {
+            writer.write("let n = 0;");
+            writer.openBlock("for (let i = 0; i < input.length; ++i) {", "}", () -> {
+                writer.write("const entry = input[i];");
+                writer.openBlock("if (entry == null) {", "}", () -> writer.write("continue;"));
+                writer.write("collection[n++] = $L;", entry);
+            });
+            writer.write("collection.length = n;");
+        }
+        writer.write("return collection;");
+    }
+
+    /**
+     * Writes a map deserializer body that deserializes the values in one {@code for...in} loop
+     * over the keys, skipping null values of non-sparse maps inline, instead of reducing over
+     * the array of entries from {@code Object.entries}.
+     *
+     * <pre>{@code
+     * const map = {} as Record<string, Field>;
+     * for (const key in output) {
+     *   const value = output[key];
+     *   if (value !== null) {
+     *     map[key as string] = de_Field(value, context);
+     *   }
+     * }
+     * return map;
+     * }</pre>
+     *
+     * @param context The generation context.
+     * @param shape The map shape being generated.
+     * @param valueDeserializer Maps the variable name of a value to its deserialization expression.
+     */
+    protected final void deserializeMapInLoop(
+        GenerationContext context,
+        MapShape shape,
+        Function<String, String> valueDeserializer
+    ) {
+        TypeScriptWriter writer = context.getWriter();
+        SymbolProvider symbolProvider = context.getSymbolProvider();
+        Symbol keySymbol = symbolProvider.toSymbol(shape.getKey());
+
+        writer.write("const map = {} as $T;", symbolProvider.toSymbol(shape));
+        writer.openBlock("for (const key in output) {", "}", () -> {
+            writer.write("const value = output[key];");
+            writer.openBlock("if (value !== null) {", "}", () -> {
+                writer.write("map[key as $T] = $L;", keySymbol, valueDeserializer.apply("value"));
+            });
+            if (shape.hasTrait(SparseTrait.ID)) {
+                writer.openBlock("else {", "}", () -> writer.write("map[key as $T] = null as any;", keySymbol));
+            }
+        });
+        writer.write("return map;");
+    }
+
+    /**
+     * Writes a structure deserializer body that assigns each non-null member to a new object
+     * in member name order, instead of interpreting an instruction object with {@code take}.
+     * No closures are created, and objects with the same members present share a hidden class.
+     *
+     * <pre>{@code
+     * const contents: any = {};
+     * if (output.id != null) {
+     *   contents.id = __expectString(output.id);
+     * }
+     * if (output.timestamp != null) {
+     *   contents.timestamp = __expectNonNull(__parseEpochTimestamp(output.timestamp));
+     * }
+     * return contents;
+     * }</pre>
+     *
+     * @param context The generation context.
+     * @param shape The structure shape being generated.
+     * @param memberDeserializer Maps a member and the expression of its value to its deserialization expression.
+     */
+    protected final void deserializeStructureByAssignment(
+        GenerationContext context,
+        StructureShape shape,
+        BiFunction<MemberShape, String, String> memberDeserializer
+    ) {
+        TypeScriptWriter writer = context.getWriter();
+
+        writer.write("const contents: any = {};");
+        new TreeMap<>(shape.getAllMembers()).forEach((memberName, memberShape) -> {
+            String propertyAccess = PropertyAccessor.getFrom("output", memberName);
+            writer.openBlock("if ($L != null) {", "}", propertyAccess, () -> {
+                writer.write(
+                    "$L = $L;",
+                    PropertyAccessor.getFrom("contents", memberName),
+                    memberDeserializer.apply(memberShape, propertyAccess)
+                );
+            });
+        });
+        writer.write("return contents;");
+    }
+
     /**
      * Generates a function for serializing the input shape, dispatching the body generation
      * to the supplied function.
@@ -171,6 +171,43 @@ public class EventStreamGenerator {
         boolean isErrorCodeInBody,
         boolean serdeElisionEnabled,
         SerdeElisionIndex serdeElisionIndex
+    ) {
+        generateEventStreamDeserializers(
+            context,
+            service,
+            errorShapesToDeserialize,
+            eventShapesToDeserialize,
+            isErrorCodeInBody,
+            serdeElisionEnabled,
+            serdeElisionIndex,
+            null
+        );
+    }
+
+    /**
+     * Generate eventstream deserializers, and related deserializers for events.
+     * @param context Code generation context instance.
+     * @param service The service shape.
+     * @param errorShapesToDeserialize A set of error shapes referred by events will be added to this set.
+     * @param eventShapesToDeserialize A set of event shapes that needs to be treated as regular structure shapes will
+     *                                  be added to this set.
+     * @param isErrorCodeInBody A boolean that indicates if the error code for the implementing protocol is located in
+     *                          the error response body, meaning this generator will parse the body before attempting to
+     *                          load an error code.
+     * @param parsePayload A function {@code (body: Uint8Array, context) => any} that synchronously parses a document
+     *                     payload, or null. When given, structure and union event payloads are assigned with
+     *                     setEventPayload, which defers their parsing when the client config enables
+     *                     deferEventPayloadParsing.
+     */
+    public void generateEventStreamDeserializers(
+        GenerationContext context,
+        ServiceShape service,
+        Set<StructureShape> errorShapesToDeserialize,
+        Set<Shape> eventShapesToDeserialize,
+        boolean isErrorCodeInBody,
+        boolean serdeElisionEnabled,
+        SerdeElisionIndex serdeElisionIndex,
+        Symbol parsePayload
     ) {
         Model model = context.getModel();
 
@@ -203,7 +240,8 @@ public class EventStreamGenerator {
                 eventShapesToDeserialize,
                 isErrorCodeInBody,
                 serdeElisionEnabled,
-                serdeElisionIndex
+                serdeElisionIndex,
+                parsePayload
             );
         });
     }
@@ -288,18 +326,33 @@ public class EventStreamGenerator {
         Symbol symbol = getSymbol(context, event);
         TypeScriptWriter writer = context.getWriter();
         writer.addTypeImport("MessageHeaders", "__MessageHeaders", TypeScriptDependency.SMITHY_TYPES);
+        String contentType = getEventContentType(context, event, documentContentType);
+        boolean preEncodedHeaders = context.getSettings().preEncodedEventHeaders();
+        String headersName = methodName + "_headers";
+        if (preEncodedHeaders) {
+            // Frozen header values are encoded once by the event stream codec and reused.
+            writer.openBlock("const $L: __MessageHeaders = {", "};", headersName, () -> {
+                writer.write("\":event-type\": Object.freeze({ type: \"string\", value: $S }),", memberName);
+                writer.write("\":message-type\": Object.freeze({ type: \"string\", value: \"event\" }),");
+                writer.write("\":content-type\": Object.freeze({ type: \"string\", value: $S }),", contentType);
+            });
+        }
         writer.openBlock(
             "const $L = (\n" + "  input: $T,\n" + "  context: __SerdeContext\n" + "): __Message => {",
             "}",
             methodName,
             symbol,
             () -> {
-                writer.openBlock("const headers: __MessageHeaders = {", "}", () -> {
-                    //fix headers required by event stream
-                    writer.write("\":event-type\": { type: \"string\", value: $S },", memberName);
-                    writer.write("\":message-type\": { type: \"string\", value: \"event\" },");
-                    writeEventContentTypeHeader(context, event, documentContentType);
-                });
+                if (preEncodedHeaders) {
+                    writer.write("const headers: __MessageHeaders = { ...$L };", headersName);
+                } else {
+                    writer.openBlock("const headers: __MessageHeaders = {", "}", () -> {
+                        //fix headers required by event stream
+                        writer.write("\":event-type\": { type: \"string\", value: $S },", memberName);
+                        writer.write("\":message-type\": { type: \"string\", value: \"event\" },");
+                        writer.write("\":content-type\": { type: \"string\", value: $S },", contentType);
+                    });
+                }
                 writeEventHeaders(context, event);
                 writeEventBody(
                     context,
@@ -313,12 +366,7 @@ public class EventStreamGenerator {
         );
     }
 
-    private void writeEventContentTypeHeader(
-        GenerationContext context,
-        StructureShape event,
-        String documentContentType
-    ) {
-        TypeScriptWriter writer = context.getWriter();
+    private String getEventContentType(GenerationContext context, StructureShape event, String documentContentType) {
         Optional<MemberShape> payloadMemberOptional = getEventPayloadMember(event);
         Shape payloadShape = payloadMemberOptional
             .map(member -> {
@@ -326,11 +374,11 @@ public class EventStreamGenerator {
             })
             .orElse(event);
         if (payloadShape instanceof BlobShape) {
-            writer.write("\":content-type\": { type: \"string\", value: \"application/octet-stream\" },");
+            return "application/octet-stream";
         } else if (payloadShape instanceof StringShape) {
-            writer.write("\":content-type\": { type: \"string\", value: \"text/plain\" },");
+            return "text/plain";
         } else if (payloadShape instanceof StructureShape || payloadShape instanceof UnionShape) {
-            writer.write("\":content-type\": { type: \"string\", value: $S },", documentContentType);
+            return documentContentType;
         } else {
             throw new CodegenException(
                 String.format("Unexpected shape type bound to event payload: `%s`", payloadShape.getType())
@@ -546,6 +594,28 @@ public class EventStreamGenerator {
         boolean isErrorCodeInBody,
         boolean serdeElisionEnabled,
         SerdeElisionIndex serdeElisionIndex
+    ) {
+        generateEventUnmarshaller(
+            context,
+            event,
+            errorShapesToDeserialize,
+            eventShapesToDeserialize,
+            isErrorCodeInBody,
+            serdeElisionEnabled,
+            serdeElisionIndex,
+            null
+        );
+    }
+
+    public void generateEventUnmarshaller(
+        GenerationContext context,
+        StructureShape event,
+        Set<StructureShape> errorShapesToDeserialize,
+        Set<Shape> eventShapesToDeserialize,
+        boolean isErrorCodeInBody,
+        boolean serdeElisionEnabled,
+        SerdeElisionIndex serdeElisionIndex,
+        Symbol parsePayload
     ) {
         String methodName = getEventDeserFunctionName(context, event);
         Symbol symbol = getSymbol(context, event);
@@ -561,7 +631,14 @@ public class EventStreamGenerator {
                 } else {
                     writer.write("const contents: $L = {} as any;", symbol.getName());
                     readEventHeaders(context, event);
-                    readEventBody(context, event, eventShapesToDeserialize, serdeElisionEnabled, serdeElisionIndex);
+                    readEventBody(
+                        context,
+                        event,
+                        eventShapesToDeserialize,
+                        serdeElisionEnabled,
+                        serdeElisionIndex,
+                        parsePayload
+                    );
                     writer.write("return contents;");
                 }
             }
@@ -621,7 +698,8 @@ public class EventStreamGenerator {
         StructureShape event,
         Set<Shape> eventShapesToDeserialize,
         boolean serdeElisionEnabled,
-        SerdeElisionIndex serdeElisionIndex
+        SerdeElisionIndex serdeElisionIndex,
+        Symbol parsePayload
     ) {
         TypeScriptWriter writer = context.getWriter();
         Optional<MemberShape> payloadmemberOptional = getEventPayloadMember(event);
@@ -633,7 +711,6 @@ public class EventStreamGenerator {
             } else if (payloadShape instanceof StringShape) {
                 writer.write("contents.$L = await collectBodyString(output.body, context);", payloadMemberName);
             } else if (payloadShape instanceof StructureShape || payloadShape instanceof UnionShape) {
-                writer.write("const data: any = await parseBody(output.body, context);");
                 Symbol symbol = getSymbol(context, payloadShape);
                 String deserFunctionName = ProtocolGenerator.getDeserFunctionShortName(symbol);
                 boolean mayElide = serdeElisionEnabled && serdeElisionIndex.mayElide(payloadShape);
@@ -644,9 +721,29 @@ public class EventStreamGenerator {
                         TypeScriptDependency.SMITHY_CORE,
                         SmithyCoreSubmodules.CLIENT
                     );
-                    writer.write("contents.$L = $L(data);", payloadMemberName, "_json");
+                }
+                if (parsePayload != null) {
+                    // Parsed synchronously, so that parsing can be deferred until the member is read.
+                    writer.addImportSubmodule(
+                        "setEventPayload",
+                        null,
+                        TypeScriptDependency.SMITHY_CORE,
+                        SmithyCoreSubmodules.SERDE
+                    );
+                    writer.write(
+                        "setEventPayload(contents, $S, context, () => $L($T(output.body, context)$L));",
+                        payloadMemberName,
+                        mayElide ? "_json" : deserFunctionName,
+                        parsePayload,
+                        mayElide ? "" : ", context"
+                    );
                 } else {
-                    writer.write("contents.$L = $L(data, context);", payloadMemberName, deserFunctionName);
+                    writer.write("const data: any = await parseBody(output.body, context);");
+                    if (mayElide) {
+                        writer.write("contents.$L = $L(data);", payloadMemberName, "_json");
+                    } else {
+                        writer.write("contents.$L = $L(data, context);", payloadMemberName, deserFunctionName);
+                    }
                 }
                 eventShapesToDeserialize.add(payloadShape);
             }
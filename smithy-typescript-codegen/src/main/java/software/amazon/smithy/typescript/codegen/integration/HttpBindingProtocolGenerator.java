@@ -5,6 +5,7 @@
 package software.amazon.smithy.typescript.codegen.integration;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -65,6 +66,7 @@ import software.amazon.smithy.typescript.codegen.TypeScriptDependency;
 import software.amazon.smithy.typescript.codegen.TypeScriptWriter;
 import software.amazon.smithy.typescript.codegen.endpointsV2.RuleSetParameterFinder;
 import software.amazon.smithy.typescript.codegen.knowledge.SerdeElisionIndex;
+import software.amazon.smithy.typescript.codegen.util.StringStore;
 import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.OptionalUtils;
 import software.amazon.smithy.utils.SetUtils;
@@ -2099,9 +2101,14 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
                 handleContentType(context, operation, bindingIndex);
                 handleAccept(context, operation, bindingIndex);
                 // Start deserializing the response.
-                writer.openBlock("const contents: any = map({", "});", () -> {
-                    readRequestHeaders(context, operation, bindingIndex, "output");
-                });
+                if (context.getSettings().singlePassDeserializers()) {
+                    writer.write("const contents: any = {};");
+                    readRequestHeadersInSinglePass(context, operation, bindingIndex, "output");
+                } else {
+                    writer.openBlock("const contents: any = map({", "});", () -> {
+                        readRequestHeaders(context, operation, bindingIndex, "output");
+                    });
+                }
                 readQueryString(context, operation, bindingIndex);
                 readPath(context, operation, bindingIndex, trait);
                 readHost(context, operation);
@@ -2491,11 +2498,17 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
                 );
 
                 // Start deserializing the response.
+                boolean singlePass = context.getSettings().singlePassDeserializers();
                 writer.openBlock("const contents: any = map({", "});", () -> {
                     writer.write("$$metadata: deserializeMetadata(output),");
 
-                    readResponseHeaders(context, operation, bindingIndex, "output");
+                    if (!singlePass) {
+                        readResponseHeaders(context, operation, bindingIndex, "output");
+                    }
                 });
+                if (singlePass) {
+                    readResponseHeadersInSinglePass(context, operation, bindingIndex, "output");
+                }
 
                 List<HttpBinding> documentBindings = readResponseBody(context, operation, bindingIndex);
                 // Track all shapes bound to the document so their deserializers may be generated.
@@ -2532,9 +2545,14 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
             outputName,
             errorSymbol,
             () -> {
-                writer.openBlock("const contents: any = map({", "});", () -> {
-                    readResponseHeaders(context, error, bindingIndex, outputName);
-                });
+                if (context.getSettings().singlePassDeserializers()) {
+                    writer.write("const contents: any = {};");
+                    readResponseHeadersInSinglePass(context, error, bindingIndex, outputName);
+                } else {
+                    writer.openBlock("const contents: any = map({", "});", () -> {
+                        readResponseHeaders(context, error, bindingIndex, outputName);
+                    });
+                }
 
                 List<HttpBinding> documentBindings = readErrorResponseBody(context, error, bindingIndex);
                 // Track all shapes bound to the document so their deserializers may be generated.
@@ -2710,6 +2728,154 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
         }
     }
 
+    private void readResponseHeadersInSinglePass(
+        GenerationContext context,
+        Shape operationOrError,
+        HttpBindingIndex bindingIndex,
+        String outputName
+    ) {
+        readHeadersInSinglePass(
+            context,
+            bindingIndex.getResponseBindings(operationOrError, Location.HEADER),
+            bindingIndex.getResponseBindings(operationOrError, Location.PREFIX_HEADERS),
+            outputName
+        );
+    }
+
+    private void readRequestHeadersInSinglePass(
+        GenerationContext context,
+        OperationShape operation,
+        HttpBindingIndex bindingIndex,
+        String outputName
+    ) {
+        readHeadersInSinglePass(
+            context,
+            bindingIndex.getRequestBindings(operation, Location.HEADER),
+            bindingIndex.getRequestBindings(operation, Location.PREFIX_HEADERS),
+            outputName
+        );
+    }
+
+    /**
+     * Reads headers bound by the @httpHeader and @httpPrefixHeaders traits with statements
+     * that assign to the contents object, instead of object mapping instructions.
+     *
+     * Without prefix header bindings, each header is read directly by name. Otherwise, the
+     * headers are walked once, with a switch on the exact header names and each prefix
+     * matched in the default branch.
+     *
+     * @param context the generation context.
+     * @param headerBindings a collection of header bindings.
+     * @param prefixHeaderBindings a collection of prefix header bindings.
+     * @param outputName the name of the output variable to read from.
+     */
+    private void readHeadersInSinglePass(
+        GenerationContext context,
+        Collection<HttpBinding> headerBindings,
+        Collection<HttpBinding> prefixHeaderBindings,
+        String outputName
+    ) {
+        TypeScriptWriter writer = context.getWriter();
+        StringStore stringStore = context.getStringStore();
+
+        if (prefixHeaderBindings.isEmpty()) {
+            for (HttpBinding binding : headerBindings) {
+                String headerName = binding.getLocationName().toLowerCase(Locale.US);
+                String headerValue = outputName + ".headers[" + stringStore.var(headerName) + "]";
+                writer.openBlock("if ($L != null) {", "}", headerValue, () -> {
+                    writeHeaderAssignment(context, binding, headerValue);
+                });
+            }
+            return;
+        }
+
+        for (HttpBinding binding : prefixHeaderBindings) {
+            String memberName = context.getSymbolProvider().toMemberName(binding.getMember());
+            writer.write("contents[$L] = {};", stringStore.var(memberName));
+        }
+
+        // Members bound to the same header name share a case.
+        Map<String, List<HttpBinding>> headerBindingsByName = new LinkedHashMap<>();
+        for (HttpBinding binding : headerBindings) {
+            headerBindingsByName
+                .computeIfAbsent(binding.getLocationName().toLowerCase(Locale.US), name -> new ArrayList<>())
+                .add(binding);
+        }
+
+        writer.openBlock("for (const header in $L.headers) {", "}", outputName, () -> {
+            writer.write("const value = $L.headers[header];", outputName);
+            writer.openBlock("if (value == null) {", "}", () -> writer.write("continue;"));
+            if (headerBindingsByName.isEmpty()) {
+                writePrefixHeaderAssignments(context, prefixHeaderBindings, null);
+                return;
+            }
+            writer.openBlock("switch (header) {", "}", () -> {
+                headerBindingsByName.forEach((headerName, bindings) -> {
+                    writer.write("case $L:", stringStore.var(headerName));
+                    writer.indent();
+                    for (HttpBinding binding : bindings) {
+                        writeHeaderAssignment(context, binding, "value");
+                    }
+                    // A header may be bound by name and also match a prefix.
+                    writePrefixHeaderAssignments(context, prefixHeaderBindings, headerName);
+                    writer.write("break;");
+                    writer.dedent();
+                });
+                writer.write("default:");
+                writer.indent();
+                writePrefixHeaderAssignments(context, prefixHeaderBindings, null);
+                writer.dedent();
+            });
+        });
+    }
+
+    private void writeHeaderAssignment(GenerationContext context, HttpBinding binding, String headerValue) {
+        String memberName = context.getSymbolProvider().toMemberName(binding.getMember());
+        Shape target = context.getModel().expectShape(binding.getMember().getTarget());
+        context.getWriter().write(
+            "contents[$L] = $L;",
+            context.getStringStore().var(memberName),
+            getOutputValue(context, binding.getLocation(), headerValue, binding.getMember(), target)
+        );
+    }
+
+    /**
+     * Writes the assignments of the header value to the prefix header maps it belongs to.
+     *
+     * @param context the generation context.
+     * @param prefixHeaderBindings a collection of prefix header bindings.
+     * @param headerName the exact header name if known at generation time, or null to match
+     *                   the prefixes against the header at runtime.
+     */
+    private void writePrefixHeaderAssignments(
+        GenerationContext context,
+        Collection<HttpBinding> prefixHeaderBindings,
+        String headerName
+    ) {
+        Model model = context.getModel();
+        TypeScriptWriter writer = context.getWriter();
+        for (HttpBinding binding : prefixHeaderBindings) {
+            String prefix = binding.getLocationName().toLowerCase(Locale.US);
+            if (headerName != null && !headerName.startsWith(prefix)) {
+                continue;
+            }
+            MapShape prefixMap = model.expectShape(binding.getMember().getTarget()).asMapShape().get();
+            Shape target = model.expectShape(prefixMap.getValue().getTarget());
+            String memberName = context.getSymbolProvider().toMemberName(binding.getMember());
+            Runnable assignment = () -> writer.write(
+                "contents[$L][header.substring($L)] = $L;",
+                context.getStringStore().var(memberName),
+                prefix.length(),
+                getOutputValue(context, binding.getLocation(), "value", binding.getMember(), target)
+            );
+            if (headerName != null || prefix.isEmpty()) {
+                assignment.run();
+            } else {
+                writer.openBlock("if (header.startsWith($S)) {", "}", prefix, assignment);
+            }
+        }
+    }
+
     private List<HttpBinding> readRequestBody(
         GenerationContext context,
         OperationShape operation,
@@ -4,20 +4,28 @@
  */
 package software.amazon.smithy.typescript.codegen.knowledge;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import software.amazon.smithy.codegen.core.ReservedWords;
 import software.amazon.smithy.codegen.core.ReservedWordsBuilder;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.shapes.CollectionShape;
-import software.amazon.smithy.model.shapes.ListShape;
 import software.amazon.smithy.model.shapes.MapShape;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
@@ -25,6 +33,7 @@ import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.shapes.ToShapeId;
 import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.traits.EnumTrait;
 import software.amazon.smithy.model.traits.ErrorTrait;
@@ -103,9 +112,19 @@ public final class ServiceClosure implements KnowledgeIndex {
     private final Set<Shape> requiresNamingDeconfliction = new HashSet<>();
 
     /**
-     * Used temporarily during initial traversal.
+     * Dense ids of the shapes in the closure, in order of traversal.
+     * Member shapes are not included, only their targets.
      */
-    private final Set<ShapeId> scanned = new HashSet<>();
+    private final Map<ShapeId, Integer> shapeIndices = new HashMap<>();
+    private final List<Shape> shapes = new ArrayList<>();
+    /**
+     * Successors by dense id, computed on first use.
+     */
+    private int[][] edges;
+    /**
+     * Reachable shapes by operation, computed on first use.
+     */
+    private Map<ShapeId, BitSet> operationClosures;
 
     private ServiceClosure(Model model, ServiceShape service) {
         this.model = model;
@@ -114,9 +133,8 @@ public final class ServiceClosure implements KnowledgeIndex {
         TopDownIndex topDown = TopDownIndex.of(model);
         Set<OperationShape> containedOperations = topDown.getContainedOperations(service);
         operations.addAll(containedOperations);
-        scan(containedOperations);
-        scan(service);
-        scanned.clear();
+        scan(new ArrayList<>(containedOperations));
+        scan(List.of(service));
         deconflictSchemaVarNames();
     }
 
@@ -124,13 +142,15 @@ public final class ServiceClosure implements KnowledgeIndex {
         this.model = model;
         this.service = null;
         elision = SchemaReferenceIndex.of(model);
-        scan(shapes);
-        scanned.clear();
+        // sorted, so that dense ids and component order do not depend on the iteration order of the input.
+        List<Shape> roots = new ArrayList<>(shapes);
+        Collections.sort(roots);
+        scan(roots);
         deconflictSchemaVarNames();
     }
 
     public static ServiceClosure of(Model model, ServiceShape service) {
-        return model.getKnowledge(ServiceClosure.class, (Model m) -> new ServiceClosure(m, service));
+        return model.getKnowledge(ServiceClosures.class, (Model m) -> new ServiceClosures()).of(model, service);
     }
 
     public static ServiceClosure ofShapes(Model model, Collection<Shape> shapes) {
@@ -214,6 +234,89 @@ public final class ServiceClosure implements KnowledgeIndex {
         return waitableOperations;
     }
 
+    /**
+     * @param shape - a shape in the closure. Members are identified by their target.
+     * @return the dense id of the shape in this closure, or -1 if it is not in the closure.
+     */
+    public int getShapeIndex(ToShapeId shape) {
+        ShapeId id = shape.toShapeId();
+        if (shape instanceof MemberShape member) {
+            id = member.getTarget();
+        }
+        return shapeIndices.getOrDefault(id, -1);
+    }
+
+    /**
+     * @param index - dense id from {@link #getShapeIndex(ToShapeId)} or a closure bitset.
+     * @return the shape.
+     */
+    public Shape getShape(int index) {
+        return shapes.get(index);
+    }
+
+    /**
+     * @param closure - a bitset of dense shape ids.
+     * @return the shapes, ordered.
+     */
+    public TreeSet<Shape> getShapes(BitSet closure) {
+        TreeSet<Shape> result = new TreeSet<>();
+        closure.stream().forEach(i -> result.add(shapes.get(i)));
+        return result;
+    }
+
+    /**
+     * @param operation - an operation in the closure.
+     * @return the shapes reachable from the operation, including itself, its input, output, and errors,
+     * as a bitset of dense shape ids. The returned bitset is a copy.
+     */
+    public BitSet getOperationClosure(OperationShape operation) {
+        return (BitSet) closureOf(operation).clone();
+    }
+
+    /**
+     * @return shapes reachable from any of the operations.
+     */
+    public BitSet getUnionClosure(Collection<OperationShape> operations) {
+        BitSet result = new BitSet(shapes.size());
+        for (OperationShape operation : operations) {
+            result.or(closureOf(operation));
+        }
+        return result;
+    }
+
+    /**
+     * @return shapes reachable from all of the operations.
+     */
+    public BitSet getIntersectionClosure(Collection<OperationShape> operations) {
+        if (operations.isEmpty()) {
+            return new BitSet();
+        }
+        BitSet result = new BitSet(shapes.size());
+        result.set(0, shapes.size());
+        for (OperationShape operation : operations) {
+            result.and(closureOf(operation));
+        }
+        return result;
+    }
+
+    /**
+     * @param minOperations - minimum number of operations.
+     * @return shapes reachable from at least the given number of operations in the closure.
+     */
+    public BitSet getShapesSharedBy(int minOperations) {
+        int[] counts = new int[shapes.size()];
+        for (BitSet closure : getOperationClosures().values()) {
+            closure.stream().forEach(i -> counts[i]++);
+        }
+        BitSet result = new BitSet(shapes.size());
+        for (int i = 0; i < counts.length; ++i) {
+            if (counts[i] >= minOperations) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
     /**
      * @return variable name of the shape's schema, with deconfliction for multiple namespaces with the same
      * unqualified name.
@@ -278,138 +381,220 @@ public final class ServiceClosure implements KnowledgeIndex {
         }
     }
 
-    private void scan(Shape shape) {
-        scan(Collections.singletonList(shape));
+    /**
+     * @return the shapes of the closure grouped into strongly connected components, ordered so that
+     * shapes in each component only reference shapes in the same or earlier components.
+     * Shapes within a component are ordered. Each component's list is created as it is iterated.
+     */
+    public Iterable<List<Shape>> getComponents() {
+        StronglyConnectedComponents components = new StronglyConnectedComponents(getEdges());
+        return () -> new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < components.size();
+            }
+
+            @Override
+            public List<Shape> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int[] members = components.getMembers(next++);
+                List<Shape> component = new ArrayList<>(members.length);
+                for (int i : members) {
+                    component.add(shapes.get(i));
+                }
+                Collections.sort(component);
+                return component;
+            }
+        };
     }
 
-    private void scan(Set<OperationShape> shapes) {
-        scan(new ArrayList<>(shapes));
+    private BitSet closureOf(OperationShape operation) {
+        BitSet closure = getOperationClosures().get(operation.getId());
+        if (closure == null) {
+            throw new IllegalArgumentException("Operation " + operation.getId() + " is not in the closure.");
+        }
+        return closure;
     }
 
-    private void scan(Collection<Shape> shapes) {
-        for (Shape shape : shapes) {
-            if (scanned.contains(shape.getId())) {
-                continue;
+    /**
+     * Computes the reachable shapes of every operation with an iterative traversal over
+     * the dense shape ids of the closure.
+     */
+    private synchronized Map<ShapeId, BitSet> getOperationClosures() {
+        if (operationClosures != null) {
+            return operationClosures;
+        }
+        int[][] edges = getEdges();
+        Map<ShapeId, BitSet> closures = new HashMap<>();
+        int[] stack = new int[shapes.size()];
+        for (OperationShape operation : operations) {
+            BitSet closure = new BitSet(shapes.size());
+            int root = shapeIndices.get(operation.getId());
+            int stackSize = 0;
+            stack[stackSize++] = root;
+            closure.set(root);
+            while (stackSize > 0) {
+                for (int next : edges[stack[--stackSize]]) {
+                    if (!closure.get(next)) {
+                        closure.set(next);
+                        stack[stackSize++] = next;
+                    }
+                }
             }
-            scanned.add(shape.getId());
+            closures.put(operation.getId(), closure);
+        }
+        operationClosures = closures;
+        return operationClosures;
+    }
 
-            if (shape.isMemberShape()) {
-                MemberShape memberShape = (MemberShape) shape;
-                shape = model.expectShape(memberShape.getTarget());
+    private synchronized int[][] getEdges() {
+        if (edges == null) {
+            edges = new int[shapes.size()][];
+            for (int i = 0; i < edges.length; ++i) {
+                edges[i] = successors(shapes.get(i))
+                    .stream()
+                    .mapToInt(shape -> shapeIndices.get(shape.getId()))
+                    .toArray();
             }
+        }
+        return edges;
+    }
 
-            switch (shape.getType()) {
-                case LIST -> {
-                    ListShape listShape = (ListShape) shape;
-                    collectionShapes.add(listShape);
-                    existsAsSchema.add(listShape);
-                    scan(listShape.getMember());
+    /**
+     * @return the shapes directly referenced by the shape, with members resolved to their targets.
+     */
+    private List<Shape> successors(Shape shape) {
+        List<Shape> successors = new ArrayList<>();
+        switch (shape.getType()) {
+            case LIST, SET, MAP, STRUCTURE, UNION -> {
+                for (MemberShape member : shape.members()) {
+                    successors.add(model.expectShape(member.getTarget()));
                 }
-                case SET -> {
-                    var setShape = shape.asSetShape().get();
-                    collectionShapes.add(setShape);
-                    existsAsSchema.add(setShape);
-                    scan(setShape.getMember());
+            }
+            case OPERATION -> {
+                OperationShape operation = (OperationShape) shape;
+                ShapeId input = operation.getInput().isPresent() ? operation.getInputShape() : UNIT;
+                ShapeId output = operation.getOutput().isPresent() ? operation.getOutputShape() : UNIT;
+                successors.add(model.expectShape(input));
+                successors.add(model.expectShape(output));
+                for (ShapeId error : service != null ? operation.getErrors(service) : operation.getErrors()) {
+                    successors.add(model.expectShape(error));
                 }
-                case MAP -> {
-                    MapShape mapShape = (MapShape) shape;
-                    mapShapes.add(mapShape);
-                    existsAsSchema.add(mapShape);
-                    scan(mapShape.getKey());
-                    scan(mapShape.getValue());
+            }
+            case SERVICE -> {
+                for (ShapeId error : ((ServiceShape) shape).getErrorsSet()) {
+                    successors.add(model.expectShape(error));
                 }
-                case STRUCTURE, UNION -> {
-                    if (shape.isStructureShape()) {
-                        structureShapes.add(shape.asStructureShape().get());
-                    } else if (shape.isUnionShape()) {
-                        unionShapes.add(shape.asUnionShape().get());
-                    }
-                    existsAsSchema.add(shape);
+            }
+            default -> {
+                // ...
+            }
+        }
+        return successors;
+    }
 
-                    if (shape.hasTrait(ErrorTrait.class)) {
-                        errors.add(shape);
-                    } else if (!shape.getId().equals(UNIT)) {
-                        structuralInterfaces.add(shape);
-                    }
+    /**
+     * Iterative depth-first traversal, safe for deeply nested models.
+     */
+    private void scan(Collection<? extends Shape> roots) {
+        Deque<Shape> stack = new ArrayDeque<>(roots);
+        while (!stack.isEmpty()) {
+            Shape shape = stack.pop();
+            if (shape.isMemberShape()) {
+                MemberShape memberShape = (MemberShape) shape;
+                shape = model.expectShape(memberShape.getTarget());
+            }
+            if (shapeIndices.containsKey(shape.getId())) {
+                continue;
+            }
+            shapeIndices.put(shape.getId(), shapes.size());
+            shapes.add(shape);
+            collect(shape);
+            successors(shape).forEach(stack::push);
+        }
+    }
 
-                    if (shape instanceof StructureShape structureShape) {
-                        structureShape.getAllMembers().values().forEach(this::scan);
-                    } else if (shape instanceof UnionShape unionShape) {
-                        unionShape.getAllMembers().values().forEach(this::scan);
-                    }
+    private void collect(Shape shape) {
+        switch (shape.getType()) {
+            case LIST, SET -> {
+                CollectionShape collectionShape = (CollectionShape) shape;
+                collectionShapes.add(collectionShape);
+                existsAsSchema.add(collectionShape);
+            }
+            case MAP -> {
+                MapShape mapShape = (MapShape) shape;
+                mapShapes.add(mapShape);
+                existsAsSchema.add(mapShape);
+            }
+            case STRUCTURE, UNION -> {
+                if (shape.isStructureShape()) {
+                    structureShapes.add(shape.asStructureShape().get());
+                } else if (shape.isUnionShape()) {
+                    unionShapes.add(shape.asUnionShape().get());
                 }
-                case OPERATION -> {
-                    OperationShape operation = (OperationShape) shape;
-                    if (operation.hasTrait(WaitableTrait.ID)) {
-                        waitableOperations.add(operation);
-                    }
-                    if (operation.hasTrait(PaginatedTrait.ID)) {
-                        paginatedOperations.add(operation);
-                    }
-                    if (operation.getInput().isPresent()) {
-                        scan(model.expectShape(operation.getInputShape()));
-                    } else {
-                        scan(model.expectShape(UNIT));
-                    }
-                    if (operation.getOutput().isPresent()) {
-                        scan(model.expectShape(operation.getOutputShape()));
-                    } else {
-                        scan(model.expectShape(UNIT));
-                    }
-                    if (service != null) {
-                        operation
-                            .getErrors(service)
-                            .forEach(error -> {
-                                scan(model.expectShape(error));
-                            });
-                    } else {
-                        operation
-                            .getErrors()
-                            .forEach(error -> {
-                                scan(model.expectShape(error));
-                            });
-                    }
-                    operations.add(operation);
-                    existsAsSchema.add(operation);
+                existsAsSchema.add(shape);
+
+                if (shape.hasTrait(ErrorTrait.class)) {
+                    errors.add(shape);
+                } else if (!shape.getId().equals(UNIT)) {
+                    structuralInterfaces.add(shape);
                 }
-                case SERVICE -> {
-                    ServiceShape serviceShape = (ServiceShape) shape;
-                    serviceShape
-                        .getErrorsSet()
-                        .forEach(errorShapeId -> {
-                            Shape errorShape = model.expectShape(errorShapeId);
-                            scan(errorShape);
-                        });
+            }
+            case OPERATION -> {
+                OperationShape operation = (OperationShape) shape;
+                if (operation.hasTrait(WaitableTrait.ID)) {
+                    waitableOperations.add(operation);
                 }
-                case
-                    BYTE,
-                    INT_ENUM,
-                    SHORT,
-                    INTEGER,
-                    LONG,
-                    FLOAT,
-                    DOUBLE,
-                    BIG_INTEGER,
-                    BIG_DECIMAL,
-                    BOOLEAN,
-                    STRING,
-                    TIMESTAMP,
-                    DOCUMENT,
-                    ENUM,
-                    BLOB -> {
-                    if (shape.isEnumShape() || shape.isIntEnumShape() || shape.hasTrait(EnumTrait.class)) {
-                        enums.add(shape);
-                    }
-
-                    if (elision.traits.hasSchemaTraits(shape)) {
-                        existsAsSchema.add(shape);
-                    }
-                    simpleShapes.add(shape);
+                if (operation.hasTrait(PaginatedTrait.ID)) {
+                    paginatedOperations.add(operation);
                 }
-                default -> {
-                    // ...
+                operations.add(operation);
+                existsAsSchema.add(operation);
+            }
+            case
+                BYTE,
+                INT_ENUM,
+                SHORT,
+                INTEGER,
+                LONG,
+                FLOAT,
+                DOUBLE,
+                BIG_INTEGER,
+                BIG_DECIMAL,
+                BOOLEAN,
+                STRING,
+                TIMESTAMP,
+                DOCUMENT,
+                ENUM,
+                BLOB -> {
+                if (shape.isEnumShape() || shape.isIntEnumShape() || shape.hasTrait(EnumTrait.class)) {
+                    enums.add(shape);
                 }
+
+                if (elision.traits.hasSchemaTraits(shape)) {
+                    existsAsSchema.add(shape);
+                }
+                simpleShapes.add(shape);
+            }
+            default -> {
+                // ...
             }
         }
     }
+
+    /**
+     * Closures by service. A model may be shared by the codegen of several services,
+     * so the model knowledge cannot be a single closure.
+     */
+    private static final class ServiceClosures implements KnowledgeIndex {
+        private final Map<ShapeId, ServiceClosure> closures = new ConcurrentHashMap<>();
+
+        ServiceClosure of(Model model, ServiceShape service) {
+            return closures.computeIfAbsent(service.getId(), id -> new ServiceClosure(model, service));
+        }
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.knowledge;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of a graph over dense integer node ids, found with an
+ * iterative Tarjan's algorithm so that deep graphs do not exhaust the call stack.
+ *
+ * <p>Components are numbered in the order they complete, which is a reverse topological
+ * order: every edge leaving a component leads to a component with a lower number.
+ */
+final class StronglyConnectedComponents {
+
+    private final int[] component;
+    /**
+     * Node ids grouped by component, ascending within each component.
+     */
+    private final int[] members;
+    /**
+     * Start of each component in {@link #members}, followed by the number of nodes.
+     */
+    private final int[] offsets;
+
+    /**
+     * @param edges - successors of each node, by node id.
+     */
+    StronglyConnectedComponents(int[][] edges) {
+        int n = edges.length;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] nextEdge = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int stackSize = 0;
+        int components = 0;
+        int counter = 0;
+        component = new int[n];
+        Arrays.fill(index, -1);
+
+        for (int root = 0; root < n; ++root) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int callStackSize = 0;
+            callStack[callStackSize++] = root;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (callStackSize > 0) {
+                int v = callStack[callStackSize - 1];
+                if (nextEdge[v] < edges[v].length) {
+                    int w = edges[v][nextEdge[v]++];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[callStackSize++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                callStackSize--;
+                if (callStackSize > 0) {
+                    int parent = callStack[callStackSize - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = components;
+                    } while (w != v);
+                    components++;
+                }
+            }
+        }
+
+        offsets = new int[components + 1];
+        for (int v = 0; v < n; ++v) {
+            offsets[component[v] + 1]++;
+        }
+        for (int c = 0; c < components; ++c) {
+            offsets[c + 1] += offsets[c];
+        }
+        members = new int[n];
+        int[] next = Arrays.copyOf(offsets, components);
+        for (int v = 0; v < n; ++v) {
+            members[next[component[v]]++] = v;
+        }
+    }
+
+    /**
+     * @return the number of components.
+     */
+    int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @param node - node id.
+     * @return the component of the node.
+     */
+    int getComponent(int node) {
+        return component[node];
+    }
+
+    /**
+     * @param component - component number.
+     * @return a copy of the node ids in the component, ascending.
+     */
+    int[] getMembers(int component) {
+        return Arrays.copyOfRange(members, offsets[component], offsets[component + 1]);
+    }
+}
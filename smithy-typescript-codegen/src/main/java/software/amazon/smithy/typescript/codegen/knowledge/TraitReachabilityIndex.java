@@ -0,0 +1,187 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.knowledge;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.neighbor.NeighborProvider;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.neighbor.RelationshipDirection;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Index of which traits are applied to a shape or to any shape reachable from it.
+ *
+ * <p>Shapes and traits are assigned dense integer ids. For each kind of {@link Traversal},
+ * the reachable traits of every shape are computed once as a bitset, in a single pass
+ * over the strongly connected components of the shape graph, so that queries are
+ * constant time regardless of the depth or recursion of the model.
+ */
+@SmithyInternalApi
+public final class TraitReachabilityIndex implements KnowledgeIndex {
+
+    /**
+     * The relationships followed when determining reachability.
+     */
+    public enum Traversal {
+        /**
+         * From a shape to its members, and from a member to its target.
+         */
+        MEMBERS,
+
+        /**
+         * All directed neighbor relationships, excluding trait relationships,
+         * equivalent to the {@code ~>} selector.
+         */
+        NEIGHBORS
+    }
+
+    private final Model model;
+    private final Shape[] shapes;
+    private final Map<ShapeId, Integer> shapeIds = new HashMap<>();
+    private final Map<ShapeId, Integer> traitIds = new HashMap<>();
+    private final List<ShapeId> traits = new ArrayList<>();
+    private final BitSet[] ownTraits;
+    private final Map<Traversal, BitSet[]> reachableTraits = new EnumMap<>(Traversal.class);
+
+    public TraitReachabilityIndex(Model model) {
+        this.model = model;
+        shapes = model.toSet().toArray(new Shape[0]);
+        ownTraits = new BitSet[shapes.length];
+        for (int i = 0; i < shapes.length; ++i) {
+            shapeIds.put(shapes[i].getId(), i);
+            ownTraits[i] = new BitSet();
+            for (ShapeId trait : shapes[i].getAllTraits().keySet()) {
+                ownTraits[i].set(traitIds.computeIfAbsent(trait, t -> {
+                    traits.add(t);
+                    return traits.size() - 1;
+                }));
+            }
+        }
+    }
+
+    public static TraitReachabilityIndex of(Model model) {
+        return model.getKnowledge(TraitReachabilityIndex.class, TraitReachabilityIndex::new);
+    }
+
+    /**
+     * @param traits - trait shape ids.
+     * @return a mask of the given traits for use with {@link #reaches(Shape, Traversal, BitSet)}.
+     */
+    public BitSet getTraitMask(Collection<ShapeId> traits) {
+        BitSet mask = new BitSet();
+        for (ShapeId trait : traits) {
+            Integer id = traitIds.get(trait);
+            if (id != null) {
+                mask.set(id);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @param predicate - selects trait shape ids.
+     * @return a mask of the traits in the model that match the predicate.
+     */
+    public BitSet getTraitMask(Predicate<ShapeId> predicate) {
+        BitSet mask = new BitSet();
+        for (int i = 0; i < traits.size(); ++i) {
+            if (predicate.test(traits.get(i))) {
+                mask.set(i);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @param shape - query.
+     * @param traversal - relationships to follow.
+     * @param traitMask - from {@link #getTraitMask}.
+     * @return whether any of the traits is applied to the shape or to a shape reachable from it.
+     */
+    public boolean reaches(Shape shape, Traversal traversal, BitSet traitMask) {
+        Integer id = shapeIds.get(shape.getId());
+        if (id == null) {
+            // not a shape of this model, only its own traits are known.
+            return getTraitMask(shape.getAllTraits().keySet()).intersects(traitMask);
+        }
+        return getReachableTraits(traversal)[id].intersects(traitMask);
+    }
+
+    private synchronized BitSet[] getReachableTraits(Traversal traversal) {
+        return reachableTraits.computeIfAbsent(traversal, t -> computeReachableTraits(getEdges(t)));
+    }
+
+    private int[][] getEdges(Traversal traversal) {
+        int[][] edges = new int[shapes.length][];
+        NeighborProvider neighbors = traversal == Traversal.NEIGHBORS
+            ? NeighborProviderIndex.of(model).getProvider()
+            : null;
+        List<ShapeId> targets = new ArrayList<>();
+        for (int i = 0; i < shapes.length; ++i) {
+            Shape shape = shapes[i];
+            targets.clear();
+            if (neighbors != null) {
+                for (Relationship relationship : neighbors.getNeighbors(shape)) {
+                    if (relationship.getRelationshipType().getDirection() == RelationshipDirection.DIRECTED) {
+                        targets.add(relationship.getNeighborShapeId());
+                    }
+                }
+            } else {
+                for (MemberShape member : shape.members()) {
+                    targets.add(member.getId());
+                }
+                shape.asMemberShape().ifPresent(member -> targets.add(member.getTarget()));
+            }
+            edges[i] = targets.stream()
+                .map(shapeIds::get)
+                .filter(id -> id != null)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+        return edges;
+    }
+
+    /**
+     * Unions the traits of each strongly connected component with those of the components it reaches.
+     * Components are numbered in reverse topological order, so the components reachable from
+     * a component are always complete before it.
+     */
+    private BitSet[] computeReachableTraits(int[][] edges) {
+        StronglyConnectedComponents components = new StronglyConnectedComponents(edges);
+        BitSet[] componentTraits = new BitSet[components.size()];
+        for (int c = 0; c < components.size(); ++c) {
+            BitSet reachable = new BitSet();
+            for (int v : components.getMembers(c)) {
+                reachable.or(ownTraits[v]);
+                for (int w : edges[v]) {
+                    if (components.getComponent(w) != c) {
+                        reachable.or(componentTraits[components.getComponent(w)]);
+                    }
+                }
+            }
+            componentTraits[c] = reachable;
+        }
+
+        // shapes in the same component share the same bitset.
+        BitSet[] result = new BitSet[edges.length];
+        for (int v = 0; v < edges.length; ++v) {
+            result[v] = componentTraits[components.getComponent(v)];
+        }
+        return result;
+    }
+}
@@ -37,6 +37,11 @@ public class CborShapeDeserVisitor extends DocumentShapeDeserVisitor {
         TypeScriptWriter writer = context.getWriter();
         Shape target = context.getModel().expectShape(shape.getMember().getTarget());
 
+        if (singlePassDeserializers()) {
+            deserializeCollectionInLoop(context, shape, entry -> target.accept(getMemberVisitor(entry)));
+            return;
+        }
+
         String potentialFilter = "";
         if (!shape.hasTrait(SparseTrait.ID)) {
             potentialFilter = ".filter((e: any) => e != null)";
@@ -95,6 +100,15 @@ public class CborShapeDeserVisitor extends DocumentShapeDeserVisitor {
         Shape target = context.getModel().expectShape(shape.getValue().getTarget());
         SymbolProvider symbolProvider = context.getSymbolProvider();
 
+        if (singlePassDeserializers()) {
+            deserializeMapInLoop(
+                context,
+                shape,
+                value -> target.accept(getMemberVisitor(value)) + (usesExpect(target) ? " as any" : "")
+            );
+            return;
+        }
+
         writer.openBlock(
             "return Object.entries(output).reduce((acc: $T, [key, value]: [string, any]) => {",
             "",
@@ -125,6 +139,14 @@ public class CborShapeDeserVisitor extends DocumentShapeDeserVisitor {
     protected void deserializeStructure(ProtocolGenerator.GenerationContext context, StructureShape shape) {
         TypeScriptWriter writer = context.getWriter();
 
+        if (singlePassDeserializers()) {
+            deserializeStructureByAssignment(context, shape, (memberShape, value) -> {
+                Shape target = context.getModel().expectShape(memberShape.getTarget());
+                return target.accept(getMemberVisitor(value));
+            });
+            return;
+        }
+
         Map<String, MemberShape> members = new TreeMap<>(shape.getAllMembers());
         writer.addImportSubmodule("take", null, TypeScriptDependency.SMITHY_CORE, SmithyCoreSubmodules.CLIENT);
         writer.openBlock("return take(output, {", "}) as any;", () -> {
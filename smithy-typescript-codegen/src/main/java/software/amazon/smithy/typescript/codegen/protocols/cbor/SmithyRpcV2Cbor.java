@@ -95,7 +95,12 @@ public class SmithyRpcV2Cbor extends HttpRpcProtocolGenerator {
             deserializingDocumentShapes,
             true,
             enableSerdeElision(),
-            serdeElisionIndex
+            serdeElisionIndex,
+            Symbol.builder()
+                .name("parseCborPayload")
+                .namespace(TypeScriptDependency.SMITHY_CORE.packageName + SmithyCoreSubmodules.CBOR, "/")
+                .addDependency(TypeScriptDependency.SMITHY_CORE)
+                .build()
         );
         errorEventShapes.removeIf(deserializingErrorShapes::contains);
         errorEventShapes.forEach(error -> generateErrorDeserializer(context, error));
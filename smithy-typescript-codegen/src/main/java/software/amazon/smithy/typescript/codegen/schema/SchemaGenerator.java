@@ -4,6 +4,15 @@
  */
 package software.amazon.smithy.typescript.codegen.schema;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -44,13 +53,27 @@ import software.amazon.smithy.utils.SmithyInternalApi;
 public class SchemaGenerator implements Runnable {
 
     public static final String SCHEMAS_FOLDER = "schemas";
+    /**
+     * Shapes written between flushes of the declarations writer in types mode.
+     */
+    private static final int SEGMENT_SHAPE_COUNT = 256;
     private final SchemaReferenceIndex elision;
     private final TypeScriptSettings settings;
     private final SymbolProvider symbolProvider;
     private final Model model;
     private final FileManifest fileManifest;
     private final StringStore store = new StringStore();
-    private final TypeScriptWriter writer = new TypeScriptWriter("");
+    /**
+     * Receives the imports of the schemas file.
+     * Outside of types mode, this is the same writer as the declarations writer.
+     */
+    private final TypeScriptWriter imports;
+    /**
+     * Receives the schema declarations. In types mode, this is replaced with a new writer
+     * each time its contents are flushed.
+     */
+    private TypeScriptWriter writer = new TypeScriptWriter("");
+    private final boolean streaming;
     private final ServiceClosure closure;
     private final Set<String> errorRegistries = new TreeSet<>();
 
@@ -73,6 +96,8 @@ public class SchemaGenerator implements Runnable {
         elision = SchemaReferenceIndex.of(model);
         this.settings = settings;
         this.symbolProvider = symbolProvider;
+        imports = writer;
+        streaming = false;
         writer.write(
             """
             /* eslint no-var: 0 */"""
@@ -85,13 +110,28 @@ public class SchemaGenerator implements Runnable {
         TypeScriptSettings settings,
         SymbolProvider symbolProvider,
         Collection<Shape> shapes
+    ) {
+        this(model, fileManifest, settings, symbolProvider, ServiceClosure.ofShapes(model, shapes));
+    }
+
+    /**
+     * @param closure - a shape closure that is shared with the generation of its type files.
+     */
+    public SchemaGenerator(
+        Model model,
+        FileManifest fileManifest,
+        TypeScriptSettings settings,
+        SymbolProvider symbolProvider,
+        ServiceClosure closure
     ) {
         this.model = model;
         this.fileManifest = fileManifest;
-        closure = ServiceClosure.ofShapes(model, shapes);
+        this.closure = closure;
         elision = SchemaReferenceIndex.of(model);
         this.settings = settings;
         this.symbolProvider = symbolProvider;
+        imports = new TypeScriptWriter("");
+        streaming = true;
         writer.write(
             """
             /* eslint no-var: 0 */"""
@@ -103,6 +143,10 @@ public class SchemaGenerator implements Runnable {
      */
     @Override
     public void run() {
+        if (streaming) {
+            runStreaming();
+            return;
+        }
         if (!settings.isTypesOnly()) {
             for (ServiceShape service : model.getServiceShapes()) {
                 if (!SchemaGenerationAllowlist.allows(service.getId(), settings)) {
@@ -130,6 +174,84 @@ public class SchemaGenerator implements Runnable {
         }
     }
 
+    /**
+     * Writes the schemas of a shape closure one strongly connected component at a time, spooling
+     * the declarations to a temporary file so that the generated code for large closures is
+     * not held in memory. Schema references are lazy, so declarations may appear in any order.
+     */
+    private void runStreaming() {
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("schemas", ".ts");
+            try (BufferedWriter out = Files.newBufferedWriter(spool, StandardCharsets.UTF_8)) {
+                writeErrors();
+                int pending = 0;
+                for (List<Shape> component : closure.getComponents()) {
+                    for (Shape shape : component) {
+                        writeSchema(shape);
+                    }
+                    pending += component.size();
+                    if (pending >= SEGMENT_SHAPE_COUNT) {
+                        flushDeclarations(out);
+                        pending = 0;
+                    }
+                }
+                flushDeclarations(out);
+            }
+            // every schema declaration imports its schema type, so without imports the closure has no schemas.
+            if (imports.getImportContainer().toString().isEmpty()) {
+                return;
+            }
+
+            String header = store.flushVariableDeclarationCode() + "\n" + imports;
+            try (
+                InputStream contents = new SequenceInputStream(
+                    new ByteArrayInputStream(header.getBytes(StandardCharsets.UTF_8)),
+                    Files.newInputStream(spool)
+                )
+            ) {
+                fileManifest.writeFile(
+                    Paths.get(CodegenUtils.SOURCE_FOLDER, SCHEMAS_FOLDER, "schemas_0.ts").toString(),
+                    contents
+                );
+            }
+        } catch (IOException e) {
+            throw new CodegenException("Failed to write schemas", e);
+        } finally {
+            if (spool != null) {
+                spool.toFile().delete();
+            }
+        }
+    }
+
+    private void writeSchema(Shape shape) {
+        switch (shape.getType()) {
+            case STRUCTURE -> writeStructureSchema(shape.asStructureShape().get());
+            case UNION -> writeUnionSchema(shape.asUnionShape().get());
+            case LIST, SET -> writeListSchema((CollectionShape) shape);
+            case MAP -> writeMapSchema(shape.asMapShape().get());
+            case OPERATION -> writeOperationSchema(shape.asOperationShape().get());
+            default -> {
+                if (closure.getSimpleShapes().contains(shape)) {
+                    writeSimpleSchema(shape);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the declarations written so far to the spool and starts a new declarations writer.
+     * Imports are held separately, so the declarations writer only adds its attribution comment.
+     */
+    private void flushDeclarations(Writer out) throws IOException {
+        String declarations = writer.toString();
+        if (declarations.startsWith(TypeScriptWriter.CODEGEN_INDICATOR)) {
+            declarations = declarations.substring(TypeScriptWriter.CODEGEN_INDICATOR.length());
+        }
+        out.write(declarations);
+        writer = new TypeScriptWriter("");
+    }
+
     /**
      * @return variable name of the shape's schema, with deconfliction for multiple namespaces with the same
      * unqualified name.
@@ -144,7 +266,7 @@ public class SchemaGenerator implements Runnable {
      */
     private void writeSimpleSchema(Shape shape) {
         if (elision.traits.hasSchemaTraits(shape)) {
-            writer.addTypeImport("StaticSimpleSchema", null, TypeScriptDependency.SMITHY_TYPES);
+            imports.addTypeImport("StaticSimpleSchema", null, TypeScriptDependency.SMITHY_TYPES);
             writer.writeInline(
                 """
                 var $L: StaticSimpleSchema = [0, $L, $L,\s""",
@@ -161,7 +283,7 @@ public class SchemaGenerator implements Runnable {
     private void writeStructureSchema(StructureShape shape) {
         checkedWriteSchema(shape, () -> {
             if (!shape.hasTrait(ErrorTrait.class)) {
-                writer.addTypeImport("StaticStructureSchema", null, TypeScriptDependency.SMITHY_TYPES);
+                imports.addTypeImport("StaticStructureSchema", null, TypeScriptDependency.SMITHY_TYPES);
                 writer.openBlock(
                     """
                     export var $L: StaticStructureSchema = [3, $L, $L,""",
@@ -181,7 +303,7 @@ public class SchemaGenerator implements Runnable {
             String errorRegistryVarName = ns + "_registry";
 
             if (!errorRegistries.contains(errorRegistryVarName)) {
-                writer.addImportSubmodule("TypeRegistry", null, TypeScriptDependency.SMITHY_CORE, "/schema");
+                imports.addImportSubmodule("TypeRegistry", null, TypeScriptDependency.SMITHY_CORE, "/schema");
                 writer.write(
                     """
                     const $L = TypeRegistry.for($L);""",
@@ -201,8 +323,8 @@ public class SchemaGenerator implements Runnable {
                 // from models/errors.ts, which reflects closure/service renames and escaping.
                 String exceptionCtorSymbolName = symbolProvider.toSymbol(shape).getName();
 
-                writer.addTypeImport("StaticErrorSchema", null, TypeScriptDependency.SMITHY_TYPES);
-                writer.addRelativeImport(exceptionCtorSymbolName, null, Paths.get("..", "models", "errors"));
+                imports.addTypeImport("StaticErrorSchema", null, TypeScriptDependency.SMITHY_TYPES);
+                imports.addRelativeImport(exceptionCtorSymbolName, null, Paths.get("..", "models", "errors"));
                 writer.openBlock(
                     """
                     export var $L: StaticErrorSchema = [-3, $L, $L,""",
@@ -246,8 +368,8 @@ public class SchemaGenerator implements Runnable {
 
         String namespace = settings.getService(model).getId().getNamespace();
 
-        writer.addTypeImport("StaticErrorSchema", null, TypeScriptDependency.SMITHY_TYPES);
-        writer.addRelativeImport(
+        imports.addTypeImport("StaticErrorSchema", null, TypeScriptDependency.SMITHY_TYPES);
+        imports.addRelativeImport(
             syntheticBaseExceptionName,
             null,
             Paths.get("..", "models", syntheticBaseExceptionName)
@@ -255,7 +377,7 @@ public class SchemaGenerator implements Runnable {
 
         String syntheticNamespace = store.var("smithy.ts.sdk.synthetic." + namespace);
         String syntheticNamespaceTypeRegistry = syntheticNamespace + "_registry";
-        writer.addImportSubmodule("TypeRegistry", null, TypeScriptDependency.SMITHY_CORE, "/schema");
+        imports.addImportSubmodule("TypeRegistry", null, TypeScriptDependency.SMITHY_CORE, "/schema");
 
         writer.write(
             """
@@ -282,7 +404,7 @@ public class SchemaGenerator implements Runnable {
 
     private void writeUnionSchema(UnionShape shape) {
         checkedWriteSchema(shape, () -> {
-            writer.addTypeImport("StaticUnionSchema", null, TypeScriptDependency.SMITHY_TYPES);
+            imports.addTypeImport("StaticUnionSchema", null, TypeScriptDependency.SMITHY_TYPES);
             writer.openBlock(
                 """
                 export var $L: StaticUnionSchema = [4, $L, $L,""",
@@ -355,7 +477,7 @@ public class SchemaGenerator implements Runnable {
 
     private void writeListSchema(CollectionShape shape) {
         checkedWriteSchema(shape, () -> {
-            writer.addTypeImport("StaticListSchema", null, TypeScriptDependency.SMITHY_TYPES);
+            imports.addTypeImport("StaticListSchema", null, TypeScriptDependency.SMITHY_TYPES);
             writer.openBlock(
                 """
                 var $L: StaticListSchema = [1, $L, $L,""",
@@ -370,7 +492,7 @@ public class SchemaGenerator implements Runnable {
 
     private void writeMapSchema(MapShape shape) {
         checkedWriteSchema(shape, () -> {
-            writer.addTypeImport("StaticMapSchema", null, TypeScriptDependency.SMITHY_TYPES);
+            imports.addTypeImport("StaticMapSchema", null, TypeScriptDependency.SMITHY_TYPES);
             writer.openBlock(
                 """
                 var $L: StaticMapSchema = [2, $L, $L,""",
@@ -418,7 +540,7 @@ public class SchemaGenerator implements Runnable {
     }
 
     private void writeOperationSchema(OperationShape shape) {
-        writer.addTypeImport("StaticOperationSchema", null, TypeScriptDependency.SMITHY_TYPES);
+        imports.addTypeImport("StaticOperationSchema", null, TypeScriptDependency.SMITHY_TYPES);
         writer.openBlock(
             """
             export var $L: StaticOperationSchema = [9, $L, $L,""",
@@ -584,14 +706,14 @@ public class SchemaGenerator implements Runnable {
                 contained = shape.asListShape().get().getMember();
                 staticTypePrefix = "[1, ";
                 sentinel = "64";
-                writer.addTypeImport("StaticListSchema", null, TypeScriptDependency.SMITHY_TYPES);
+                imports.addTypeImport("StaticListSchema", null, TypeScriptDependency.SMITHY_TYPES);
             }
             case MAP -> {
                 contained = shape.asMapShape().get().getValue();
                 staticTypePrefix = "[2, ";
                 keySchema = this.resolveSimpleSchema(context, shape.asMapShape().get().getKey()) + ", ";
                 sentinel = "128";
-                writer.addTypeImport("StaticMapSchema", null, TypeScriptDependency.SMITHY_TYPES);
+                imports.addTypeImport("StaticMapSchema", null, TypeScriptDependency.SMITHY_TYPES);
             }
             default -> {
                 throw new IllegalArgumentException(
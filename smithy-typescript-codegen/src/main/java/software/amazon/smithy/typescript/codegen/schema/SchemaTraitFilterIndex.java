@@ -4,9 +4,8 @@
  */
 package software.amazon.smithy.typescript.codegen.schema;
 
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import software.amazon.smithy.model.Model;
@@ -41,12 +40,12 @@ import software.amazon.smithy.model.traits.SensitiveTrait;
 import software.amazon.smithy.model.traits.SparseTrait;
 import software.amazon.smithy.model.traits.StreamingTrait;
 import software.amazon.smithy.model.traits.TimestampFormatTrait;
-import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.UniqueItemsTrait;
 import software.amazon.smithy.model.traits.XmlAttributeTrait;
 import software.amazon.smithy.model.traits.XmlFlattenedTrait;
 import software.amazon.smithy.model.traits.XmlNameTrait;
 import software.amazon.smithy.model.traits.XmlNamespaceTrait;
+import software.amazon.smithy.typescript.codegen.knowledge.TraitReachabilityIndex;
 import software.amazon.smithy.utils.SetUtils;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
@@ -109,8 +108,8 @@ public final class SchemaTraitFilterIndex implements KnowledgeIndex {
             HostLabelTrait.ID
         )
     );
-    private final Map<Shape, Boolean> cache = new HashMap<>();
-    private final Model model;
+    private final TraitReachabilityIndex reachabilityIndex;
+    private BitSet schemaTraits;
 
     SchemaTraitFilterIndex(Model model) {
         Set<Shape> protocolDefinitionTraits = model.getShapesWithTrait(ProtocolDefinitionTrait.class);
@@ -133,10 +132,8 @@ public final class SchemaTraitFilterIndex implements KnowledgeIndex {
                 });
         }
 
-        this.model = model;
-        for (Shape shape : model.toSet()) {
-            cache.put(shape, hasSchemaTraits(shape));
-        }
+        reachabilityIndex = TraitReachabilityIndex.of(model);
+        schemaTraits = reachabilityIndex.getTraitMask(this::includeTrait);
     }
 
     public static SchemaTraitFilterIndex of(Model model) {
@@ -149,11 +146,7 @@ public final class SchemaTraitFilterIndex implements KnowledgeIndex {
      */
     public void enableConstraintTraits() {
         includedTraits.addAll(CONSTRAINT_TRAITS);
-        // Invalidate cache since trait inclusion changed.
-        cache.clear();
-        for (Shape shape : model.toSet()) {
-            cache.put(shape, hasSchemaTraits(shape));
-        }
+        schemaTraits = reachabilityIndex.getTraitMask(this::includeTrait);
     }
 
     /**
@@ -165,45 +158,11 @@ public final class SchemaTraitFilterIndex implements KnowledgeIndex {
     }
 
     /**
-     * This operation is cached on call.
-     *
      * @param shape - structure or member, usually.
-     * @return whether it has at least 1 trait that is needed in a schema.
+     * @return whether it, its members, or their targets, transitively, have at least 1 trait
+     *         that is needed in a schema.
      */
     public boolean hasSchemaTraits(Shape shape) {
-        return hasSchemaTraits(shape, 0);
-    }
-
-    private boolean hasSchemaTraits(Shape shape, int depth) {
-        if (cache.containsKey(shape)) {
-            return cache.get(shape);
-        }
-        if (depth > 20) {
-            return false;
-        }
-        boolean hasSchemaTraits = shape
-            .getAllTraits()
-            .values()
-            .stream()
-            .map(Trait::toShapeId)
-            .anyMatch(this::includeTrait);
-
-        if (hasSchemaTraits) {
-            cache.put(shape, true);
-            return true;
-        }
-
-        boolean membersHaveSchemaTraits = shape
-            .getAllMembers()
-            .values()
-            .stream()
-            .anyMatch(ms -> hasSchemaTraits(ms, depth + 1));
-        boolean targetHasSchemaTraits = shape
-            .asMemberShape()
-            .map(ms -> hasSchemaTraits(model.expectShape(ms.getTarget()), depth + 1))
-            .orElse(false);
-
-        cache.put(shape, membersHaveSchemaTraits || targetHasSchemaTraits);
-        return cache.get(shape);
+        return reachabilityIndex.reaches(shape, TraitReachabilityIndex.Traversal.MEMBERS, schemaTraits);
     }
 }
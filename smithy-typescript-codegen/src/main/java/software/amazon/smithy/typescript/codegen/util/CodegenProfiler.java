@@ -0,0 +1,373 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.util;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.codegen.core.directed.ShapeDirective;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Records wall time, CPU time, and allocated bytes of codegen phases, integrations, and directives
+ * on the current thread, and writes them as a Chrome trace file (also readable by Perfetto)
+ * with an additional summary of totals by phase, the peak heap usage of the run, and the size of
+ * each generated file.
+ *
+ * <p>Enabled by the {@code profileCodegen} setting. When not enabled, {@link #current()} returns a
+ * profiler that records nothing.
+ *
+ * <p>Peak heap usage is measured by the JVM for the whole process. It is only reported for runs
+ * that did not overlap with another profiled run, because concurrent runs, e.g. of the batch plugin,
+ * share the heap and the peaks that a run resets when it begins.
+ */
+@SmithyInternalApi
+public final class CodegenProfiler {
+
+    public static final String PROFILE_FILE = "codegen-profile.json";
+
+    /**
+     * Spans shorter than this are counted in the summary, but are not written as trace events.
+     */
+    private static final long MIN_TRACE_EVENT_NANOS = 100_000;
+    private static final ThreadLocal<CodegenProfiler> CURRENT = new ThreadLocal<>();
+    private static final CodegenProfiler DISABLED = new CodegenProfiler(false);
+    private static final Span NOOP = () -> {};
+    private static int activeRuns;
+    private static long startedRuns;
+
+    private final boolean enabled;
+    private final boolean overlapsAtStart;
+    private final long startedRunsAtStart;
+    private final long origin = System.nanoTime();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTimeSupported;
+    private final boolean allocationSupported;
+    private final List<ObjectNode> traceEvents = new ArrayList<>();
+    private final Map<String, Totals> totals = new TreeMap<>();
+
+    private CodegenProfiler(boolean enabled) {
+        this(enabled, false, 0);
+    }
+
+    private CodegenProfiler(boolean enabled, boolean overlapsAtStart, long startedRunsAtStart) {
+        this.enabled = enabled;
+        this.overlapsAtStart = overlapsAtStart;
+        this.startedRunsAtStart = startedRunsAtStart;
+        cpuTimeSupported = enabled && threads.isCurrentThreadCpuTimeSupported();
+        allocationSupported = enabled
+            && threads instanceof com.sun.management.ThreadMXBean sunThreads
+            && sunThreads.isThreadAllocatedMemorySupported()
+            && sunThreads.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * @return the profiler of the codegen run on the current thread, or a profiler that records nothing.
+     */
+    public static CodegenProfiler current() {
+        CodegenProfiler profiler = CURRENT.get();
+        return profiler == null ? DISABLED : profiler;
+    }
+
+    /**
+     * Starts profiling a codegen run on the current thread.
+     *
+     * @return the new profiler, also returned by {@link #current()} until {@link #end()}.
+     */
+    public static CodegenProfiler begin() {
+        CodegenProfiler profiler;
+        synchronized (CodegenProfiler.class) {
+            boolean overlaps = activeRuns > 0;
+            if (!overlaps) {
+                // Resetting the peaks while another run is profiled would invalidate its peak.
+                for (MemoryPoolMXBean pool : heapPools()) {
+                    pool.resetPeakUsage();
+                }
+            }
+            activeRuns++;
+            profiler = new CodegenProfiler(true, overlaps, ++startedRuns);
+        }
+        CURRENT.set(profiler);
+        return profiler;
+    }
+
+    /**
+     * Stops profiling on the current thread.
+     */
+    public static void end() {
+        if (CURRENT.get() != null) {
+            synchronized (CodegenProfiler.class) {
+                activeRuns--;
+            }
+        }
+        CURRENT.remove();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a span, which is recorded when closed.
+     *
+     * @param category - e.g. phase, directive, integration.
+     * @param name - name of the span, totals are aggregated by category and name.
+     * @return the span to close.
+     */
+    public Span start(String category, String name) {
+        return start(category, name, name);
+    }
+
+    /**
+     * @param category - e.g. phase, directive, integration.
+     * @param name - name of the span, totals are aggregated by category and name.
+     * @param detail - name of the trace event, e.g. the name with the shape being generated.
+     * @return the span to close.
+     */
+    public Span start(String category, String name, String detail) {
+        if (!enabled) {
+            return NOOP;
+        }
+        long wall = System.nanoTime();
+        long cpu = cpuTime();
+        long allocated = allocatedBytes();
+        return () -> record(category, name, detail, wall, cpu, allocated);
+    }
+
+    public void run(String category, String name, Runnable runnable) {
+        try (Span span = start(category, name)) {
+            runnable.run();
+        }
+    }
+
+    public <T> T call(String category, String name, Supplier<T> supplier) {
+        try (Span span = start(category, name)) {
+            return supplier.get();
+        }
+    }
+
+    /**
+     * Wraps an object so that each call to the methods of its interfaces is recorded as a span.
+     * The proxy implements every interface of the target, so type checks on interfaces still apply.
+     *
+     * @param type - interface to return.
+     * @param target - object to wrap.
+     * @param category - category of the spans.
+     * @param prefix - prefix of the span names, followed by the method name.
+     * @return the target when profiling is not enabled, otherwise a proxy.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T profile(Class<? super T> type, T target, String category, String prefix) {
+        if (!enabled) {
+            return target;
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = target.getClass(); c != null; c = c.getSuperclass()) {
+            collectInterfaces(c, interfaces);
+        }
+        Object proxy = Proxy.newProxyInstance(
+            target.getClass().getClassLoader(),
+            interfaces.toArray(new Class<?>[0]),
+            (self, method, args) -> invoke(target, method, args, category, prefix)
+        );
+        return (T) type.cast(proxy);
+    }
+
+    /**
+     * Writes the profile to {@link #PROFILE_FILE} in the file manifest.
+     *
+     * @param fileManifest - manifest of the codegen run, whose files are also measured.
+     */
+    public void write(FileManifest fileManifest) {
+        if (!enabled) {
+            return;
+        }
+        ArrayNode.Builder summary = ArrayNode.builder();
+        totals.forEach((key, t) -> summary.withValue(
+            Node.objectNodeBuilder()
+                .withMember("name", key)
+                .withMember("count", t.count)
+                .withMember("wallMs", t.wallNanos / 1e6)
+                .withMember("cpuMs", t.cpuNanos / 1e6)
+                .withMember("allocatedBytes", t.allocatedBytes)
+                .build()
+        ));
+
+        ArrayNode.Builder files = ArrayNode.builder();
+        for (Path file : toMap(fileManifest.getFiles()).values()) {
+            try {
+                if (Files.isRegularFile(file)) {
+                    files.withValue(
+                        Node.objectNodeBuilder()
+                            .withMember("path", fileManifest.getBaseDir().relativize(file).toString())
+                            .withMember("bytes", Files.size(file))
+                            .build()
+                    );
+                }
+            } catch (IOException ignored) {
+                // file sizes are informational.
+            }
+        }
+
+        ObjectNode.Builder profile = Node.objectNodeBuilder()
+            .withMember("displayTimeUnit", "ms")
+            .withMember("traceEvents", ArrayNode.fromNodes(traceEvents))
+            .withMember("summary", summary.build());
+        if (ranAlone()) {
+            profile.withMember("peakHeapBytes", peakHeapBytes());
+        }
+        profile.withMember("files", files.build());
+        fileManifest.writeFile(PROFILE_FILE, Node.prettyPrintJson(profile.build()));
+    }
+
+    private Object invoke(Object target, Method method, Object[] args, String category, String prefix)
+        throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeUnwrapped(target, method, args);
+        }
+        String name = prefix + "#" + method.getName();
+        String detail = name;
+        if (args != null && args.length > 0 && args[0] instanceof ShapeDirective<?, ?, ?> directive) {
+            detail = name + " " + directive.shape().getId();
+        }
+        try (Span span = start(category, name, detail)) {
+            return invokeUnwrapped(target, method, args);
+        }
+    }
+
+    private static Object invokeUnwrapped(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void record(String category, String name, String detail, long wall, long cpu, long allocated) {
+        long wallNanos = System.nanoTime() - wall;
+        long cpuNanos = cpuTime() - cpu;
+        long allocatedBytes = allocatedBytes() - allocated;
+
+        Totals t = totals.computeIfAbsent(category + ":" + name, k -> new Totals());
+        t.count++;
+        t.wallNanos += wallNanos;
+        t.cpuNanos += cpuNanos;
+        t.allocatedBytes += allocatedBytes;
+
+        if (wallNanos >= MIN_TRACE_EVENT_NANOS) {
+            traceEvents.add(
+                Node.objectNodeBuilder()
+                    .withMember("name", detail)
+                    .withMember("cat", category)
+                    .withMember("ph", "X")
+                    .withMember("ts", (wall - origin) / 1000)
+                    .withMember("dur", wallNanos / 1000)
+                    .withMember("pid", 1)
+                    .withMember("tid", 1)
+                    .withMember(
+                        "args",
+                        Node.objectNodeBuilder()
+                            .withMember("cpuMs", cpuNanos / 1e6)
+                            .withMember("allocatedBytes", allocatedBytes)
+                            .build()
+                    )
+                    .build()
+            );
+        }
+    }
+
+    private long cpuTime() {
+        return cpuTimeSupported ? threads.getCurrentThreadCpuTime() : 0;
+    }
+
+    private long allocatedBytes() {
+        return allocationSupported
+            ? ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes()
+            : 0;
+    }
+
+    /**
+     * @return whether no other profiled run was active when this run began, or began after it.
+     */
+    private boolean ranAlone() {
+        synchronized (CodegenProfiler.class) {
+            return !overlapsAtStart && startedRuns == startedRunsAtStart;
+        }
+    }
+
+    /**
+     * The sum of the peak usage of each heap memory pool since {@link #begin()}. Pools may peak at
+     * different times, so this is an upper bound of the peak heap usage. Heap used by other threads
+     * of the process is included.
+     */
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools()) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> i : type.getInterfaces()) {
+            if (interfaces.add(i)) {
+                collectInterfaces(i, interfaces);
+            }
+        }
+    }
+
+    private static Map<String, Path> toMap(Collection<Path> paths) {
+        Map<String, Path> map = new TreeMap<>();
+        for (Path path : paths) {
+            map.put(path.toString(), path);
+        }
+        return map;
+    }
+
+    /**
+     * A timed region of codegen, recorded when closed.
+     */
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Totals {
+        private long count;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+    }
+}
@@ -5,16 +5,19 @@
 package software.amazon.smithy.typescript.codegen.util;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
 /**
@@ -23,6 +26,12 @@ import software.amazon.smithy.utils.SmithyInternalApi;
  * Compresses a JSON ObjectNode by extracting repeated patterns into
  * reusable JavaScript variables, producing JS code that reconstitutes
  * the original object.
+ *
+ * <p>Each distinct subtree is interned once as a {@link Block}, identified by its
+ * children rather than by its JSON text, so the memory used grows with the number
+ * of distinct nodes rather than with the total size of every subtree's JSON. Members
+ * can be added one at a time with {@link #withArrayMember}, so that a large object
+ * never needs to exist as a single {@link Node} tree.
  */
 @SmithyInternalApi
 public class PatternDetectionCompression {
@@ -36,48 +45,43 @@ public class PatternDetectionCompression {
     private static final Pattern WORD_ONLY_KEY = Pattern.compile("\"(\\w+)\":");
     private static final Pattern SSA_PATTERN = Pattern.compile("_ssa_(\\d{1,2})");
 
-    private final ObjectNode objectNode;
-
-    /**
-     * Variable ID to code block string.
-     */
-    private final Map<Integer, String> varIdToBlock = new LinkedHashMap<>();
-
     /**
-     * Reverse map of code block string to variable id.
+     * Distinct subtrees, by block id.
      */
-    private final Map<String, Integer> blockToVarId = new LinkedHashMap<>();
+    private final List<Block> blocks = new ArrayList<>();
 
     /**
-     * Number of times each variable has been detected in the JSON blob.
+     * Leaf JSON, or the structure of arrays and objects in terms of their
+     * children's block ids, mapped to block id.
      */
-    private final Map<Integer, Integer> varIdToCount = new LinkedHashMap<>();
+    private final Map<String, Integer> blockIds = new HashMap<>();
 
     /**
-     * Unique JSON path mapped to the variable that can replace it.
+     * Candidate variables, by variable id. Blocks that are equivalent for
+     * replacement, i.e. SSA strings differing only by number, share a variable.
      */
-    private final Map<String, Integer> pathToVarId = new LinkedHashMap<>();
+    private final List<Variable> variables = new ArrayList<>();
 
     /**
-     * Set of unique paths encountered in the JSON object.
+     * Lookup key of each variable mapped to its variable id.
      */
-    private final Set<String> pathsSeen = new LinkedHashSet<>();
+    private final Map<String, Integer> variableIds = new HashMap<>();
 
     /**
-     * Set of variables that actually get used (as opposed to only marked).
-     * These will be assigned symbols for write output.
+     * Object keys, in order of first appearance in the JSON object.
      */
-    private final Set<Integer> variableIdsUsed = new LinkedHashSet<>();
+    private final Set<String> keys = new LinkedHashSet<>();
 
     /**
-     * Map of object key strings to their assigned variable id.
+     * JSON representation of each object key.
      */
-    private final Map<String, Integer> keyToVarId = new LinkedHashMap<>();
+    private final Map<String, String> keyJson = new HashMap<>();
 
     /**
-     * Next available variable id. Increments when used.
+     * Keys and block ids of the members of the compressed object.
      */
-    private int variableId = 0;
+    private final List<String> memberKeys = new ArrayList<>();
+    private final List<Integer> memberBlocks = new ArrayList<>();
 
     /**
      * Tracks the next available variable name, e.g.
@@ -86,53 +90,76 @@ public class PatternDetectionCompression {
     private int[] varName = {0};
 
     /**
-     * 'read' or 'write' mode.
+     * Creates an empty object to be compressed, to which members are added with
+     * {@link #withMember} and {@link #withArrayMember}.
      */
-    private String mode = "read";
+    public PatternDetectionCompression() {}
 
-    private final Map<String, Integer> writeReplacements = new LinkedHashMap<>();
-
-    /**
-     * For SSA replacements, tracks the SSA number for each replaced path.
-     */
-    private final Map<String, String> writeReplacementSsaNum = new LinkedHashMap<>();
+    public PatternDetectionCompression(ObjectNode objectNode) {
+        objectNode.getMembers().forEach((k, v) -> withMember(k.getValue(), v));
+    }
 
     /**
-     * Maps a normalized SSA block (with _ssa_N replaced by _ssa_) to the set of
-     * actual SSA numbers seen, enabling template function generation.
+     * @param key - member key.
+     * @param value - member value.
+     * @return this.
      */
-    private final Map<String, List<String>> ssaTemplateNumbers = new LinkedHashMap<>();
+    public PatternDetectionCompression withMember(String key, Node value) {
+        addMemberKey(key);
+        memberBlocks.add(intern(value));
+        return this;
+    }
 
     /**
-     * Maps original block strings to their SSA-normalized form.
+     * Adds an array member without creating the array as a Node. Each element is
+     * interned as soon as it is converted to a Node, and may be discarded afterward.
+     *
+     * @param key - member key.
+     * @param elements - array elements.
+     * @param toNode - converts an element to a Node.
+     * @return this.
      */
-    private final Map<String, String> blockToSsaNormalized = new LinkedHashMap<>();
-
-    public PatternDetectionCompression(ObjectNode objectNode) {
-        this.objectNode = objectNode;
+    public <T> PatternDetectionCompression withArrayMember(
+        String key,
+        Iterable<T> elements,
+        Function<T, Node> toNode
+    ) {
+        addMemberKey(key);
+        List<Integer> children = new ArrayList<>();
+        for (T element : elements) {
+            children.add(intern(toNode.apply(element)));
+        }
+        memberBlocks.add(internComposite(null, children.stream().mapToInt(Integer::intValue).toArray()));
+        return this;
     }
 
     /**
      * @return JS code that evaluates to an exact match of the original object.
      */
     public String compress() {
-        // First pass: read
-        traverse(objectNode, "", null);
-
-        // Second pass: write (collect replacements)
-        mode = "write";
-        traverse(objectNode, "", null);
-        mode = "read";
-
-        // Apply replacements and serialize
-        Node replaced = applyReplacements(objectNode, "");
+        varName = new int[] {0};
+
+        // Serialize the object, replacing repeated blocks with placeholders for their variables.
+        Set<Integer> variableIdsUsed = new LinkedHashSet<>();
+        StringBuilder serialized = new StringBuilder("{");
+        for (int i = 0; i < memberKeys.size(); ++i) {
+            if (i > 0) {
+                serialized.append(',');
+            }
+            serialized.append(getKeyJson(memberKeys.get(i))).append(':');
+            write(memberBlocks.get(i), serialized, variableIdsUsed);
+        }
+        serialized.append('}');
 
-        // Serialize modified clone and strip quotes from word-only keys
-        String serialized = jsonStringify(replaced);
-        String buffer = "const _data=" + stripWordOnlyKeyQuotes(serialized) + ";";
+        // Strip quotes from word-only keys
+        String buffer = "const _data=" + stripWordOnlyKeyQuotes(serialized.toString()) + ";";
 
+        Map<Integer, String> varIdToBlock = new LinkedHashMap<>();
+        for (int variableIdVal : variableIdsUsed) {
+            varIdToBlock.put(variableIdVal, toJson(variables.get(variableIdVal)));
+        }
         // Sort used variable IDs: numbers/strings first, then booleans, then objects, then arrays
-        List<Integer> orderedVariableIds = getOrderedVariableIds();
+        List<Integer> orderedVariableIds = getOrderedVariableIds(varIdToBlock);
 
         // Code blocks
         List<String> codeBlockBuffer = new ArrayList<>();
@@ -141,7 +168,7 @@ public class PatternDetectionCompression {
             String block = varIdToBlock.get(variableIdVal);
 
             // Check if this is an SSA template
-            if (ssaTemplateNumbers.containsKey(block)) {
+            if (variables.get(variableIdVal).ssaTemplate) {
                 // Emit a template function: symbol=(n)=>"prefix_ssa_"+n+"suffix"
                 String inner = block.substring(1, block.length() - 1); // strip quotes
                 String[] parts = inner.split("_ssa_", -1);
@@ -213,7 +240,7 @@ public class PatternDetectionCompression {
 
         // Object keys
         List<String> keyVarBuffer = new ArrayList<>();
-        for (String key : keyToVarId.keySet()) {
+        for (String key : keys) {
             Pattern keyPattern = Pattern.compile(Pattern.quote("\"" + key + "\":"));
             Matcher matcher = keyPattern.matcher(buffer);
             int count = 0;
@@ -240,13 +267,6 @@ public class PatternDetectionCompression {
         return buffer;
     }
 
-    /**
-     * Allocates the next unique variable id.
-     */
-    private int markVariableId() {
-        return variableId++;
-    }
-
     /**
      * Allocates the next required variable name for code output.
      */
@@ -281,155 +301,166 @@ public class PatternDetectionCompression {
         return out.toString();
     }
 
-    private static String jsonStringify(Node node) {
-        return Node.printJson(node);
+    private void addMemberKey(String key) {
+        if (memberKeys.contains(key)) {
+            throw new IllegalArgumentException("Duplicate member: " + key);
+        }
+        memberKeys.add(key);
+        keys.add(key);
     }
 
     /**
-     * Recursive.
-     * @param node - the current node in traversal.
-     * @param path - the unique JSON path to the current node.
-     * @param key - the object key for this node, if available.
+     * Recursive. Interns the node and each of its descendants, counting every
+     * occurrence towards the variable of the block.
+     *
+     * @return block id of the node.
      */
-    private void traverse(Node node, String path, String key) {
-        Integer optionalReplace = work(node, path, key);
-        if (optionalReplace != null) {
-            variableIdsUsed.add(optionalReplace);
-            writeReplacements.put(path, optionalReplace);
-            // If this is an SSA string, record which number it uses.
-            if (node.isStringNode()) {
-                String block = jsonStringify(node);
-                if (blockToSsaNormalized.containsKey(block)) {
-                    Matcher ssaM = SSA_PATTERN.matcher(block);
-                    if (ssaM.find()) {
-                        writeReplacementSsaNum.put(path, ssaM.group(1));
-                    }
-                }
-            }
-            return;
-        }
-
+    private int intern(Node node) {
         if (node.isArrayNode()) {
-            ArrayNode arrayNode = node.expectArrayNode();
-            List<Node> elements = arrayNode.getElements();
-            for (int i = 0; i < elements.size(); ++i) {
-                traverse(elements.get(i), path + "[" + i + "]", null);
+            List<Node> elements = node.expectArrayNode().getElements();
+            int[] children = new int[elements.size()];
+            for (int i = 0; i < children.length; ++i) {
+                children[i] = intern(elements.get(i));
             }
+            return internComposite(null, children);
         } else if (node.isObjectNode()) {
-            ObjectNode objNode = node.expectObjectNode();
-            objNode.getMembers().forEach((k, v) -> {
-                String keyStr = k.getValue();
-                traverse(v, path + "[`" + keyStr + "`]", keyStr);
-            });
+            Map<StringNode, Node> members = node.expectObjectNode().getMembers();
+            String[] memberKeys = new String[members.size()];
+            int[] children = new int[members.size()];
+            int i = 0;
+            for (Map.Entry<StringNode, Node> member : members.entrySet()) {
+                memberKeys[i] = member.getKey().getValue();
+                keys.add(memberKeys[i]);
+                children[i] = intern(member.getValue());
+                ++i;
+            }
+            return internComposite(memberKeys, children);
         }
+        return internLeaf(Node.printJson(node), node.isStringNode());
     }
 
-    /**
-     * Actions on a node during traversal.
-     */
-    private Integer work(Node node, String path, String key) {
-        if ("read".equals(mode)) {
-            return read(node, path, key);
-        } else if ("write".equals(mode)) {
-            return write(node, path);
+    private int internLeaf(String json, boolean isString) {
+        Integer id = blockIds.get("L" + json);
+        if (id == null) {
+            Block block = new Block(json, null, null, json.length());
+            String lookupBlock = json;
+            // For strings containing _ssa_N, normalize to group them together.
+            Matcher ssaM = isString ? SSA_PATTERN.matcher(json) : null;
+            if (ssaM != null && ssaM.find()) {
+                block.ssaNumber = ssaM.group(1);
+                lookupBlock = SSA_PATTERN.matcher(json).replaceAll("_ssa_");
+            }
+            String leaf = lookupBlock;
+            block.variable = internVariable("L" + leaf, () -> new Variable(leaf, -1, leaf.length()));
+            variables.get(block.variable).ssaTemplate |= block.ssaNumber != null;
+            id = addBlock("L" + json, block);
         }
-        return null;
+        variables.get(blocks.get(id).variable).count += 1;
+        return id;
     }
 
-    /**
-     * Scan the current node and note its unique JSON
-     * representation. Allocate variables to the JSON strings.
-     */
-    private Integer read(Node node, String path, String key) {
-        String block = jsonStringify(node);
-        if (pathsSeen.contains(path)) {
-            throw new RuntimeException("already seen: " + path);
+    private int internComposite(String[] memberKeys, int[] children) {
+        StringBuilder structure = new StringBuilder(memberKeys == null ? "A" : "O");
+        long length = 2 + Math.max(0, children.length - 1);
+        for (int i = 0; i < children.length; ++i) {
+            if (memberKeys != null) {
+                structure.append(memberKeys[i].length()).append(':').append(memberKeys[i]);
+                length += getKeyJson(memberKeys[i]).length() + 1;
+            }
+            structure.append(children[i]).append(',');
+            length += blocks.get(children[i]).length;
         }
-        pathsSeen.add(path);
-
-        if (key != null) {
-            int varId = markVariableId();
-            keyToVarId.put(key, varId);
-            varIdToBlock.put(varId, key);
+        String key = structure.toString();
+        Integer id = blockIds.get(key);
+        if (id == null) {
+            Block block = new Block(null, memberKeys, children, length);
+            id = addBlock(key, block);
+            int blockId = id;
+            long blockLength = length;
+            block.variable = internVariable("B" + blockId, () -> new Variable(null, blockId, blockLength));
         }
+        variables.get(blocks.get(id).variable).count += 1;
+        return id;
+    }
 
-        // For strings containing _ssa_N, normalize to group them together.
-        String lookupBlock = block;
-        if (node.isStringNode()) {
-            Matcher ssaM = SSA_PATTERN.matcher(block);
-            if (ssaM.find()) {
-                String normalized = SSA_PATTERN.matcher(block).replaceAll("_ssa_");
-                lookupBlock = normalized;
-                blockToSsaNormalized.put(block, normalized);
-                String num = ssaM.group(1);
-                ssaTemplateNumbers.computeIfAbsent(normalized, k -> new ArrayList<>()).add(num);
-            }
-        }
+    private int addBlock(String key, Block block) {
+        blocks.add(block);
+        blockIds.put(key, blocks.size() - 1);
+        return blocks.size() - 1;
+    }
 
-        if (blockToVarId.containsKey(lookupBlock)) {
-            int varId = blockToVarId.get(lookupBlock);
-            varIdToCount.put(varId, varIdToCount.get(varId) + 1);
-        } else {
-            int varId = markVariableId();
-            blockToVarId.put(lookupBlock, varId);
-            varIdToBlock.put(varId, lookupBlock);
-            varIdToCount.put(varId, 1);
-            pathToVarId.put(path, varId);
-        }
-        return null;
+    private int internVariable(String key, Supplier<Variable> variable) {
+        return variableIds.computeIfAbsent(key, k -> {
+            variables.add(variable.get());
+            return variables.size() - 1;
+        });
     }
 
     /**
-     * Check whether the node is worth replacing with
-     * a previously recorded variable id.
-     * @return variable id if replacement is desired, otherwise null.
+     * Recursive. Writes the JSON of a block, or a placeholder for its variable if the
+     * variable is worth extracting.
      */
-    private Integer write(Node node, String path) {
-        String block = jsonStringify(node);
-        String lookupBlock = blockToSsaNormalized.getOrDefault(block, block);
-
-        if (blockToVarId.containsKey(lookupBlock)) {
-            int variable = blockToVarId.get(lookupBlock);
-            int count = varIdToCount.get(variable);
-            if (count >= 2 && (long) lookupBlock.length() * count >= 10) {
-                return variable;
+    private void write(int blockId, StringBuilder out, Set<Integer> variableIdsUsed) {
+        Block block = blocks.get(blockId);
+        Variable variable = variables.get(block.variable);
+        if (variable.count >= 2 && variable.length * variable.count >= 10) {
+            variableIdsUsed.add(block.variable);
+            out.append("\"__REPLACE__").append(block.variable);
+            if (block.ssaNumber != null) {
+                out.append("__SSA__").append(block.ssaNumber);
+            }
+            out.append("__REPLACE__\"");
+        } else if (block.leaf != null) {
+            out.append(block.leaf);
+        } else {
+            out.append(block.keys == null ? '[' : '{');
+            for (int i = 0; i < block.children.length; ++i) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                if (block.keys != null) {
+                    out.append(getKeyJson(block.keys[i])).append(':');
+                }
+                write(block.children[i], out, variableIdsUsed);
             }
+            out.append(block.keys == null ? ']' : '}');
         }
-        return null;
     }
 
-    private Node applyReplacements(Node node, String path) {
-        if (writeReplacements.containsKey(path)) {
-            int varId = writeReplacements.get(path);
-            String ssaNum = writeReplacementSsaNum.get(path);
-            if (ssaNum != null) {
-                return Node.from("__REPLACE__" + varId + "__SSA__" + ssaNum + "__REPLACE__");
-            }
-            return Node.from("__REPLACE__" + varId + "__REPLACE__");
+    private String toJson(Variable variable) {
+        if (variable.leaf != null) {
+            return variable.leaf;
         }
+        StringBuilder json = new StringBuilder();
+        appendJson(variable.block, json);
+        return json.toString();
+    }
 
-        if (node.isArrayNode()) {
-            ArrayNode arrayNode = node.expectArrayNode();
-            List<Node> elements = arrayNode.getElements();
-            List<Node> newElements = new ArrayList<>();
-            for (int i = 0; i < elements.size(); ++i) {
-                newElements.add(applyReplacements(elements.get(i), path + "[" + i + "]"));
+    private void appendJson(int blockId, StringBuilder out) {
+        Block block = blocks.get(blockId);
+        if (block.leaf != null) {
+            out.append(block.leaf);
+            return;
+        }
+        out.append(block.keys == null ? '[' : '{');
+        for (int i = 0; i < block.children.length; ++i) {
+            if (i > 0) {
+                out.append(',');
             }
-            return ArrayNode.fromNodes(newElements);
-        } else if (node.isObjectNode()) {
-            ObjectNode objNode = node.expectObjectNode();
-            ObjectNode.Builder builder = ObjectNode.builder();
-            objNode.getMembers().forEach((k, v) -> {
-                String keyStr = k.getValue();
-                builder.withMember(keyStr, applyReplacements(v, path + "[`" + keyStr + "`]"));
-            });
-            return builder.build();
+            if (block.keys != null) {
+                out.append(getKeyJson(block.keys[i])).append(':');
+            }
+            appendJson(block.children[i], out);
         }
-        return node;
+        out.append(block.keys == null ? ']' : '}');
     }
 
-    private List<Integer> getOrderedVariableIds() {
-        List<Integer> orderedVariableIds = new ArrayList<>(variableIdsUsed);
+    private String getKeyJson(String key) {
+        return keyJson.computeIfAbsent(key, k -> Node.printJson(Node.from(k)));
+    }
+
+    private List<Integer> getOrderedVariableIds(Map<Integer, String> varIdToBlock) {
+        List<Integer> orderedVariableIds = new ArrayList<>(varIdToBlock.keySet());
         orderedVariableIds.sort((a, b) -> {
             String boolStartChar = "b";
             String aBlock = varIdToBlock.get(a);
@@ -613,4 +644,73 @@ public class PatternDetectionCompression {
         }
         return -1;
     }
+
+    /**
+     * A distinct subtree of the compressed object.
+     */
+    private static final class Block {
+        /**
+         * JSON of a leaf, or null for arrays and objects.
+         */
+        private final String leaf;
+        /**
+         * Keys of an object, or null.
+         */
+        private final String[] keys;
+        /**
+         * Block ids of the array elements or object member values.
+         */
+        private final int[] children;
+        /**
+         * Length of the JSON of the block.
+         */
+        private final long length;
+        /**
+         * Variable that may replace this block.
+         */
+        private int variable;
+        /**
+         * For strings containing _ssa_N, the number N.
+         */
+        private String ssaNumber;
+
+        private Block(String leaf, String[] keys, int[] children, long length) {
+            this.leaf = leaf;
+            this.keys = keys;
+            this.children = children;
+            this.length = length;
+        }
+    }
+
+    /**
+     * A JS variable that may replace each occurrence of one or more blocks.
+     */
+    private static final class Variable {
+        /**
+         * JSON of a leaf, SSA-normalized, or null for arrays and objects.
+         */
+        private final String leaf;
+        /**
+         * Block id of an array or object.
+         */
+        private final int block;
+        /**
+         * Length of the JSON of the variable's code block.
+         */
+        private final long length;
+        /**
+         * Number of occurrences in the JSON object.
+         */
+        private int count;
+        /**
+         * Whether an SSA string was normalized to this variable, which is then emitted as a template function.
+         */
+        private boolean ssaTemplate;
+
+        private Variable(String leaf, int block, long length) {
+            this.leaf = leaf;
+            this.block = block;
+            this.length = length;
+        }
+    }
 }
@@ -4,16 +4,13 @@
  */
 package software.amazon.smithy.typescript.codegen.validation;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.BitSet;
+import java.util.List;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.selector.Selector;
-import software.amazon.smithy.model.shapes.MapShape;
-import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.SensitiveTrait;
 import software.amazon.smithy.model.traits.StreamingTrait;
+import software.amazon.smithy.typescript.codegen.knowledge.TraitReachabilityIndex;
 
 /**
  * This validator tells you whether a shape contains sensitive data fields.
@@ -23,15 +20,16 @@ import software.amazon.smithy.model.traits.StreamingTrait;
  */
 public class SensitiveDataFinder {
 
-    private Map<Shape, Boolean> cache = new HashMap<>();
-    private final Model model;
+    private final TraitReachabilityIndex reachabilityIndex;
+    private final BitSet sensitiveTraits;
 
     /**
      * @param model - model context for the {@link #findsSensitiveDataIn(Shape)}
      *              queries.
      */
     public SensitiveDataFinder(Model model) {
-        this.model = model;
+        reachabilityIndex = TraitReachabilityIndex.of(model);
+        sensitiveTraits = reachabilityIndex.getTraitMask(List.of(SensitiveTrait.ID, StreamingTrait.ID));
     }
 
     /**
@@ -40,47 +38,6 @@ public class SensitiveDataFinder {
      *         shapes.
      */
     public boolean findsSensitiveDataIn(Shape shape) {
-        boolean found = findRecursive(shape);
-        cache.put(shape, found);
-        return found;
-    }
-
-    private boolean findRecursive(Shape shape) {
-        if (cache.containsKey(shape)) {
-            return cache.get(shape);
-        }
-
-        if (shape.hasTrait(SensitiveTrait.class) || shape.hasTrait(StreamingTrait.class)) {
-            cache.put(shape, true);
-            return true;
-        }
-
-        if (
-            shape.getMemberTrait(model, SensitiveTrait.class).isPresent() ||
-                shape.getMemberTrait(model, StreamingTrait.class).isPresent()
-        ) {
-            cache.put(shape, true);
-            return true;
-        }
-
-        Selector sensitiveSelector = Selector.parse("[id = '" + shape.getId() + "']" + " ~> [trait|sensitive]");
-        Selector streamingSelector = Selector.parse("[id = '" + shape.getId() + "']" + " ~> [trait|streaming]");
-        Set<Shape> matches = sensitiveSelector.select(model);
-        matches.addAll(streamingSelector.select(model));
-
-        boolean found = !matches.isEmpty();
-        if (found) {
-            cache.put(shape, true);
-            return true;
-        }
-
-        if (shape instanceof MapShape) {
-            MemberShape keyMember = ((MapShape) shape).getKey();
-            MemberShape valMember = ((MapShape) shape).getValue();
-            return findRecursive(keyMember) || findRecursive(valMember);
-        }
-
-        cache.put(shape, false);
-        return false;
+        return reachabilityIndex.reaches(shape, TraitReachabilityIndex.Traversal.NEIGHBORS, sensitiveTraits);
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.typescript.codegen.knowledge.ServiceClosure;
+
+public class ClosureTypesGeneratorTest {
+
+    @Test
+    public void writesTypeFilesInComponentOrder() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("types-closure-components.smithy"))
+            .assemble()
+            .unwrap();
+        TypeScriptSettings settings = TypeScriptSettings.fromWithModes(
+            model,
+            Node.objectNodeBuilder()
+                .withMember("package", Node.from("example-types"))
+                .withMember("packageVersion", Node.from("1.0.0"))
+                .withMember("modes", Node.fromStrings("types"))
+                .withMember("closure", Node.from("smithy.example#types"))
+                .build()
+        );
+        ServiceClosure closure = ServiceClosure.ofShapes(
+            model,
+            model.shapes().filter(shape -> shape.getId().getNamespace().equals("smithy.example")).toList()
+        );
+        // one shape per model file, so each file holds a single component.
+        SymbolProvider symbolProvider = new SymbolVisitor(model, settings, 1);
+        ClosureTypesGenerator.assignFiles(symbolProvider, closure);
+        MockManifest manifest = new MockManifest();
+        TypeScriptDelegator delegator = new TypeScriptDelegator(manifest, symbolProvider);
+
+        new ClosureTypesGenerator(model, settings, symbolProvider, manifest, delegator, closure, false).run();
+
+        String first = manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/models/models_0.ts").get();
+        String second = manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/models/models_1.ts").get();
+        assertThat(first, containsString("export interface Item {"));
+        assertThat(first, not(containsString("export interface Order {")));
+        assertThat(second, containsString("export interface Order {"));
+        assertThat(
+            manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/models/enums.ts").get(),
+            containsString("OrderStatus")
+        );
+        // every file was written by the generator, none are left for the delegator to flush.
+        assertThat(delegator.getWriters(), anEmptyMap());
+    }
+}
@@ -12,8 +12,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.build.MockManifest;
 import software.amazon.smithy.build.PluginContext;
@@ -201,6 +206,36 @@ public class TypeScriptCodegenPluginTest {
         assertThat(manifest.getFiles().toString(), not(containsString("Client.ts")));
     }
 
+    @Test
+    public void omitsSchemasForShapeClosureWithoutSchemas() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("types-closure-no-schemas.smithy"))
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .pluginClassLoader(getClass().getClassLoader())
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("package", Node.from("example-types"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("modes", Node.fromStrings("types"))
+                    .withMember("closure", Node.from("smithy.example#types"))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptCodegenPlugin().execute(context);
+
+        assertFalse(manifest.hasFile(CodegenUtils.SOURCE_FOLDER + "/schemas/schemas_0.ts"));
+        assertThat(
+            manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/index.ts").get(),
+            not(containsString("./schemas/schemas_0"))
+        );
+    }
+
     @Test
     public void appliesClosureRenamesToGeneratedTypes() {
         Model model = Model.assembler()
@@ -431,4 +466,472 @@ public class TypeScriptCodegenPluginTest {
             assertThat(e.getMessage(), containsString("only supported by the unified"));
         }
     }
+
+    @Test
+    public void generatesSegmentedPaginatorsWhenEnabled() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("segmented-pagination.smithy"))
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("generateSegmentedPaginators", Node.from(true))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptCodegenPlugin().execute(context);
+
+        String scan = manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/pagination/ScanPaginator.ts").get();
+        assertThat(scan, containsString("export const paginateScanSegmented: ("));
+        assertThat(scan, containsString("segments?: Partial<ScanCommandInput>[],"));
+        assertThat(scan, containsString("(paginateScan, { segment: \"Segment\", totalSegments: \"TotalSegments\" });"));
+
+        String shards = manifest.getFileString(
+            CodegenUtils.SOURCE_FOLDER + "/pagination/ListShardRecordsPaginator.ts"
+        ).get();
+        assertThat(shards, containsString("segments: Partial<ListShardRecordsCommandInput>[],"));
+        assertThat(shards, containsString(">(paginateListShardRecords);"));
+
+        // The pagination token is never treated as a segment member.
+        String items = manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/pagination/ListItemsPaginator.ts").get();
+        assertThat(items, not(containsString("Segmented")));
+
+        // Cursors that only end with a shard name are not segment members either.
+        String stream = manifest.getFileString(
+            CodegenUtils.SOURCE_FOLDER + "/pagination/DescribeStreamPaginator.ts"
+        ).get();
+        assertThat(stream, not(containsString("Segmented")));
+
+        String partition = manifest.getFileString(
+            CodegenUtils.SOURCE_FOLDER + "/pagination/QueryPartitionPaginator.ts"
+        ).get();
+        assertThat(partition, containsString("export const paginateQueryPartitionSegmented: ("));
+
+        assertThat(
+            manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/pagination/Interfaces.ts").get(),
+            containsString("export interface ExampleSegmentedPaginationConfiguration")
+        );
+    }
+
+    @Test
+    public void doesNotGenerateSegmentedPaginatorsByDefault() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("segmented-pagination.smithy"))
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptCodegenPlugin().execute(context);
+
+        assertThat(
+            manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/pagination/ScanPaginator.ts").get(),
+            not(containsString("Segmented"))
+        );
+        assertThat(
+            manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/pagination/Interfaces.ts").get(),
+            not(containsString("Segmented"))
+        );
+    }
+
+    @Test
+    public void generatesAdaptiveWaitersWhenEnabled() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("adaptive-waiters.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("adaptiveWaiters", Node.from(true))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptCodegenPlugin().execute(context);
+
+        String waiter = manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/waiters/waitForResourceReady.ts").get();
+        assertThat(
+            waiter,
+            containsString("const waiterMetadata: WaiterMetadata = { id: \"smithy.example#Example/ResourceReady\" };")
+        );
+        assertThat(waiter, containsString("params: AdaptiveWaiterConfiguration<ExampleClient>,"));
+        assertThat(waiter, containsString("const result = await createAdaptiveWaiter("));
+        // the deprecated waitFor function keeps the default polling behavior.
+        assertThat(
+            waiter,
+            containsString("return createWaiter({ ...serviceDefaults, ...params }, input, checkState);")
+        );
+        assertThat(
+            manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/Example.ts").get(),
+            containsString("waiterConfig: number | Omit<AdaptiveWaiterConfiguration<Example>, \"client\">")
+        );
+    }
+
+    @Test
+    public void appliesRequestCoalescingToNonStreamingReadonlyOperations() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("request-coalescing.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("requestCoalescing", Node.from(true))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptCodegenPlugin().execute(context);
+
+        String commands = CodegenUtils.SOURCE_FOLDER + "/commands/";
+        assertThat(
+            manifest.getFileString(commands + "GetResourceCommand.ts").get(),
+            containsString("getRequestCoalescingPlugin(config)")
+        );
+        assertThat(
+            manifest.getFileString(commands + "GetResourceContentCommand.ts").get(),
+            not(containsString("getRequestCoalescingPlugin"))
+        );
+        assertThat(
+            manifest.getFileString(commands + "UpdateResourceCommand.ts").get(),
+            not(containsString("getRequestCoalescingPlugin"))
+        );
+    }
+
+    @Test
+    public void generatesResponseCacheForReadonlyAndIdempotentOperations() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("response-cache.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("responseCache", Node.from(true))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptCodegenPlugin().execute(context);
+
+        String client = manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/ExampleClient.ts").get();
+        assertThat(client, containsString("ResponseCacheInputConfig"));
+        assertThat(client, containsString("resolveResponseCacheConfig("));
+
+        String commands = CodegenUtils.SOURCE_FOLDER + "/commands/";
+        String getConfig = manifest.getFileString(commands + "GetConfigCommand.ts").get();
+        assertThat(getConfig, containsString("getResponseCachePlugin(config, {"));
+        assertThat(getConfig, containsString("readonly: true,"));
+        String putConfig = manifest.getFileString(commands + "PutConfigCommand.ts").get();
+        assertThat(putConfig, containsString("getResponseCachePlugin(config, {"));
+        assertThat(putConfig, containsString("readonly: false,"));
+        assertThat(
+            manifest.getFileString(commands + "UpdateConfigCommand.ts").get(),
+            not(containsString("getResponseCachePlugin"))
+        );
+    }
+
+    @Test
+    public void writesCodegenProfileWhenEnabled() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("response-cache.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("profileCodegen", Node.from(true))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptCodegenPlugin().execute(context);
+
+        String profile = manifest.getFileString("codegen-profile.json").get();
+        assertThat(profile, containsString("\"traceEvents\""));
+        assertThat(profile, containsString("\"phase:execute\""));
+        assertThat(profile, containsString("\"directive:codegen#generateService\""));
+        assertThat(profile, containsString("\"integration:"));
+        assertThat(profile, containsString("\"peakHeapBytes\""));
+        assertTrue(manifest.hasFile(CodegenUtils.SOURCE_FOLDER + "/ExampleClient.ts"));
+    }
+
+    @Test
+    public void writesSizeReport() {
+        MockManifest manifest = new MockManifest();
+        new TypeScriptCodegenPlugin().execute(sizeReportContext(manifest, Node.objectNode()));
+
+        String report = manifest.getFileString("size-report.json").get();
+        assertThat(report, containsString("\"totalBytes\""));
+        assertThat(report, containsString("\"commandBytes\""));
+        assertThat(report, containsString("\"exclusiveBytes\""));
+        assertThat(manifest.getFileString("size-report.md").get(), containsString("| Command |"));
+    }
+
+    @Test
+    public void failsWhenSizeBudgetIsExceeded() {
+        MockManifest manifest = new MockManifest();
+        PluginContext context = sizeReportContext(
+            manifest,
+            Node.objectNodeBuilder().withMember("command", Node.from(10)).build()
+        );
+
+        CodegenException e = assertThrows(CodegenException.class, () -> new TypeScriptCodegenPlugin().execute(context));
+
+        assertThat(e.getMessage(), containsString("exceeds the command budget of 10 bytes"));
+        assertThat(manifest.getFileString("size-report.md").get(), containsString("## Budget violations"));
+    }
+
+    @Test
+    public void rejectsUnknownSizeBudgets() {
+        PluginContext context = sizeReportContext(
+            new MockManifest(),
+            Node.objectNodeBuilder().withMember("commands", Node.from(10)).build()
+        );
+
+        assertThrows(CodegenException.class, () -> new TypeScriptCodegenPlugin().execute(context));
+    }
+
+    private PluginContext sizeReportContext(MockManifest manifest, ObjectNode budgets) {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("response-cache.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        return PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("sizeReport", Node.from(true))
+                    .withMember("sizeBudgets", budgets)
+                    .build()
+            )
+            .build();
+    }
+
+    @Test
+    public void generatesServicesInBatch() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("batch-services.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("concurrency", Node.from(2))
+                    .withMember("defaults", Node.objectNode().withMember("packageVersion", Node.from("1.0.0")))
+                    .withMember(
+                        "services",
+                        Node.arrayNode(
+                            Node.objectNode()
+                                .withMember("service", Node.from("smithy.example#Foo"))
+                                .withMember("package", Node.from("foo")),
+                            Node.objectNode()
+                                .withMember("service", Node.from("smithy.example#Bar"))
+                                .withMember("package", Node.from("bar"))
+                                .withMember("outputDirectory", Node.from("clients/bar"))
+                        )
+                    )
+                    .build()
+            )
+            .build();
+
+        new TypeScriptBatchCodegenPlugin().execute(context);
+
+        assertTrue(manifest.hasFile("foo/" + CodegenUtils.SOURCE_FOLDER + "/Foo.ts"));
+        assertTrue(manifest.hasFile("clients/bar/" + CodegenUtils.SOURCE_FOLDER + "/Bar.ts"));
+        assertThat(manifest.getFileString("foo/package.json").get(), containsString("\"name\": \"foo\""));
+        assertThat(manifest.getFileString("clients/bar/package.json").get(), containsString("\"name\": \"bar\""));
+        assertFalse(manifest.hasFile(CodegenUtils.SOURCE_FOLDER + "/Foo.ts"));
+    }
+
+    @Test
+    public void generatesEachServiceClosureInBatchWithSharedModel() {
+        // services with endpoint rulesets are generated from the shared model without a copy.
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("batch-ruleset-services.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("concurrency", Node.from(1))
+                    .withMember("defaults", Node.objectNode().withMember("packageVersion", Node.from("1.0.0")))
+                    .withMember(
+                        "services",
+                        Node.arrayNode(
+                            Node.objectNode()
+                                .withMember("service", Node.from("smithy.example#Baz"))
+                                .withMember("package", Node.from("baz")),
+                            Node.objectNode()
+                                .withMember("service", Node.from("smithy.example#Qux"))
+                                .withMember("package", Node.from("qux"))
+                        )
+                    )
+                    .build()
+            )
+            .build();
+
+        new TypeScriptBatchCodegenPlugin().execute(context);
+
+        String bazSchemas = manifest.getFileString("baz/" + CodegenUtils.SOURCE_FOLDER + "/schemas/schemas_0.ts").get();
+        String quxSchemas = manifest.getFileString("qux/" + CodegenUtils.SOURCE_FOLDER + "/schemas/schemas_0.ts").get();
+        assertThat(bazSchemas, containsString("bazValue"));
+        assertThat(bazSchemas, not(containsString("quxValue")));
+        assertThat(quxSchemas, containsString("quxValue"));
+        assertThat(quxSchemas, not(containsString("bazValue")));
+    }
+
+    @Test
+    public void rejectsBatchServicesWithTheSameOutputDirectory() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("batch-services.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(new MockManifest())
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember(
+                        "services",
+                        Node.arrayNode(
+                            Node.objectNode()
+                                .withMember("service", Node.from("smithy.example#Foo"))
+                                .withMember("package", Node.from("foo"))
+                                .withMember("packageVersion", Node.from("1.0.0")),
+                            Node.objectNode()
+                                .withMember("service", Node.from("smithy.example#Foo"))
+                                .withMember("package", Node.from("foo"))
+                                .withMember("packageVersion", Node.from("1.0.0"))
+                        )
+                    )
+                    .build()
+            )
+            .build();
+
+        CodegenException e = assertThrows(
+            CodegenException.class,
+            () -> new TypeScriptBatchCodegenPlugin().execute(context)
+        );
+
+        assertThat(e.getMessage(), containsString("Multiple services are generated to 'foo'"));
+    }
+
+    @Test
+    public void verifiesBatchOutputAgainstSerialOutput() {
+        Model model = Model.assembler()
+            .addImport(getClass().getResource("batch-services.smithy"))
+            .discoverModels()
+            .assemble()
+            .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .model(model)
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("verify", Node.from(true))
+                    .withMember("defaults", Node.objectNode().withMember("packageVersion", Node.from("1.0.0")))
+                    .withMember(
+                        "services",
+                        Node.arrayNode(
+                            Node.objectNode()
+                                .withMember("service", Node.from("smithy.example#Foo"))
+                                .withMember("package", Node.from("foo")),
+                            Node.objectNode()
+                                .withMember("service", Node.from("smithy.example#Bar"))
+                                .withMember("package", Node.from("bar"))
+                        )
+                    )
+                    .build()
+            )
+            .build();
+
+        new TypeScriptBatchCodegenPlugin().execute(context);
+
+        assertTrue(manifest.hasFile("foo/" + CodegenUtils.SOURCE_FOLDER + "/Foo.ts"));
+    }
+
+    @Test
+    public void reportsFirstDifferingFileAndLine() {
+        Map<Path, byte[]> expected = new TreeMap<>();
+        expected.put(Paths.get("a.ts"), "same\n".getBytes(StandardCharsets.UTF_8));
+        expected.put(Paths.get("b.ts"), "one\ntwo\n".getBytes(StandardCharsets.UTF_8));
+        Map<Path, byte[]> actual = new TreeMap<>(expected);
+        assertThat(TypeScriptBatchCodegenPlugin.firstDifference(expected, actual), equalTo(Optional.empty()));
+
+        actual.put(Paths.get("b.ts"), "one\nthree\n".getBytes(StandardCharsets.UTF_8));
+        assertThat(
+            TypeScriptBatchCodegenPlugin.firstDifference(expected, actual).get(),
+            equalTo("b.ts:2: expected `two`, but was `three`")
+        );
+
+        actual.put(Paths.get("c.ts"), new byte[0]);
+        actual.remove(Paths.get("b.ts"));
+        assertThat(
+            TypeScriptBatchCodegenPlugin.firstDifference(expected, actual).get(),
+            equalTo("b.ts: not generated by the batch")
+        );
+    }
 }
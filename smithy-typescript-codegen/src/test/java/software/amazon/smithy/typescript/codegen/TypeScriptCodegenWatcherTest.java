@@ -0,0 +1,193 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.smithy.build.model.SmithyBuildConfig;
+import software.amazon.smithy.model.node.Node;
+
+public class TypeScriptCodegenWatcherTest {
+
+    private static final String MODEL = """
+        $version: "2.0"
+        namespace smithy.example
+
+        service Example {
+            version: "1.0.0"
+            operations: [GetFoo]
+        }
+
+        operation GetFoo {
+            input := { name: String }
+            output := { value: String }
+        }
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void writesOnlyChangedFiles() throws IOException {
+        Path model = tempDir.resolve("model.smithy");
+        Path output = tempDir.resolve("output");
+        Files.writeString(model, MODEL);
+        TypeScriptCodegenWatcher watcher = new TypeScriptCodegenWatcher(
+            List.of(model),
+            new TypeScriptCodegenPlugin(),
+            Node.objectNodeBuilder()
+                .withMember("service", Node.from("smithy.example#Example"))
+                .withMember("package", Node.from("example"))
+                .withMember("packageVersion", Node.from("1.0.0"))
+                .build(),
+            output
+        );
+
+        Path getFooCommand = Paths.get(CodegenUtils.SOURCE_FOLDER, "commands", "GetFooCommand.ts");
+        Path getBarCommand = Paths.get(CodegenUtils.SOURCE_FOLDER, "commands", "GetBarCommand.ts");
+        assertThat(watcher.generate(), hasItem(getFooCommand));
+        assertTrue(Files.isRegularFile(output.resolve(getFooCommand)));
+        assertThat(watcher.generate(), empty());
+
+        FileTime unchanged = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(output.resolve(getFooCommand), unchanged);
+        Files.writeString(
+            model,
+            MODEL.replace("operations: [GetFoo]", "operations: [GetFoo, GetBar]")
+                + "\noperation GetBar {}\n"
+        );
+        Set<Path> changed = watcher.generate();
+        assertThat(changed, hasItem(getBarCommand));
+        assertThat(changed, not(hasItem(getFooCommand)));
+        assertThat(Files.getLastModifiedTime(output.resolve(getFooCommand)), equalTo(unchanged));
+
+        Files.writeString(model, MODEL);
+        assertThat(watcher.generate(), hasItem(getBarCommand));
+        assertFalse(Files.exists(output.resolve(getBarCommand)));
+    }
+
+    @Test
+    public void keepsOutputOfInvalidModels() throws IOException {
+        Path model = tempDir.resolve("model.smithy");
+        Path output = tempDir.resolve("output");
+        Files.writeString(model, MODEL);
+        TypeScriptCodegenWatcher watcher = new TypeScriptCodegenWatcher(
+            List.of(model),
+            new TypeScriptCodegenPlugin(),
+            Node.objectNodeBuilder()
+                .withMember("service", Node.from("smithy.example#Example"))
+                .withMember("package", Node.from("example"))
+                .withMember("packageVersion", Node.from("1.0.0"))
+                .build(),
+            output
+        );
+        watcher.generate();
+
+        Files.writeString(model, MODEL.replace("output :=", "output: Missing //"));
+
+        assertThat(watcher.generate(), empty());
+        assertTrue(Files.isRegularFile(output.resolve(CodegenUtils.SOURCE_FOLDER).resolve("ExampleClient.ts")));
+    }
+
+    @Test
+    public void resolvesSourcesAgainstConfigDirectory() throws IOException {
+        Path configFile = tempDir.resolve("project").resolve("smithy-build.json");
+        Files.createDirectories(configFile.getParent());
+        Files.writeString(configFile, """
+            {
+                "version": "1.0",
+                "sources": ["model"],
+                "imports": ["../shared/common.smithy"]
+            }
+            """);
+
+        List<Path> sources = TypeScriptCodegenWatcher.resolveSources(SmithyBuildConfig.load(configFile), configFile);
+
+        assertThat(sources, contains(
+            tempDir.resolve("project").resolve("model").toAbsolutePath().normalize(),
+            tempDir.resolve("shared").resolve("common.smithy").toAbsolutePath().normalize()
+        ));
+    }
+
+    @Test
+    @Timeout(60)
+    public void watchesDirectoriesCreatedAfterStartup() throws Exception {
+        Path models = tempDir.resolve("model");
+        Path output = tempDir.resolve("output");
+        Files.createDirectories(models);
+        Files.writeString(models.resolve("model.smithy"), MODEL);
+        TypeScriptCodegenWatcher watcher = new TypeScriptCodegenWatcher(
+            List.of(models),
+            new TypeScriptCodegenPlugin(),
+            Node.objectNodeBuilder()
+                .withMember("service", Node.from("smithy.example#Example"))
+                .withMember("package", Node.from("example"))
+                .withMember("packageVersion", Node.from("1.0.0"))
+                .build(),
+            output
+        );
+        Thread thread = new Thread(() -> {
+            try {
+                watcher.watch();
+            } catch (IOException | InterruptedException e) {
+                // Stopped by the test.
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            Path client = output.resolve(CodegenUtils.SOURCE_FOLDER).resolve("ExampleClient.ts");
+            while (!Files.isRegularFile(client)) {
+                Thread.sleep(50);
+            }
+
+            // Only events from inside the new directory can pick up the documentation, so it
+            // must have been registered after it was created.
+            Path nested = Files.createDirectory(models.resolve("nested"));
+            Thread.sleep(1000);
+            Files.writeString(nested.resolve("docs.smithy"), """
+                $version: "2.0"
+                namespace smithy.example
+
+                apply GetFooOutput @documentation("Documented in a nested directory.")
+                """);
+            while (!outputContains(output, "Documented in a nested directory.")) {
+                Thread.sleep(50);
+            }
+        } finally {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    private static boolean outputContains(Path output, String text) throws IOException {
+        try (Stream<Path> files = Files.walk(output)) {
+            return files.filter(Files::isRegularFile).anyMatch(file -> {
+                try {
+                    return Files.readString(file).contains(text);
+                } catch (IOException e) {
+                    return false;
+                }
+            });
+        }
+    }
+}
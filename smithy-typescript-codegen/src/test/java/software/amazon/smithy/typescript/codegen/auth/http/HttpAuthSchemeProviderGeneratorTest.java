@@ -0,0 +1,93 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.auth.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.typescript.codegen.TypeScriptClientCodegenPlugin;
+import software.amazon.smithy.typescript.codegen.auth.AuthUtils;
+
+public class HttpAuthSchemeProviderGeneratorTest {
+
+    @Test
+    public void resolvesAuthOptionsPerRequestByDefault() {
+        String contents = generateHttpAuthSchemeProvider(false);
+
+        assertThat(contents, containsString("export const defaultExampleHttpAuthSchemeProvider"));
+        assertThat(contents, containsString("const options: HttpAuthOption[] = [];"));
+        assertThat(contents, containsString("case \"GetBar\": {"));
+        assertThat(contents, not(containsString("memoizeHttpAuthSchemeParametersProvider")));
+        assertThat(contents, not(containsString("freezeHttpAuthOptions")));
+        assertThat(contents, not(containsString("httpAuthOptionsByOperation")));
+    }
+
+    @Test
+    public void memoizesAuthOptionsPerOperationWhenEnabled() {
+        String contents = generateHttpAuthSchemeProvider(true);
+
+        assertThat(
+            contents,
+            containsString(
+                "export const defaultExampleHttpAuthSchemeParametersProvider = "
+                    + "memoizeHttpAuthSchemeParametersProvider("
+            )
+        );
+        assertThat(
+            contents,
+            containsString(
+                "const resolveExampleHttpAuthOptions = (authParameters: ExampleHttpAuthSchemeParameters): "
+                    + "HttpAuthOption[] => {"
+            )
+        );
+        assertThat(contents, containsString("case \"GetBar\": {"));
+        assertThat(
+            contents,
+            containsString("const httpAuthOptionsByOperation = new Map<string | undefined, HttpAuthOption[]>();")
+        );
+        assertThat(
+            contents,
+            containsString("let options = httpAuthOptionsByOperation.get(authParameters.operation);")
+        );
+        assertThat(
+            contents,
+            containsString("options = freezeHttpAuthOptions(resolveExampleHttpAuthOptions(authParameters));")
+        );
+        assertThat(contents, containsString("httpAuthOptionsByOperation.set(authParameters.operation, options);"));
+    }
+
+    private String generateHttpAuthSchemeProvider(boolean memoizeHttpAuthOptions) {
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .pluginClassLoader(getClass().getClassLoader())
+            .model(
+                Model.assembler()
+                    .addImport(getClass().getResource("http-api-key-auth-service.smithy"))
+                    .discoverModels()
+                    .assemble()
+                    .unwrap()
+            )
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("memoizeHttpAuthOptions", Node.from(memoizeHttpAuthOptions))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptClientCodegenPlugin().execute(context);
+
+        return manifest.getFileString(AuthUtils.HTTP_AUTH_SCHEME_PROVIDER_PATH).get();
+    }
+}
@@ -7,6 +7,7 @@ package software.amazon.smithy.typescript.codegen.endpointsV2;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.junit.jupiter.api.Test;
@@ -188,6 +189,38 @@ public class EndpointsV2GeneratorTest {
         );
     }
 
+    @Test
+    public void packsBddNodes() {
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .pluginClassLoader(getClass().getClassLoader())
+            .model(
+                Model.assembler()
+                    .addImport(getClass().getResource("endpoints.smithy"))
+                    .discoverModels()
+                    .assemble()
+                    .unwrap()
+            )
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("packEndpointBdd", Node.from(true))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptCodegenPlugin().execute(context);
+
+        String bdd = manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/endpoint/bdd.ts").get();
+
+        assertThat(bdd, containsString("const nodes = \"[-1,1,-1,"));
+        assertThat(bdd, containsString("BinaryDecisionDiagram.fromPacked(\n"));
+        assertThat(bdd, not(containsString("Int32Array")));
+    }
+
     private MockManifest testEndpoints(String filename) {
         MockManifest manifest = new MockManifest();
         PluginContext context = PluginContext.builder()
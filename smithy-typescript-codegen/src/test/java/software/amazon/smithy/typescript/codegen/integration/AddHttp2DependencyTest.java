@@ -0,0 +1,83 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.integration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.typescript.codegen.LanguageTarget;
+import software.amazon.smithy.typescript.codegen.TypeScriptSettings;
+import software.amazon.smithy.typescript.codegen.TypeScriptWriter;
+
+public class AddHttp2DependencyTest {
+
+    private static final String CREATE_REQUEST_HANDLER =
+        "RequestHandler.create(config?.requestHandler ?? (async () => ({";
+
+    private final Model model = Model.assembler()
+        .addImport(getClass().getResource("http2-services.smithy"))
+        .assemble()
+        .unwrap();
+
+    @Test
+    public void doesNotConfigureHttp2ByDefault() {
+        assertThat(getRuntimeConfigWriters("smithy.example#Example", false, LanguageTarget.NODE), anEmptyMap());
+    }
+
+    @Test
+    public void isolatesSessionsForH2EventStreams() {
+        String requestHandler = writeRequestHandler("smithy.example#H2Example", false);
+
+        assertThat(requestHandler, containsString(CREATE_REQUEST_HANDLER));
+        assertThat(requestHandler, containsString("disableConcurrentStreams: true"));
+        assertThat(requestHandler, not(containsString("fallbackToHttp1")));
+    }
+
+    @Test
+    public void multiplexesAllOperationsWhenEnabled() {
+        for (String service : new String[] { "smithy.example#Example", "smithy.example#H2Example" }) {
+            String requestHandler = writeRequestHandler(service, true);
+
+            assertThat(requestHandler, containsString(CREATE_REQUEST_HANDLER));
+            assertThat(requestHandler, containsString("fallbackToHttp1: true"));
+            assertThat(requestHandler, not(containsString("disableConcurrentStreams")));
+        }
+    }
+
+    @Test
+    public void onlyConfiguresNodeRuntime() {
+        assertThat(getRuntimeConfigWriters("smithy.example#Example", true, LanguageTarget.BROWSER), anEmptyMap());
+    }
+
+    private String writeRequestHandler(String service, boolean http2Multiplexing) {
+        TypeScriptWriter writer = new TypeScriptWriter("");
+        getRuntimeConfigWriters(service, http2Multiplexing, LanguageTarget.NODE).get("requestHandler").accept(writer);
+        return writer.toString();
+    }
+
+    private Map<String, Consumer<TypeScriptWriter>> getRuntimeConfigWriters(
+        String service,
+        boolean http2Multiplexing,
+        LanguageTarget target
+    ) {
+        TypeScriptSettings settings = TypeScriptSettings.from(
+            model,
+            Node.objectNodeBuilder()
+                .withMember("service", Node.from(service))
+                .withMember("package", Node.from("example"))
+                .withMember("packageVersion", Node.from("1.0.0"))
+                .withMember("http2Multiplexing", Node.from(http2Multiplexing))
+                .build()
+        );
+        return new AddHttp2Dependency().getRuntimeConfigWriters(settings, model, null, target);
+    }
+}
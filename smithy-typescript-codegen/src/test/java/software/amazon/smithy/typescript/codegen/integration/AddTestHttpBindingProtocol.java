@@ -0,0 +1,19 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.integration;
+
+import java.util.List;
+import software.amazon.smithy.utils.ListUtils;
+
+/**
+ * Adds the HTTP binding protocol used by the generator tests.
+ */
+public class AddTestHttpBindingProtocol implements TypeScriptIntegration {
+
+    @Override
+    public List<ProtocolGenerator> getProtocolGenerators() {
+        return ListUtils.of(new TestHttpBindingProtocolGenerator());
+    }
+}
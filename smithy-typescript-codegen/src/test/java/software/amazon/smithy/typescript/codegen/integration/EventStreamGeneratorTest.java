@@ -12,13 +12,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.traits.StreamingTrait;
+import software.amazon.smithy.typescript.codegen.CodegenUtils;
+import software.amazon.smithy.typescript.codegen.TypeScriptClientCodegenPlugin;
 
 @ExtendWith(MockitoExtension.class)
 class EventStreamGeneratorTest {
@@ -89,4 +94,101 @@ class EventStreamGeneratorTest {
             assertEquals("More than one event stream member in " + struct.getId().toString(), e.getMessage());
         }
     }
+
+    @Test
+    void writesConstantEventHeadersInEachMarshallerByDefault() {
+        String contents = generateProtocol(false);
+
+        assertTrue(contents.contains("\":event-type\": { type: \"string\", value: \"greeting\" },"));
+        assertTrue(contents.contains("\":message-type\": { type: \"string\", value: \"event\" },"));
+        assertTrue(contents.contains("\":content-type\": { type: \"string\", value: \"application/json\" },"));
+        assertTrue(contents.contains("\":event-type\": { type: \"string\", value: \"farewell\" },"));
+        assertTrue(
+            contents.contains("\":content-type\": { type: \"string\", value: \"application/octet-stream\" },")
+        );
+        assertFalse(contents.contains("_event_headers"));
+        assertFalse(contents.contains("Object.freeze("));
+    }
+
+    @Test
+    void sharesFrozenEventHeadersWithPreEncodedEventHeaders() {
+        String contents = generateProtocol(true);
+
+        assertTrue(contents.contains("_GreetingEvent_event_headers: __MessageHeaders = {"));
+        assertTrue(contents.contains("\":event-type\": Object.freeze({ type: \"string\", value: \"greeting\" }),"));
+        assertTrue(contents.contains("\":message-type\": Object.freeze({ type: \"string\", value: \"event\" }),"));
+        assertTrue(
+            contents.contains("\":content-type\": Object.freeze({ type: \"string\", value: \"application/json\" }),")
+        );
+        assertTrue(contents.contains("_FarewellEvent_event_headers: __MessageHeaders = {"));
+        assertTrue(contents.contains("\":event-type\": Object.freeze({ type: \"string\", value: \"farewell\" }),"));
+        assertTrue(
+            contents.contains(
+                "\":content-type\": Object.freeze({ type: \"string\", value: \"application/octet-stream\" }),"
+            )
+        );
+        assertTrue(contents.contains("_GreetingEvent_event_headers };"));
+        assertTrue(contents.contains("_FarewellEvent_event_headers };"));
+        assertFalse(contents.contains("\":event-type\": { type: \"string\""));
+    }
+
+    @Test
+    void assignsDocumentEventPayloadsThatCanBeParsedLazily() {
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .pluginClassLoader(getClass().getClassLoader())
+            .model(
+                Model.assembler()
+                    .addImport(getClass().getResource("event-stream-output-cbor.smithy"))
+                    .discoverModels()
+                    .assemble()
+                    .unwrap()
+            )
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("generateSchemas", Node.from(false))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptClientCodegenPlugin().execute(context);
+
+        String contents = manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/protocols/Rpcv2cbor.ts").get();
+        assertTrue(contents.contains("setEventPayload(contents, \"greeting\", context, () => "));
+        assertTrue(contents.contains("(parseCborPayload(output.body, context)"));
+        assertTrue(contents.contains("contents.body = output.body;"));
+        assertTrue(contents.contains("parseCborPayload,"));
+        assertTrue(contents.contains("setEventPayload,"));
+    }
+
+    private String generateProtocol(boolean preEncodedEventHeaders) {
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .pluginClassLoader(getClass().getClassLoader())
+            .model(
+                Model.assembler()
+                    .addImport(getClass().getResource("event-stream-input.smithy"))
+                    .discoverModels()
+                    .assemble()
+                    .unwrap()
+            )
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("preEncodedEventHeaders", Node.from(preEncodedEventHeaders))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptClientCodegenPlugin().execute(context);
+
+        return manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/protocols/TestHttpBinding.ts").get();
+    }
 }
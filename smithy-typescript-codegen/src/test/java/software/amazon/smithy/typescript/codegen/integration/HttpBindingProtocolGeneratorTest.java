@@ -0,0 +1,76 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.integration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.typescript.codegen.CodegenUtils;
+import software.amazon.smithy.typescript.codegen.TypeScriptClientCodegenPlugin;
+
+public class HttpBindingProtocolGeneratorTest {
+
+    @Test
+    public void readsHeadersInSinglePass() {
+        String contents = generateProtocol(true);
+
+        // Without prefix headers, each header is read directly.
+        assertThat(contents, containsString("if (output.headers["));
+        assertThat(contents, containsString("__strictParseInt32(output.headers["));
+        assertThat(contents, containsString("if (parsedOutput.headers["));
+
+        // With prefix headers, the headers are iterated once.
+        assertThat(contents, containsString("for (const header in output.headers) {"));
+        assertThat(contents, containsString("const value = output.headers[header];"));
+        assertThat(contents, containsString("switch (header) {"));
+        assertThat(contents, containsString("default:"));
+        assertThat(contents, containsString("if (header.startsWith(\"x-meta-\")) {"));
+        assertThat(contents, containsString("[header.substring(7)] = "));
+        assertThat(contents, not(containsString(".filter(header => header.startsWith(")));
+    }
+
+    @Test
+    public void readsHeadersWithMapInstructionsByDefault() {
+        String contents = generateProtocol(false);
+
+        assertThat(contents, containsString("const contents: any = map({"));
+        assertThat(contents, containsString(".filter(header => header.startsWith('x-meta-'))"));
+        assertThat(contents, not(containsString("for (const header in output.headers) {")));
+        assertThat(contents, not(containsString("switch (header) {")));
+    }
+
+    private String generateProtocol(boolean singlePassDeserializers) {
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+            .pluginClassLoader(getClass().getClassLoader())
+            .model(
+                Model.assembler()
+                    .addImport(getClass().getResource("http-binding-headers.smithy"))
+                    .discoverModels()
+                    .assemble()
+                    .unwrap()
+            )
+            .fileManifest(manifest)
+            .settings(
+                Node.objectNodeBuilder()
+                    .withMember("service", Node.from("smithy.example#Example"))
+                    .withMember("package", Node.from("example"))
+                    .withMember("packageVersion", Node.from("1.0.0"))
+                    .withMember("singlePassDeserializers", Node.from(singlePassDeserializers))
+                    .build()
+            )
+            .build();
+
+        new TypeScriptClientCodegenPlugin().execute(context);
+
+        return manifest.getFileString(CodegenUtils.SOURCE_FOLDER + "/protocols/TestHttpBinding.ts").get();
+    }
+}
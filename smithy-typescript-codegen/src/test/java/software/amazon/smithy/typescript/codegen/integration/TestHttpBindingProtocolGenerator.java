@@ -0,0 +1,114 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.integration;
+
+import java.util.List;
+import java.util.Set;
+import software.amazon.smithy.model.knowledge.HttpBinding;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.TimestampFormatTrait.Format;
+
+/**
+ * HTTP binding protocol used to test the code generated for the bindings
+ * that do not depend on a document format.
+ */
+class TestHttpBindingProtocolGenerator extends HttpBindingProtocolGenerator {
+
+    TestHttpBindingProtocolGenerator() {
+        super(true);
+    }
+
+    @Override
+    public ShapeId getProtocol() {
+        return ShapeId.from("smithy.example#testHttpBindingProtocol");
+    }
+
+    @Override
+    public String getName() {
+        return "test-http-binding";
+    }
+
+    @Override
+    protected String getDocumentContentType() {
+        return "application/json";
+    }
+
+    @Override
+    public Format getDocumentTimestampFormat() {
+        return Format.EPOCH_SECONDS;
+    }
+
+    @Override
+    public boolean requiresNumericEpochSecondsInPayload() {
+        return true;
+    }
+
+    @Override
+    public boolean enableSerdeElision() {
+        return true;
+    }
+
+    @Override
+    public void deserializeErrorDocumentBody(
+        GenerationContext context,
+        StructureShape error,
+        List<HttpBinding> documentBindings
+    ) {}
+
+    @Override
+    public void serializeErrorDocumentBody(
+        GenerationContext context,
+        StructureShape error,
+        List<HttpBinding> documentBindings
+    ) {}
+
+    @Override
+    public void deserializeInputDocumentBody(
+        GenerationContext context,
+        OperationShape operation,
+        List<HttpBinding> documentBindings
+    ) {}
+
+    @Override
+    public void serializeInputDocumentBody(
+        GenerationContext context,
+        OperationShape operation,
+        List<HttpBinding> documentBindings
+    ) {}
+
+    @Override
+    public void deserializeOutputDocumentBody(
+        GenerationContext context,
+        OperationShape operation,
+        List<HttpBinding> documentBindings
+    ) {}
+
+    @Override
+    public void serializeOutputDocumentBody(
+        GenerationContext context,
+        OperationShape operation,
+        List<HttpBinding> documentBindings
+    ) {}
+
+    @Override
+    public void serializeInputEventDocumentPayload(GenerationContext context) {}
+
+    @Override
+    public void generateDocumentBodyShapeSerializers(GenerationContext context, Set<Shape> shapes) {}
+
+    @Override
+    public void generateDocumentBodyShapeDeserializers(GenerationContext context, Set<Shape> shapes) {}
+
+    @Override
+    public void writeErrorCodeParser(GenerationContext context) {
+        context.getWriter().write("const errorCode = output.headers[\"x-error\"];");
+    }
+
+    @Override
+    public void generateProtocolTests(GenerationContext context) {}
+}
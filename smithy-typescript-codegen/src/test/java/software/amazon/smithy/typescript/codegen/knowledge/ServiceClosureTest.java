@@ -0,0 +1,112 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.knowledge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+public class ServiceClosureTest {
+
+    private final Model model = Model.assembler()
+        .addImport(ServiceClosureTest.class.getResource("service-closure.smithy"))
+        .assemble()
+        .unwrap();
+    private final ServiceClosure closure = ServiceClosure.of(
+        model,
+        model.expectShape(ShapeId.from("foo.bar#Example"), ServiceShape.class)
+    );
+
+    @Test
+    public void computesOperationClosures() {
+        assertEquals(
+            Set.of(
+                "GetThing",
+                "GetThingInput",
+                "GetThingOutput",
+                "ThingId",
+                "Thing",
+                "Parts",
+                "ServiceError"
+            ),
+            names(closure.getOperationClosure(operation("GetThing")))
+        );
+        assertTrue(names(closure.getOperationClosure(operation("PutThing"))).contains("ConflictError"));
+        assertFalse(names(closure.getOperationClosure(operation("DeleteThing"))).contains("Thing"));
+    }
+
+    @Test
+    public void combinesOperationClosures() {
+        List<OperationShape> operations = List.of(operation("GetThing"), operation("PutThing"));
+
+        assertEquals(
+            Set.of("Thing", "Parts", "ThingId", "ServiceError"),
+            names(closure.getIntersectionClosure(operations))
+        );
+        assertTrue(names(closure.getUnionClosure(operations)).containsAll(Set.of("GetThingOutput", "ConflictError")));
+        assertEquals(Set.of("ThingId", "ServiceError"), names(closure.getShapesSharedBy(3)));
+    }
+
+    @Test
+    public void ordersComponentsBeforeTheirDependents() {
+        List<List<Shape>> components = new ArrayList<>();
+        closure.getComponents().forEach(components::add);
+        List<Set<String>> names = components.stream()
+            .map(c -> c.stream().map(s -> s.getId().getName()).collect(Collectors.toSet()))
+            .toList();
+
+        int recursive = names.indexOf(Set.of("Thing", "Parts"));
+        assertTrue(recursive >= 0, "recursive shapes share a component");
+        assertTrue(names.indexOf(Set.of("ThingId")) < recursive);
+        assertTrue(recursive < names.indexOf(Set.of("GetThingOutput")));
+        int operationShapes = closure.getUnionClosure(closure.getOperationShapes()).cardinality();
+        // plus the service shape.
+        assertEquals(operationShapes + 1, components.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    public void scansDeeplyNestedShapes() {
+        Model.Builder builder = Model.builder();
+        StringShape leaf = StringShape.builder().id("foo.bar#Leaf").build();
+        builder.addShape(leaf);
+        ShapeId target = leaf.getId();
+        for (int i = 0; i < 20_000; ++i) {
+            StructureShape structure = StructureShape.builder()
+                .id("foo.bar#Nested" + i)
+                .addMember("child", target)
+                .build();
+            builder.addShape(structure);
+            target = structure.getId();
+        }
+        Model nested = builder.build();
+
+        ServiceClosure deep = ServiceClosure.ofShapes(nested, List.of(nested.expectShape(target)));
+
+        assertEquals(20_000, deep.getStructureShapes().size());
+        assertTrue(deep.getShapeIndex(leaf) >= 0);
+    }
+
+    private OperationShape operation(String name) {
+        return model.expectShape(ShapeId.fromParts("foo.bar", name), OperationShape.class);
+    }
+
+    private Set<String> names(BitSet shapes) {
+        return closure.getShapes(shapes).stream().map(Shape::getId).map(ShapeId::getName).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.knowledge;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.JsonNameTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+import software.amazon.smithy.typescript.codegen.knowledge.TraitReachabilityIndex.Traversal;
+
+public class TraitReachabilityIndexTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+            .addImport(TraitReachabilityIndexTest.class.getResource("trait-reachability.smithy"))
+            .assemble()
+            .unwrap();
+    }
+
+    @AfterAll
+    public static void after() {
+        model = null;
+    }
+
+    @Test
+    public void reachesTraitsThroughRecursiveShapes() {
+        TraitReachabilityIndex index = TraitReachabilityIndex.of(model);
+        BitSet sensitive = index.getTraitMask(List.of(SensitiveTrait.ID));
+
+        assertTrue(index.reaches(shape("foo.bar#RecursiveWithSecretLeaf"), Traversal.MEMBERS, sensitive));
+        assertTrue(index.reaches(shape("foo.bar#RecursiveWithSecretLeaf$leaf"), Traversal.NEIGHBORS, sensitive));
+        assertTrue(index.reaches(shape("foo.bar#Secret"), Traversal.MEMBERS, sensitive));
+        assertFalse(index.reaches(shape("foo.bar#Recursive"), Traversal.MEMBERS, sensitive));
+        assertFalse(index.reaches(shape("foo.bar#RecursiveList"), Traversal.NEIGHBORS, sensitive));
+        assertFalse(index.reaches(shape("foo.bar#RecursiveWithSecret"), Traversal.NEIGHBORS, sensitive));
+    }
+
+    @Test
+    public void reachesTraitsAppliedToMembers() {
+        TraitReachabilityIndex index = TraitReachabilityIndex.of(model);
+        BitSet jsonName = index.getTraitMask(List.of(JsonNameTrait.ID));
+
+        assertTrue(index.reaches(shape("foo.bar#Holder"), Traversal.MEMBERS, jsonName));
+        assertTrue(index.reaches(shape("foo.bar#Holder$plain"), Traversal.MEMBERS, jsonName));
+        assertFalse(index.reaches(shape("foo.bar#Holder$recursive"), Traversal.MEMBERS, jsonName));
+    }
+
+    @Test
+    public void doesNotReachTraitsAbsentFromTheModel() {
+        TraitReachabilityIndex index = TraitReachabilityIndex.of(model);
+        BitSet absent = index.getTraitMask(List.of(ShapeId.from("smithy.api#streaming")));
+
+        assertTrue(absent.isEmpty());
+        assertFalse(index.reaches(shape("foo.bar#RecursiveWithSecretLeaf"), Traversal.NEIGHBORS, absent));
+    }
+
+    private static Shape shape(String id) {
+        return model.expectShape(ShapeId.from(id));
+    }
+}
@@ -42,10 +42,13 @@ class CborShapeDeserVisitorTest {
     @Mock
     TypeScriptWriter writer;
 
+    @Mock
+    TypeScriptSettings typeScriptSettings;
+
     CborShapeDeserVisitor subject;
 
     @BeforeEach
-    void setUp(@Mock TypeScriptSettings typeScriptSettings) {
+    void setUp() {
         lenient().when(context.getWriter()).thenReturn(writer);
         lenient().when(context.getSettings()).thenReturn(typeScriptSettings);
         lenient().when(typeScriptSettings.generateServerSdk()).thenReturn(false);
@@ -72,6 +75,31 @@ class CborShapeDeserVisitorTest {
         verify(writer).write("const collection = (output || [])$L", ".filter((e: any) => e != null)");
     }
 
+    @Test
+    void deserializeCollectionInLoop(
+        @Mock CollectionShape collectionShape,
+        @Mock MemberShape memberShape,
+        @Mock ShapeId shapeId,
+        @Mock Shape target,
+        @Mock Model model
+    ) {
+        when(typeScriptSettings.singlePassDeserializers()).thenReturn(true);
+        when(collectionShape.getMember()).thenReturn(memberShape);
+        when(memberShape.getTarget()).thenReturn(shapeId);
+        when(context.getModel()).thenReturn(model);
+        when(model.expectShape(any(ShapeId.class))).thenReturn(target);
+        when(target.accept(any())).thenReturn("de_Foo(entry, context)");
+
+        subject.deserializeCollection(context, collectionShape);
+
+        verify(writer).write("const input = output || [];");
+        verify(writer).write("const collection = new Array(input.length);");
+        verify(writer).write("let n = 0;");
+        verify(writer).openBlock(eq("for (let i = 0; i < input.length; ++i) {"), eq("}"), any(Runnable.class));
+        verify(writer).write("collection.length = n;");
+        verify(writer).write("return collection;");
+    }
+
     @Test
     void deserializeDocument(@Mock DocumentShape documentShape) {
         subject.deserializeDocument(context, documentShape);
@@ -108,6 +136,35 @@ class CborShapeDeserVisitorTest {
         );
     }
 
+    @Test
+    void deserializeMapInLoop(
+        @Mock MapShape mapShape,
+        @Mock MemberShape keyShape,
+        @Mock MemberShape valueShape,
+        @Mock ShapeId shapeId,
+        @Mock SymbolProvider symbolProvider,
+        @Mock Symbol symbol,
+        @Mock Symbol keySymbol,
+        @Mock Shape target,
+        @Mock Model model
+    ) {
+        when(typeScriptSettings.singlePassDeserializers()).thenReturn(true);
+        when(mapShape.getKey()).thenReturn(keyShape);
+        when(mapShape.getValue()).thenReturn(valueShape);
+        when(valueShape.getTarget()).thenReturn(shapeId);
+        when(context.getSymbolProvider()).thenReturn(symbolProvider);
+        when(context.getModel()).thenReturn(model);
+        when(model.expectShape(shapeId)).thenReturn(target);
+        when(symbolProvider.toSymbol(mapShape)).thenReturn(symbol);
+        when(symbolProvider.toSymbol(keyShape)).thenReturn(keySymbol);
+
+        subject.deserializeMap(context, mapShape);
+
+        verify(writer).write("const map = {} as $T;", symbol);
+        verify(writer).openBlock(eq("for (const key in output) {"), eq("}"), any(Runnable.class));
+        verify(writer).write("return map;");
+    }
+
     @Test
     void deserializeStructure(@Mock StructureShape structureShape) {
         subject.deserializeStructure(context, structureShape);
@@ -116,6 +173,18 @@ class CborShapeDeserVisitorTest {
         verify(writer).openBlock(eq("return take(output, {"), eq("}) as any;"), any());
     }
 
+    @Test
+    void deserializeStructureByAssignment(@Mock StructureShape structureShape, @Mock MemberShape memberShape) {
+        when(typeScriptSettings.singlePassDeserializers()).thenReturn(true);
+        when(structureShape.getAllMembers()).thenReturn(MapUtils.of("member", memberShape));
+
+        subject.deserializeStructure(context, structureShape);
+
+        verify(writer).write("const contents: any = {};");
+        verify(writer).openBlock(eq("if ($L != null) {"), eq("}"), eq("output.member"), any(Runnable.class));
+        verify(writer).write("return contents;");
+    }
+
     @Test
     void deserializeUnion(
         @Mock UnionShape unionShape,
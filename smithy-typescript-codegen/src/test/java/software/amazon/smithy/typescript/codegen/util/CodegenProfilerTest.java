@@ -0,0 +1,50 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.typescript.codegen.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+
+class CodegenProfilerTest {
+
+    @Test
+    void reportsPeakHeapOfRunsThatRanAlone() {
+        CodegenProfiler profiler = CodegenProfiler.begin();
+        CodegenProfiler.end();
+        MockManifest manifest = new MockManifest();
+        profiler.write(manifest);
+
+        assertThat(manifest.getFileString(CodegenProfiler.PROFILE_FILE).get(), containsString("\"peakHeapBytes\""));
+    }
+
+    @Test
+    void omitsPeakHeapOfOverlappingRuns() throws InterruptedException {
+        CodegenProfiler first = CodegenProfiler.begin();
+        MockManifest secondManifest = new MockManifest();
+        Thread thread = new Thread(() -> {
+            CodegenProfiler second = CodegenProfiler.begin();
+            CodegenProfiler.end();
+            second.write(secondManifest);
+        });
+        thread.start();
+        thread.join();
+        CodegenProfiler.end();
+        MockManifest firstManifest = new MockManifest();
+        first.write(firstManifest);
+
+        assertThat(
+            firstManifest.getFileString(CodegenProfiler.PROFILE_FILE).get(),
+            not(containsString("peakHeapBytes"))
+        );
+        assertThat(
+            secondManifest.getFileString(CodegenProfiler.PROFILE_FILE).get(),
+            not(containsString("peakHeapBytes"))
+        );
+    }
+}
@@ -6,6 +6,7 @@ package software.amazon.smithy.typescript.codegen.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collections;
@@ -298,5 +299,24 @@ class PatternDetectionCompressionTest {
             """,
             result
         );
+
+        // array members added one element at a time compress identically.
+        assertEquals(
+            result,
+            new PatternDetectionCompression()
+                .withArrayMember("conditions", bddTrait.getConditions(), c -> new ConditionSerializer(c).toArrayNode())
+                .withArrayMember("results", bddTrait.getResults(), r -> new RuleSerializer(r).toArrayNode())
+                .compress()
+        );
+    }
+
+    @Test
+    void rejectsDuplicateMembers() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new PatternDetectionCompression()
+                .withMember("a", Node.from(1))
+                .withMember("a", Node.from(2))
+        );
     }
 }